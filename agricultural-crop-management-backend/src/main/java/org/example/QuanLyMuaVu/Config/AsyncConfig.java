@@ -0,0 +1,72 @@
+package org.example.QuanLyMuaVu.Config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Enables {@code @Async} on a bounded thread pool, so a burst of work queues
+ * up (and eventually runs on the submitting thread) instead of spawning
+ * unbounded threads.
+ * <p>
+ * The pools are deliberately not exposed as {@code Executor} beans: that
+ * would make Spring Boot drop its {@code applicationTaskExecutor}, which
+ * Spring MVC uses for streamed responses.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${async.pool-size:4}")
+    int asyncPoolSize;
+
+    @Value("${async.queue-capacity:500}")
+    int asyncQueueCapacity;
+
+    ThreadPoolTaskExecutor asyncExecutor;
+
+    @Override
+    public synchronized Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = boundedExecutor("async-", asyncPoolSize, asyncQueueCapacity);
+        }
+        return asyncExecutor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Uncaught exception in async method {}", method.getName(), ex);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Fixed-size pool with a bounded queue; when the queue is full the
+     * submitting thread runs the task itself.
+     */
+    public static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,37 +1,46 @@
 package org.example.QuanLyMuaVu.Config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Cache configuration for the application.
- * Uses simple in-memory caching for address data (countries, provinces, wards).
  * <p>
- * For production with high traffic, consider switching to Redis:
+ * Every cache is an in-process Caffeine cache (W-TinyLFU eviction) bounded by
+ * a maximum size and an expire-after-write TTL from
+ * {@link CacheSpecProperties}, and records hit/miss/eviction statistics that
+ * are reported by {@code AdminCacheController}. Provinces and wards are served
+ * by {@code AddressGazetteer} instead of per-key caches.
+ * <p>
+ * For a multi-node deployment, consider switching to Redis:
  * 1. Add spring-boot-starter-data-redis dependency
  * 2. Configure Redis connection in application.properties
- * 3. Replace ConcurrentMapCacheManager with RedisCacheManager
+ * 3. Replace CaffeineCacheManager with RedisCacheManager
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /**
-     * Configure in-memory cache manager for address data.
-     * Cache entries will persist until application restart or manual eviction.
-     */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "countries", // All countries list
-                "country", // Single country by ID
-                "provinces", // All provinces list
-                "province", // Single province by ID
-                "wards", // Wards by province ID
-                "ward" // Single ward by ID
-        );
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, builder(spec).build()));
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(CacheSpecProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
     }
 }
@@ -0,0 +1,47 @@
+package org.example.QuanLyMuaVu.Config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry limits for the application caches.
+ * Maps to the cache section in application.yaml
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+@Data
+public class CacheSpecProperties {
+
+    /**
+     * Limits for caches without an entry in {@link #specs}.
+     */
+    private Spec defaults = new Spec(1_000, Duration.ofMinutes(10));
+
+    /**
+     * Per-cache limits keyed by cache name. Every cache listed here is created
+     * at startup.
+     */
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        /**
+         * Maximum number of entries; least valuable entries are evicted beyond it.
+         */
+        private long maximumSize;
+
+        /**
+         * Entries expire this long after they were written.
+         */
+        private Duration expireAfterWrite;
+    }
+}
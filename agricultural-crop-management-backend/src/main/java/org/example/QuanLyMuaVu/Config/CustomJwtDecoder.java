@@ -1,76 +1,110 @@
 package org.example.QuanLyMuaVu.Config;
 
-import com.nimbusds.jose.JOSEException;
-import org.example.QuanLyMuaVu.DTO.Request.IntrospectRequest;
-import org.example.QuanLyMuaVu.Service.AuthenticationService;
+import jakarta.annotation.PostConstruct;
+import org.example.QuanLyMuaVu.Service.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.spec.SecretKeySpec;
-import java.text.ParseException;
-import java.util.Objects;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Single-pass JWT decoder: the token is parsed and its HS512 signature and
+ * expiry verified once by Nimbus, then checked against the in-memory
+ * revocation index of {@link TokenRevocationService}. Tokens that were never
+ * revoked are answered without database access.
+ * <p>
+ * Verified tokens are kept in a bounded cache until they expire, so repeated
+ * requests with the same bearer token skip parsing and signature verification.
+ * Revocation is still checked on every request.
+ */
 @Component
 @Slf4j
 public class CustomJwtDecoder implements JwtDecoder {
     @Value("${jwt.signerKey}")
     private String signerKey;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
     @Autowired
-    private AuthenticationService authenticationService;
+    private TokenRevocationService tokenRevocationService;
+
+    private NimbusJwtDecoder nimbusJwtDecoder;
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+    private final Map<String, Jwt> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        log.debug("Khoi tao bo giai ma Nimbus JWT bang thuat toan HS512");
+        SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        // Expiry is enforced strictly, as AuthenticationService.verifyToken does
+        nimbusJwtDecoder.setJwtValidator(new JwtTimestampValidator(Duration.ZERO));
+    }
 
     @Override
     public Jwt decode(String token) throws JwtException {
-        log.debug("Dang co gang giai ma JWT token: {}", token.substring(0, Math.min(20, token.length())) + "...");
+        Jwt cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (isExpired(cached)) {
+                verifiedTokens.remove(token);
+            } else {
+                assertNotRevoked(cached);
+                return cached;
+            }
+        }
 
+        Jwt decodedJwt;
         try {
-            // First, introspect the token to check if it's valid
-            var response = authenticationService.introspect(
-                    IntrospectRequest.builder().token(token).build());
+            decodedJwt = nimbusJwtDecoder.decode(token);
+        } catch (JwtException e) {
+            log.warn("Khong giai ma duoc JWT token: {}", e.getMessage());
+            throw e;
+        }
+        if (decodedJwt.getExpiresAt() == null) {
+            throw new JwtException("Token invalid");
+        }
 
-            if (!response.isValid()) {
-                log.warn("Kiem tra token khong thanh cong token khong hop le");
-                throw new JwtException("Token invalid");
-            }
-            
-            log.debug("Kiem tra token thanh cong tien hanh giai ma JWT");
+        assertNotRevoked(decodedJwt);
+        remember(token, decodedJwt);
+        log.debug("JWT token da duoc giai ma thanh cong cho chu the: {}", decodedJwt.getSubject());
+        return decodedJwt;
+    }
 
-        } catch (JOSEException | ParseException e) {
-            log.error("Loi trong qua trinh tu kiem tra token: {}", e.getMessage(), e);
-            throw new JwtException("Xac thuc token that bai: " + e.getMessage());
+    private void assertNotRevoked(Jwt jwt) {
+        if (tokenRevocationService.isRevoked(jwt.getId())) {
+            log.warn("Token da bi thu hoi - JIT: {}", jwt.getId());
+            throw new JwtException("Token invalid");
         }
+    }
 
-        // Initialize JWT decoder if not already done
-        if (Objects.isNull(nimbusJwtDecoder)) {
-            log.debug("Khoi tao bo giai ma Nimbus JWT bang thuat toan HS512");
-            try {
-                SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-                nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                        .macAlgorithm(MacAlgorithm.HS512)
-                        .build();
-                log.debug("Bo giai ma Nimbus JWT da duoc khoi tao thanh cong");
-            } catch (Exception e) {
-                log.error("Khong the khoi tao bo giai ma JWT: {}", e.getMessage(), e);
-                throw new JwtException("Khoi tao bo giai ma JWT khong thanh cong: " + e.getMessage());
+    private void remember(String token, Jwt jwt) {
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            verifiedTokens.values().removeIf(this::isExpired);
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                // Still full of live tokens: start over rather than tracking recency
+                verifiedTokens.clear();
             }
         }
+        verifiedTokens.put(token, jwt);
+    }
 
-        try {
-            Jwt decodedJwt = nimbusJwtDecoder.decode(token);
-            log.debug("JWT token da duoc giai ma thanh cong cho chu the: {}", decodedJwt.getSubject());
-            return decodedJwt;
-        } catch (Exception e) {
-            log.error("Khong giai ma duoc JWT token: {}", e.getMessage(), e);
-            throw new JwtException("Giai ma JWT khong thanh cong: " + e.getMessage());
-        }
+    private boolean isExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt == null || !expiresAt.isAfter(Instant.now());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package org.example.QuanLyMuaVu.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (token revocation sync and other
+ * periodic maintenance).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,17 @@
+package org.example.QuanLyMuaVu.Constant;
+
+/**
+ * Names of the caches managed by {@code CacheConfig}. Limits per cache are
+ * configured under {@code cache.specs.<name>} in application.yaml.
+ */
+public class CacheNames {
+    public static final String COUNTRIES = "countries";
+    public static final String COUNTRY = "country";
+    public static final String CROPS = "crops";
+    public static final String CROP = "crop";
+    public static final String VARIETY = "variety";
+    public static final String VARIETIES_BY_CROP = "varietiesByCrop";
+    public static final String ROLES = "roles";
+
+    private CacheNames() {}
+}
@@ -114,6 +114,18 @@ public class AddressController {
         return ApiResponse.success(addressImportService.importFromSqlFile(file.getInputStream()));
     }
 
+    @Operation(summary = "Address import progress", description = "Progress of the running or last finished address import (Admin only)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/import/progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResponse<AddressImportService.ImportProgress> getImportProgress() {
+        return ApiResponse.success(addressImportService.getProgress());
+    }
+
     @Operation(summary = "Force reimport address data", description = "Clear all address data and reimport from SQL file (Admin only)")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reimport successful"),
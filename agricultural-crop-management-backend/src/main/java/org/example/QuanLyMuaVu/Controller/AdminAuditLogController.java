@@ -0,0 +1,106 @@
+package org.example.QuanLyMuaVu.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.DTO.Response.AuditLogResponse;
+import org.example.QuanLyMuaVu.DTO.Response.AuditSnapshotResponse;
+import org.example.QuanLyMuaVu.Service.AuditLogService;
+import org.example.QuanLyMuaVu.Service.AuditSnapshotService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/audit-logs")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Tag(name = "Admin Audit Logs", description = "Tra cứu nhật ký kiểm toán của các thực thể (chỉ ADMIN)")
+public class AdminAuditLogController {
+
+    AuditLogService auditLogService;
+    AuditSnapshotService auditSnapshotService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    @Operation(
+        summary = "Nhật ký kiểm toán theo loại thực thể",
+        description = "Danh sách bản ghi kiểm toán chưa lưu trữ của một loại thực thể (FARM, PLOT, SEASON, EXPENSE, HARVEST, STOCK_MOVEMENT), mới nhất trước (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lấy danh sách thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem nhật ký kiểm toán"
+        )
+    })
+    ApiResponse<PageResponse<AuditLogResponse>> listByEntityType(
+            @RequestParam String entityType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(auditLogService.listByEntityType(entityType.toUpperCase(), page, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/entities/{entityType}/{entityId}")
+    @Operation(
+        summary = "Lịch sử kiểm toán của một thực thể",
+        description = "Toàn bộ bản ghi kiểm toán của thực thể, gồm cả bản ghi đã lưu trữ, mới nhất trước (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lấy lịch sử thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem nhật ký kiểm toán"
+        )
+    })
+    ApiResponse<List<AuditLogResponse>> getEntityTrail(
+            @PathVariable String entityType,
+            @PathVariable Integer entityId) {
+        return ApiResponse.success(auditLogService.listAuditTrail(entityType.toUpperCase(), entityId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{auditLogId}/snapshot")
+    @Operation(
+        summary = "Trạng thái thực thể tại một phiên bản",
+        description = "Dựng lại trạng thái của thực thể tại bản ghi kiểm toán đã chọn từ bản đầy đủ gần nhất và các thay đổi sau đó (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Dựng lại thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem nhật ký kiểm toán"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy bản ghi kiểm toán"
+        )
+    })
+    ApiResponse<AuditSnapshotResponse> getSnapshot(@PathVariable Long auditLogId) {
+        return ApiResponse.success(auditSnapshotService.reconstruct(auditLogId));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.QuanLyMuaVu.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Response.LoginLoadStatsResponse;
+import org.example.QuanLyMuaVu.Service.AuthenticationService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/auth")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Tag(name = "Admin Authentication", description = "Theo dõi tải đăng nhập (chỉ ADMIN)")
+public class AdminAuthController {
+
+    AuthenticationService authenticationService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/login-stats")
+    @Operation(
+        summary = "Thống kê tải đăng nhập",
+        description = "Hàng đợi và thời gian chờ/băm mật khẩu của nhóm luồng bcrypt, cùng số lần đăng nhập bị giới hạn theo tên đăng nhập và IP (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lấy thống kê thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem thống kê đăng nhập"
+        )
+    })
+    ApiResponse<LoginLoadStatsResponse> getLoginStats() {
+        return ApiResponse.success(authenticationService.getLoginLoadStats());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.QuanLyMuaVu.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Response.CacheStatsResponse;
+import org.example.QuanLyMuaVu.Service.CacheStatsService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Tag(name = "Admin Caches", description = "Theo dõi bộ nhớ đệm của ứng dụng (chỉ ADMIN)")
+public class AdminCacheController {
+
+    CacheStatsService cacheStatsService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    @Operation(
+        summary = "Thống kê bộ nhớ đệm",
+        description = "Kích thước, giới hạn và số lần hit/miss/eviction của từng cache (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lấy thống kê thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem thống kê cache"
+        )
+    })
+    ApiResponse<List<CacheStatsResponse>> getCacheStats() {
+        return ApiResponse.success(cacheStatsService.getAllStats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{name}")
+    @Operation(
+        summary = "Xóa dữ liệu cache",
+        description = "Xóa toàn bộ mục trong một cache theo tên (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Xóa cache thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xóa cache"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Không tìm thấy cache"
+        )
+    })
+    ApiResponse<Void> clearCache(
+        @Parameter(
+            description = "Tên cache cần xóa",
+            required = true
+        )
+        @PathVariable String name
+    ) {
+        cacheStatsService.clear(name);
+        return ApiResponse.success(null);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.QuanLyMuaVu.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockAsOfResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockBalanceVerifyResponse;
+import org.example.QuanLyMuaVu.Service.StockBalanceService;
+import org.example.QuanLyMuaVu.Service.StockCheckpointService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/stock-balances")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Tag(name = "Admin Stock Balances", description = "Kiểm tra và dựng lại bảng tồn kho từ sổ nhập xuất (chỉ ADMIN)")
+public class AdminStockBalanceController {
+
+    StockBalanceService stockBalanceService;
+    StockCheckpointService stockCheckpointService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/verify")
+    @Operation(
+        summary = "Đối soát tồn kho",
+        description = "So sánh bảng stock_balances với tổng nhập xuất tính lại từ stock_movements (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Đối soát thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền đối soát tồn kho"
+        )
+    })
+    ApiResponse<StockBalanceVerifyResponse> verify() {
+        return ApiResponse.success(stockBalanceService.verify());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild")
+    @Operation(
+        summary = "Dựng lại tồn kho",
+        description = "Tính lại toàn bộ stock_balances từ stock_movements và trả về sai lệch đã sửa (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Dựng lại thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền dựng lại tồn kho"
+        )
+    })
+    ApiResponse<StockBalanceVerifyResponse> rebuild() {
+        return ApiResponse.success(stockBalanceService.rebuild());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/as-of")
+    @Operation(
+        summary = "Tồn kho tại một ngày",
+        description = "Tồn kho theo lô của mọi kho vào cuối ngày chỉ định, tính từ mốc chốt gần nhất (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Lấy tồn kho thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "Không có quyền xem tồn kho"
+        )
+    })
+    ApiResponse<List<StockAsOfResponse>> getOnHandAsOf(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ApiResponse.success(stockCheckpointService.getOnHandAsOfForAllWarehouses(date));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/checkpoints")
+    @Operation(
+        summary = "Tạo mốc chốt tồn kho",
+        description = "Chốt tồn kho của mọi kho vào cuối ngày chỉ định (ngày đã qua); trả về số mốc đã tạo (chỉ ADMIN)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Tạo mốc chốt thành công"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Ngày chưa kết thúc"
+        )
+    })
+    ApiResponse<Integer> createCheckpoints(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ApiResponse.success(stockCheckpointService.createCheckpoints(date.plusDays(1).atStartOfDay()));
+    }
+}
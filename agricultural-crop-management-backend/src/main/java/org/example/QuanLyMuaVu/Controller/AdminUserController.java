@@ -53,11 +53,18 @@ public class AdminUserController {
             @RequestParam(value = "keyword", required = false) String keyword,
             @Parameter(description = "User status: ACTIVE/INACTIVE/LOCKED")
             @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Long after,
+            @Parameter(description = "Cursor mode: page size; when set, page/size are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
+        if (limit != null) {
+            return ApiResponse.success(userService.scrollFarmers(keyword, status, after, limit));
+        }
         return ApiResponse.success(userService.searchFarmers(keyword, status, page, size));
     }
 
@@ -117,11 +124,18 @@ public class AdminUserController {
             @RequestParam(value = "keyword", required = false) String keyword,
             @Parameter(description = "User status: ACTIVE/INACTIVE/LOCKED")
             @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Long after,
+            @Parameter(description = "Cursor mode: page size; when set, page/size are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
+        if (limit != null) {
+            return ApiResponse.success(userService.scrollBuyers(keyword, status, after, limit));
+        }
         return ApiResponse.success(userService.searchBuyers(keyword, status, page, size));
     }
 
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ import org.example.QuanLyMuaVu.DTO.Response.AuthenticationResponse;
 import org.example.QuanLyMuaVu.DTO.Response.FarmerResponse;
 import org.example.QuanLyMuaVu.DTO.Response.IntrospectResponse;
 import org.example.QuanLyMuaVu.Service.AuthenticationService;
+import org.example.QuanLyMuaVu.Service.ClientIpResolver;
 import org.example.QuanLyMuaVu.Service.UserService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -41,6 +43,7 @@ public class AuthenticationController {
 
     AuthenticationService authenticationService;
     UserService userService;
+    ClientIpResolver clientIpResolver;
 
     @PostMapping("/sign-in")
     @Operation(
@@ -76,6 +79,14 @@ public class AuthenticationController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Người dùng không tồn tại"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Đăng nhập quá nhiều lần, vui lòng thử lại sau"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "Hệ thống đang xử lý quá nhiều yêu cầu đăng nhập"
         )
     })
     ApiResponse<AuthenticationResponse> authenticate(
@@ -94,9 +105,10 @@ public class AuthenticationController {
                 )
             )
         )
-        @RequestBody AuthenticationRequest request
+        @RequestBody AuthenticationRequest request,
+        HttpServletRequest httpRequest
     ) {
-        var result = authenticationService.authenticate(request);
+        var result = authenticationService.authenticate(request, clientIpResolver.resolve(httpRequest));
         return ApiResponse.success(result);
     }
 
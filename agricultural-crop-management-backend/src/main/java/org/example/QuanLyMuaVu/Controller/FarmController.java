@@ -12,6 +12,7 @@ import org.example.QuanLyMuaVu.DTO.Request.FarmCreateRequest;
 import org.example.QuanLyMuaVu.DTO.Request.FarmUpdateRequest;
 import org.example.QuanLyMuaVu.DTO.Response.FarmDetailResponse;
 import org.example.QuanLyMuaVu.DTO.Response.FarmResponse;
+import org.example.QuanLyMuaVu.Service.ClientIpResolver;
 import org.example.QuanLyMuaVu.Service.FarmService;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -41,7 +42,7 @@ import jakarta.validation.Valid;
 public class FarmController {
 
         FarmService farmService;
-        org.example.QuanLyMuaVu.Config.FarmSecurityProperties farmSecurityProperties;
+        ClientIpResolver clientIpResolver;
 
         @Operation(summary = "List farms", description = "Get list of farms for the current authenticated farmer")
         @ApiResponses({
@@ -116,7 +117,7 @@ public class FarmController {
                         @PathVariable Integer id,
                         @Parameter(description = "Optional reason for deactivation (for audit trail)") @RequestParam(value = "reason", required = false) String reason,
                         jakarta.servlet.http.HttpServletRequest request) {
-                String ipAddress = getClientIpAddress(request);
+                String ipAddress = clientIpResolver.resolve(request);
                 farmService.deactivate(id, reason, ipAddress);
                 return ApiResponse.success(null);
         }
@@ -137,58 +138,7 @@ public class FarmController {
         public ApiResponse<FarmDetailResponse> restoreFarm(
                         @PathVariable Integer id,
                         jakarta.servlet.http.HttpServletRequest request) {
-                String ipAddress = getClientIpAddress(request);
+                String ipAddress = clientIpResolver.resolve(request);
                 return ApiResponse.success(farmService.restore(id, ipAddress));
         }
-
-        /**
-         * Extract client IP address from HTTP request with security hardening.
-         * 
-         * Security Strategy:
-         * 1. Only trust X-Forwarded-For header if trustProxyHeaders is enabled
-         * 2. Only trust X-Forwarded-For if request comes from a trusted proxy IP
-         * 3. Otherwise, use direct remoteAddr (prevents client spoofing)
-         * 
-         * Configuration (application.yaml):
-         * 
-         * <pre>
-         * farm:
-         *   security:
-         *     trust-proxy-headers: true  # Enable only in production behind proxy
-         *     trusted-proxy-ips:         # Optional: restrict by proxy IP
-         *       - "10.0.0.1"
-         *       - "172.16.0.0/12"
-         * </pre>
-         * 
-         * Why this matters:
-         * - Without proper validation, malicious clients can spoof X-Forwarded-For
-         * - This would bypass IP-based audit trails and security logging
-         * - Production deployments behind AWS ELB, nginx, etc. need this enabled
-         * - Development/testing should keep it disabled to prevent spoofing
-         */
-        private String getClientIpAddress(jakarta.servlet.http.HttpServletRequest request) {
-                String remoteAddr = request.getRemoteAddr();
-
-                // Only trust X-Forwarded-For if configured to do so
-                if (!farmSecurityProperties.isTrustProxyHeaders()) {
-                        return remoteAddr;
-                }
-
-                // Check if request is from a trusted proxy
-                if (!farmSecurityProperties.isTrustedProxy(remoteAddr)) {
-                        // Request is not from trusted proxy, don't trust X-Forwarded-For
-                        return remoteAddr;
-                }
-
-                // Request is from trusted proxy, we can trust X-Forwarded-For
-                String xForwardedFor = request.getHeader("X-Forwarded-For");
-                if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-                        // X-Forwarded-For can contain multiple IPs (client, proxy1, proxy2, ...)
-                        // Get the first IP which is the original client
-                        return xForwardedFor.split(",")[0].trim();
-                }
-
-                // No X-Forwarded-For header, use remote address
-                return remoteAddr;
-        }
 }
@@ -56,12 +56,21 @@ public class FieldLogController {
             @Parameter(description = "To date (yyyy-MM-dd)")
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(value = "type", required = false) String type,
+            @Parameter(description = "Sort as field[,asc|desc], e.g. logDate,desc (default id,desc)")
+            @RequestParam(value = "sort", required = false) String sort,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Integer after,
+            @Parameter(description = "Cursor mode: page size; when set, page, size and sort are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
-        return ApiResponse.success(fieldLogService.listFieldLogsForSeason(seasonId, from, to, type, page, size));
+        if (limit != null) {
+            return ApiResponse.success(fieldLogService.scrollFieldLogsForSeason(seasonId, from, to, type, after, limit));
+        }
+        return ApiResponse.success(fieldLogService.listFieldLogsForSeason(seasonId, from, to, type, sort, page, size));
     }
 
     @Operation(summary = "Create field log for season", description = "Create a new field log linked to a season")
@@ -7,9 +7,20 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.DTO.Request.IssueStockRequest;
+import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementBatchRequest;
 import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementRequest;
+import org.example.QuanLyMuaVu.DTO.Response.LotStockResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockAsOfResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockIssueResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockMovementBatchResponse;
 import org.example.QuanLyMuaVu.DTO.Response.StockMovementResponse;
 import org.example.QuanLyMuaVu.Service.InventoryService;
+import org.example.QuanLyMuaVu.Service.StockCheckpointService;
+import org.example.QuanLyMuaVu.Service.StockReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,8 +29,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * REST endpoints for recording stock movements and querying on-hand quantities
@@ -33,6 +47,8 @@ import java.math.BigDecimal;
 public class InventoryController {
 
     InventoryService inventoryService;
+    StockCheckpointService stockCheckpointService;
+    StockReportService stockReportService;
 
     @Operation(summary = "Record stock movement", description = "Record inbound or outbound movement for a supply lot")
     @ApiResponses({
@@ -49,6 +65,50 @@ public class InventoryController {
         return ApiResponse.success(inventoryService.recordMovement(request));
     }
 
+    @Operation(summary = "Record stock movements in bulk",
+            description = "Record up to 1000 movements in one transaction; lines are checked in order and "
+                    + "each line gets its own result. With allOrNothing, nothing is written if any line is rejected")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Stock busy")
+    })
+    @PreAuthorize("hasRole('FARMER')")
+    @PostMapping("/movements/batch")
+    public ApiResponse<StockMovementBatchResponse> recordMovements(
+            @Valid @RequestBody RecordStockMovementBatchRequest request
+    ) {
+        return ApiResponse.success(inventoryService.recordMovements(request));
+    }
+
+    @Operation(summary = "Issue stock of a supply item",
+            description = "Take a quantity of a supply item from a warehouse, first-expiry-first-out across lots, "
+                    + "recorded as one OUT movement per lot")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Not enough stock or bad request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PreAuthorize("hasRole('FARMER')")
+    @PostMapping("/issues")
+    public ApiResponse<StockIssueResponse> issueStock(
+            @Valid @RequestBody IssueStockRequest request
+    ) {
+        return ApiResponse.success(inventoryService.issueStock(request));
+    }
+
+    @Operation(summary = "List lots in stock", description = "Unexpired lots of a supply item with stock in a warehouse, in FEFO order")
+    @PreAuthorize("hasRole('FARMER')")
+    @GetMapping("/warehouses/{warehouseId}/items/{supplyItemId}/lots")
+    public ApiResponse<List<LotStockResponse>> getLotsInStock(
+            @PathVariable Integer warehouseId,
+            @PathVariable Integer supplyItemId
+    ) {
+        return ApiResponse.success(inventoryService.getLotsInStock(warehouseId, supplyItemId));
+    }
+
     @Operation(summary = "Get on-hand quantity", description = "Get current on-hand quantity for a supply lot at a warehouse/location")
     @PreAuthorize("hasRole('FARMER')")
     @GetMapping("/lots/{lotId}/on-hand")
@@ -59,4 +119,36 @@ public class InventoryController {
     ) {
         return ApiResponse.success(inventoryService.getOnHandQuantity(lotId, warehouseId, locationId));
     }
+
+    @Operation(summary = "Get on-hand as of a date", description = "Per-lot stock of a warehouse at the end of the given day")
+    @PreAuthorize("hasRole('FARMER')")
+    @GetMapping("/warehouses/{warehouseId}/on-hand")
+    public ApiResponse<StockAsOfResponse> getOnHandAsOf(
+            @PathVariable Integer warehouseId,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ApiResponse.success(stockCheckpointService.getOnHandAsOf(warehouseId, date));
+    }
+
+    @Operation(summary = "Warehouse stock report",
+            description = "On-hand of every lot in a warehouse by supply item, expiry and location, streamed. "
+                    + "Optionally only lots expiring within N days and/or restricted items")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Success"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PreAuthorize("hasRole('FARMER')")
+    @GetMapping("/warehouses/{warehouseId}/report")
+    public ResponseEntity<StreamingResponseBody> getWarehouseReport(
+            @PathVariable Integer warehouseId,
+            @RequestParam(value = "expiringWithinDays", required = false) Integer expiringWithinDays,
+            @RequestParam(value = "restrictedOnly", defaultValue = "false") boolean restrictedOnly
+    ) {
+        StockReportService.WarehouseReportQuery query =
+                stockReportService.prepareWarehouseReport(warehouseId, expiringWithinDays, restrictedOnly);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> stockReportService.writeWarehouseReport(query, out));
+    }
 }
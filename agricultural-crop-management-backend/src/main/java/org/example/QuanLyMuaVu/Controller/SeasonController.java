@@ -59,11 +59,18 @@ public class SeasonController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @Parameter(description = "To date (yyyy-MM-dd)")
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Integer after,
+            @Parameter(description = "Cursor mode: page size; when set, page/size are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
+        if (limit != null) {
+            return ApiResponse.success(seasonService.scrollMySeasons(plotId, cropId, status, from, to, after, limit));
+        }
         return ApiResponse.success(seasonService.searchMySeasons(plotId, cropId, status, from, to, page, size));
     }
 
@@ -58,13 +58,23 @@ public class SeasonExpenseController {
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @RequestParam(value = "minAmount", required = false) BigDecimal minAmount,
             @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount,
+            @Parameter(description = "Sort as field[,asc|desc], e.g. expenseDate,desc (default id,desc)")
+            @RequestParam(value = "sort", required = false) String sort,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Integer after,
+            @Parameter(description = "Cursor mode: page size; when set, page, size and sort are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
+        if (limit != null) {
+            return ApiResponse.success(
+                    seasonExpenseService.scrollExpensesForSeason(seasonId, from, to, minAmount, maxAmount, after, limit));
+        }
         return ApiResponse.success(
-                seasonExpenseService.listExpensesForSeason(seasonId, from, to, minAmount, maxAmount, page, size));
+                seasonExpenseService.listExpensesForSeason(seasonId, from, to, minAmount, maxAmount, sort, page, size));
     }
 
     @Operation(summary = "Create expense for season", description = "Create a new expense linked to a season")
@@ -55,12 +55,21 @@ public class SeasonHarvestController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @Parameter(description = "To date (yyyy-MM-dd)")
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Sort as field[,asc|desc], e.g. harvestDate,desc (default id,desc)")
+            @RequestParam(value = "sort", required = false) String sort,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Integer after,
+            @Parameter(description = "Cursor mode: page size; when set, page, size and sort are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
-        return ApiResponse.success(seasonHarvestService.listHarvestsForSeason(seasonId, from, to, page, size));
+        if (limit != null) {
+            return ApiResponse.success(seasonHarvestService.scrollHarvestsForSeason(seasonId, from, to, after, limit));
+        }
+        return ApiResponse.success(seasonHarvestService.listHarvestsForSeason(seasonId, from, to, sort, page, size));
     }
 
     @Operation(summary = "Create harvest batch", description = "Create a new harvest batch for a season")
@@ -58,12 +58,21 @@ public class TaskController {
             @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @Parameter(description = "To date (yyyy-MM-dd)")
             @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Sort as field[,asc|desc], e.g. plannedDate,asc (default id,desc)")
+            @RequestParam(value = "sort", required = false) String sort,
+            @Parameter(description = "Cursor mode: id of the last item of the previous page")
+            @RequestParam(value = "after", required = false) Integer after,
+            @Parameter(description = "Cursor mode: page size; when set, page, size and sort are ignored and nextCursor is returned")
+            @RequestParam(value = "limit", required = false) Integer limit,
             @Parameter(description = "Page index (0-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(value = "size", defaultValue = "20") int size
     ) {
-        return ApiResponse.success(seasonTaskService.listTasksForSeason(seasonId, status, from, to, page, size));
+        if (limit != null) {
+            return ApiResponse.success(seasonTaskService.scrollTasksForSeason(seasonId, status, from, to, after, limit));
+        }
+        return ApiResponse.success(seasonTaskService.listTasksForSeason(seasonId, status, from, to, sort, page, size));
     }
 
     @Operation(summary = "Create task in season", description = "Create a new task within given season for current farmer")
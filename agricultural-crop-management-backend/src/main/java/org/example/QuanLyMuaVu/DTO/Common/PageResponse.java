@@ -12,6 +12,12 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
 
+    /**
+     * Id to pass as {@code after} to fetch the next page in cursor mode; null
+     * when there are no more items or the page was fetched by offset.
+     */
+    private Long nextCursor;
+
     public List<T> getItems() {
         return items;
     }
@@ -52,6 +58,14 @@ public class PageResponse<T> {
         this.totalPages = totalPages;
     }
 
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public static <T> PageResponse<T> of(Page<?> pageData, List<T> items) {
         PageResponse<T> response = new PageResponse<>();
         response.setItems(items);
@@ -61,4 +75,19 @@ public class PageResponse<T> {
         response.setTotalPages(pageData.getTotalPages());
         return response;
     }
+
+    /**
+     * Builds a cursor-mode (keyset) page. No count query is run in this mode, so
+     * {@code totalElements} and {@code totalPages} are reported as -1.
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> items, int limit, Long nextCursor) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setItems(items);
+        response.setPage(0);
+        response.setSize(limit);
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
 }
@@ -0,0 +1,36 @@
+package org.example.QuanLyMuaVu.DTO.Request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IssueStockRequest {
+
+    @NotNull(message = "KEY_INVALID")
+    Integer supplyItemId;
+
+    @NotNull(message = "KEY_INVALID")
+    Integer warehouseId;
+
+    @NotNull(message = "KEY_INVALID")
+    @Min(value = 1, message = "KEY_INVALID")
+    BigDecimal quantity;
+
+    Integer seasonId;
+
+    Integer taskId;
+
+    String note;
+}
@@ -0,0 +1,33 @@
+package org.example.QuanLyMuaVu.DTO.Request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Lines are validated one by one by the service (not with {@code @Valid}),
+ * so a bad line is reported in its result instead of failing the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RecordStockMovementBatchRequest {
+
+    @NotEmpty(message = "KEY_INVALID")
+    @Size(max = 1000, message = "KEY_INVALID")
+    List<RecordStockMovementRequest> movements;
+
+    /**
+     * When true, nothing is written unless every line is accepted.
+     */
+    boolean allOrNothing;
+}
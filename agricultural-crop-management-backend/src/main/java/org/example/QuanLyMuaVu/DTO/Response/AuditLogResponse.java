@@ -0,0 +1,30 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit entry without its snapshot; fetch that with the entry's
+ * snapshot endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AuditLogResponse {
+    Long auditLogId;
+    String entityType;
+    Integer entityId;
+    String operation;
+    String performedBy;
+    LocalDateTime performedAt;
+    String reason;
+    String ipAddress;
+}
@@ -0,0 +1,30 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity state as of one audit entry, rebuilt from the nearest keyframe and
+ * the diffs after it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AuditSnapshotResponse {
+    Long auditLogId;
+    String entityType;
+    Integer entityId;
+    String operation;
+    String performedBy;
+    LocalDateTime performedAt;
+    JsonNode snapshot;
+}
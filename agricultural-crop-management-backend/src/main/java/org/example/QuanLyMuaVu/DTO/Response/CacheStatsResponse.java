@@ -0,0 +1,30 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Size limits and hit/miss/eviction counters of one application cache, since
+ * startup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheStatsResponse {
+    String name;
+    long estimatedSize;
+    Long maximumSize;
+    Long expireAfterWriteSeconds;
+    long hitCount;
+    long missCount;
+    double hitRate;
+    long evictionCount;
+    long loadFailureCount;
+    double averageLoadPenaltyMillis;
+}
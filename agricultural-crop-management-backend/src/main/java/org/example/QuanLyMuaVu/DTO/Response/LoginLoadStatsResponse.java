@@ -0,0 +1,44 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Load on sign-in since startup: the password hashing pool and the
+ * username/IP throttles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoginLoadStatsResponse {
+    Hashing hashing;
+    long throttledByUsername;
+    long throttledByIp;
+    long trackedUsernames;
+    long trackedIps;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Hashing {
+        int threads;
+        int queueCapacity;
+        int queueDepth;
+        int active;
+        long completed;
+        long rejected;
+        long timedOut;
+        double avgQueueWaitMillis;
+        double maxQueueWaitMillis;
+        double avgHashMillis;
+        double maxHashMillis;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LotStockResponse {
+
+    Integer supplyLotId;
+    String batchCode;
+    LocalDate expiryDate;
+    BigDecimal onHand;
+}
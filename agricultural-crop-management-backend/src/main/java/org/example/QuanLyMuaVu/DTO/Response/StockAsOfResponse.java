@@ -0,0 +1,40 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockAsOfResponse {
+
+    Integer warehouseId;
+    /** Stock after every movement dated before this instant. */
+    LocalDateTime cutoff;
+    /** Checkpoint the answer was replayed from; null when replayed from the start of the ledger. */
+    LocalDateTime checkpointCutoff;
+    List<LotQuantity> lots;
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class LotQuantity {
+        Integer supplyLotId;
+        BigDecimal quantity;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of comparing the stock_balances read model with a replay of the
+ * stock movement ledger.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockBalanceVerifyResponse {
+    int keysChecked;
+    int discrepancyCount;
+    boolean rebuilt;
+    /**
+     * First discrepancies found, capped to keep the response small.
+     */
+    List<Discrepancy> discrepancies;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Discrepancy {
+        Integer supplyLotId;
+        Integer warehouseId;
+        Integer locationId;
+        BigDecimal ledgerQuantity;
+        BigDecimal balanceQuantity;
+    }
+}
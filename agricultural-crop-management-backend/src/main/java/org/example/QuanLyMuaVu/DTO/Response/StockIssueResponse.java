@@ -0,0 +1,27 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockIssueResponse {
+
+    Integer supplyItemId;
+    Integer warehouseId;
+    BigDecimal quantity;
+    /** One OUT movement per lot drawn from, in the order the lots were used. */
+    List<StockMovementResponse> movements;
+}
@@ -0,0 +1,45 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockMovementBatchResponse {
+
+    public static final String RECORDED = "RECORDED";
+    public static final String REJECTED = "REJECTED";
+    /** Valid line not written because another line was rejected in all-or-nothing mode. */
+    public static final String SKIPPED = "SKIPPED";
+
+    int total;
+    int recorded;
+    int rejected;
+    List<LineResult> results;
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class LineResult {
+        /** Zero-based position of the line in the request. */
+        int line;
+        String status;
+        StockMovementResponse movement;
+        String errorCode;
+        String message;
+    }
+}
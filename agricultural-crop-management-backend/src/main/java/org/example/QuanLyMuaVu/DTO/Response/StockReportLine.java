@@ -0,0 +1,40 @@
+package org.example.QuanLyMuaVu.DTO.Response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the warehouse stock report: a lot's on-hand at one location
+ * (location fields are null for stock recorded without a location).
+ * Built directly by the report query, so the constructor order matters.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockReportLine {
+
+    Integer supplyItemId;
+    String supplyItemName;
+    String unit;
+    Boolean restricted;
+    Integer supplyLotId;
+    String batchCode;
+    LocalDate expiryDate;
+    Integer locationId;
+    String zone;
+    String aisle;
+    String shelf;
+    String bin;
+    BigDecimal quantity;
+}
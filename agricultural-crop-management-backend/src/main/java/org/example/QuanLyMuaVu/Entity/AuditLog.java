@@ -1,5 +1,6 @@
 package org.example.QuanLyMuaVu.Entity;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -22,10 +23,16 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "audit_logs", indexes = {
         @Index(name = "idx_entity_lookup", columnList = "entity_type,entity_id"),
-        @Index(name = "idx_performed_at", columnList = "performed_at")
+        @Index(name = "idx_performed_at", columnList = "performed_at"),
+        @Index(name = "idx_audit_logs_type_performed", columnList = "entity_type,performed_at")
 })
 public class AuditLog {
 
+    /** {@link #snapshotBlob} holds the full entity state. */
+    public static final String FORMAT_FULL = "FULL";
+    /** {@link #snapshotBlob} holds the fields changed since {@link #baseAuditLogId}. */
+    public static final String FORMAT_DIFF = "DIFF";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "audit_log_id")
@@ -47,7 +54,23 @@ public class AuditLog {
     LocalDateTime performedAt;
 
     @Column(name = "snapshot_data", columnDefinition = "TEXT")
-    String snapshotDataJson; // JSON snapshot of entity before operation
+    String snapshotDataJson; // Legacy full JSON snapshot; entries with a snapshotFormat use snapshotBlob
+
+    @Column(name = "snapshot_format", length = 10)
+    String snapshotFormat; // FORMAT_FULL or FORMAT_DIFF, see AuditSnapshotService
+
+    @Column(name = "base_audit_log_id")
+    Long baseAuditLogId; // Entry a DIFF applies to
+
+    @Column(name = "snapshot_blob", columnDefinition = "MEDIUMBLOB")
+    byte[] snapshotBlob; // Gzipped JSON
+
+    /**
+     * State captured by the caller, encoded into {@link #snapshotBlob} by the
+     * audit writer. Kept in spill files, never stored in the table.
+     */
+    @Transient
+    ObjectNode capturedState;
 
     @Column(name = "reason", length = 500)
     String reason; // User-provided reason for the operation
@@ -0,0 +1,24 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose committed inserts, updates and deletes are written to
+ * {@code audit_logs} by {@code EntityAuditListener}, under the given entity
+ * type (e.g. {@code "PLOT"}).
+ * <p>
+ * Changes made with bulk JPQL or plain JDBC bypass Hibernate's events and are
+ * not audited.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuditedEntity {
+
+    /** Value stored in {@code audit_logs.entity_type}. */
+    String value();
+}
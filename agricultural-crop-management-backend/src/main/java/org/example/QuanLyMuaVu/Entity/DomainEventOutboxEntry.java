@@ -0,0 +1,81 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event written in the same transaction as the change that raised
+ * it, waiting to be dispatched to the listeners. Ids increase in commit
+ * order closely enough to serve as the per-aggregate dispatch order.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "domain_event_outbox", indexes = {
+        @Index(name = "idx_domain_event_outbox_status_id", columnList = "status,id"),
+        @Index(name = "idx_domain_event_outbox_aggregate", columnList = "aggregate_type,aggregate_id,status,id")
+})
+public class DomainEventOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    String eventType;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    String aggregateId;
+
+    /** The event serialised as JSON. */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    String payload;
+
+    @Column(name = "occurred_on", nullable = false)
+    LocalDateTime occurredOn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    /** Earliest time of the next attempt after a failure; null when never failed. */
+    @Column(name = "next_attempt_at")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    String lastError;
+
+    @Column(name = "dispatched_at")
+    LocalDateTime dispatchedAt;
+}
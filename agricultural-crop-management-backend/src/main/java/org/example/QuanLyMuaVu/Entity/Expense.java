@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@AuditedEntity("EXPENSE")
 @Table(name = "expenses")
 public class Expense {
     @Id
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@AuditedEntity("HARVEST")
 @Table(name = "harvests")
 public class Harvest {
     @Id
@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@AuditedEntity("PLOT")
 @Table(name = "plots")
 public class Plot {
     @Id
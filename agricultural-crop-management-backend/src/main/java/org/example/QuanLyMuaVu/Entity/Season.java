@@ -7,9 +7,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +32,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "seasons")
+@AuditedEntity("SEASON")
+@Table(name = "seasons", indexes = {
+        @Index(name = "idx_seasons_plot_status_start", columnList = "plot_id,status,start_date")
+})
 public class Season {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -79,6 +84,10 @@ public class Season {
     @Column(name = "expected_yield_kg")
     BigDecimal expectedYieldKg;
 
+    /**
+     * Sum of the season's harvest quantities, kept up to date by applying each
+     * harvest change as a delta (see {@code SeasonHarvestService}).
+     */
     @Column(name = "actual_yield_kg")
     BigDecimal actualYieldKg;
 
@@ -87,4 +96,12 @@ public class Season {
 
     @Column(name = "created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     LocalDateTime createdAt;
+
+    /**
+     * Optimistic lock version. Harvest writes bump it, so a season edited from
+     * a stale copy fails instead of overwriting the actual yield.
+     */
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    long version;
 }
@@ -0,0 +1,44 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of the stock ledger: current on-hand quantity per supply lot,
+ * warehouse and location, i.e. the sum of IN minus OUT {@link StockMovement}
+ * rows for that key.
+ * <p>
+ * Maintained by {@code StockBalanceService} in the same transaction as every
+ * movement; never edited directly.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "stock_balances")
+public class StockBalance {
+
+    @EmbeddedId
+    StockBalanceId id;
+
+    @Column(name = "quantity", nullable = false, precision = 18, scale = 3)
+    BigDecimal quantity;
+
+    @Column(name = "updated_at", nullable = false)
+    LocalDateTime updatedAt;
+}
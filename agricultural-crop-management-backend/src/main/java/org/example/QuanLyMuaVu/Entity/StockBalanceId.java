@@ -0,0 +1,43 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Key of {@link StockBalance}: one row per supply lot, warehouse and storage
+ * location. Movements recorded without a location use
+ * {@link #NO_LOCATION}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Embeddable
+public class StockBalanceId implements Serializable {
+
+    public static final int NO_LOCATION = 0;
+
+    @Column(name = "supply_lot_id", nullable = false)
+    Integer supplyLotId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    Integer warehouseId;
+
+    @Column(name = "location_key", nullable = false)
+    Integer locationKey;
+
+    public static StockBalanceId of(Integer supplyLotId, Integer warehouseId, Integer locationId) {
+        return new StockBalanceId(supplyLotId, warehouseId, locationId != null ? locationId : NO_LOCATION);
+    }
+}
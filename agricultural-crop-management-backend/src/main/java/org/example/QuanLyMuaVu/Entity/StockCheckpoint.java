@@ -0,0 +1,54 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * On-hand snapshot of one warehouse: the stock of every lot after all
+ * movements dated before {@link #cutoff}. Lines are stored in
+ * {@link StockCheckpointLine}, one per lot with non-zero stock.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "stock_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_checkpoints_warehouse_cutoff",
+                columnNames = {"warehouse_id", "cutoff"}))
+public class StockCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    Integer warehouseId;
+
+    /** Exclusive: movements dated at or after the cutoff are not included. */
+    @Column(name = "cutoff", nullable = false)
+    LocalDateTime cutoff;
+
+    @Column(name = "lot_count", nullable = false)
+    Integer lotCount;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+}
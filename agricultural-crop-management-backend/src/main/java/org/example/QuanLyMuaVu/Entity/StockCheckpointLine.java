@@ -0,0 +1,36 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * On-hand quantity of one lot in a {@link StockCheckpoint}. Written in bulk
+ * by {@code StockCheckpointRepository}; lots without stock have no line.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "stock_checkpoint_lines")
+public class StockCheckpointLine {
+
+    @EmbeddedId
+    StockCheckpointLineId id;
+
+    @Column(name = "quantity", nullable = false, precision = 18, scale = 3)
+    BigDecimal quantity;
+}
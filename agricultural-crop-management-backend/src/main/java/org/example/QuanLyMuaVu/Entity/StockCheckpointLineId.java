@@ -0,0 +1,29 @@
+package org.example.QuanLyMuaVu.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Embeddable
+public class StockCheckpointLineId implements Serializable {
+
+    @Column(name = "checkpoint_id", nullable = false)
+    Long checkpointId;
+
+    @Column(name = "supply_lot_id", nullable = false)
+    Integer supplyLotId;
+}
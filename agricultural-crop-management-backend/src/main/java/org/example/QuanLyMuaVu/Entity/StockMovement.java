@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -29,7 +30,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "stock_movements")
+@AuditedEntity("STOCK_MOVEMENT")
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_warehouse_date", columnList = "warehouse_id,movement_date")
+})
 public class StockMovement {
 
     @Id
@@ -0,0 +1,8 @@
+package org.example.QuanLyMuaVu.Enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    // Gave up after the maximum number of attempts, or the payload cannot be read
+    DEAD
+}
@@ -16,6 +16,8 @@ public enum ErrorCode {
         FORBIDDEN("ERR_FORBIDDEN", "Forbidden", HttpStatus.FORBIDDEN),
         RESOURCE_NOT_FOUND("ERR_RESOURCE_NOT_FOUND", "Resource not found", HttpStatus.NOT_FOUND),
         DUPLICATE_RESOURCE("ERR_DUPLICATE_RESOURCE", "Resource already exists", HttpStatus.CONFLICT),
+        CONCURRENT_UPDATE("ERR_CONCURRENT_UPDATE",
+                        "Resource was changed by another request, please reload and retry", HttpStatus.CONFLICT),
         UNAUTHENTICATED("ERR_UNAUTHENTICATED", "Unauthenticated", HttpStatus.UNAUTHORIZED),
 
         // User errors
@@ -28,6 +30,9 @@ public enum ErrorCode {
         USER_NOT_EXISTED("ERR_USER_NOT_EXISTED", "User does not exist", HttpStatus.NOT_FOUND),
         USERNAME_ALREADY_EXISTS("ERR_USERNAME_ALREADY_EXISTS", "Username is already in use", HttpStatus.CONFLICT),
         INVALID_CREDENTIALS("ERR_INVALID_CREDENTIALS", "Invalid username or password", HttpStatus.UNAUTHORIZED),
+        LOGIN_RATE_LIMITED("ERR_LOGIN_RATE_LIMITED", "Too many sign-in attempts, please wait and retry",
+                        HttpStatus.TOO_MANY_REQUESTS),
+        AUTH_BUSY("ERR_AUTH_BUSY", "Sign-in is busy, please retry shortly", HttpStatus.SERVICE_UNAVAILABLE),
 
         // Farm / Plot errors
         PLOT_NOT_FOUND("ERR_PLOT_NOT_FOUND", "Plot not found", HttpStatus.NOT_FOUND),
@@ -65,6 +70,8 @@ public enum ErrorCode {
                         HttpStatus.BAD_REQUEST),
         SEASON_HAS_CHILD_RECORDS("ERR_SEASON_HAS_CHILD_RECORDS",
                         "Cannot delete season with related harvests, expenses or sales", HttpStatus.BAD_REQUEST),
+        SEASON_CONCURRENT_UPDATE("ERR_SEASON_CONCURRENT_UPDATE",
+                        "Season was changed by another request, please reload and retry", HttpStatus.CONFLICT),
 
         // Harvest errors
         HARVEST_NOT_FOUND("ERR_HARVEST_NOT_FOUND", "Harvest not found", HttpStatus.NOT_FOUND),
@@ -94,6 +101,10 @@ public enum ErrorCode {
         LOT_HAS_LINKED_ORDERS_OR_QC("ERR_LOT_HAS_LINKED_ORDERS_OR_QC",
                         "Cannot delete harvest lot with linked orders or quality results", HttpStatus.BAD_REQUEST),
 
+        // Inventory errors
+        STOCK_BUSY("ERR_STOCK_BUSY", "Stock of this lot is being updated by another request, please retry",
+                        HttpStatus.CONFLICT),
+
         // Address / Location errors
         PROVINCE_NOT_FOUND("ERR_PROVINCE_NOT_FOUND", "Province not found", HttpStatus.NOT_FOUND),
         PROVINCE_REQUIRED("ERR_PROVINCE_REQUIRED", "Province is required when creating a farm", HttpStatus.BAD_REQUEST),
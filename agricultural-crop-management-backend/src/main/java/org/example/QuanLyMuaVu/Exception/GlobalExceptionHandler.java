@@ -3,7 +3,9 @@ package org.example.QuanLyMuaVu.Exception;
 import jakarta.validation.ConstraintViolation;
 import lombok.extern.slf4j.Slf4j;
 import org.example.QuanLyMuaVu.DTO.Common.ApiResponse;
+import org.example.QuanLyMuaVu.Entity.Season;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -35,6 +37,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(errorCode.getStatusCode()).body(apiResponse);
     }
 
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    ResponseEntity<ApiResponse<Object>> handlingOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException exception) {
+        log.info("Optimistic lock conflict on {}", exception.getPersistentClassName());
+        ErrorCode errorCode = Season.class.equals(exception.getPersistentClass())
+                ? ErrorCode.SEASON_CONCURRENT_UPDATE
+                : ErrorCode.CONCURRENT_UPDATE;
+        ApiResponse<Object> apiResponse = ApiResponse.error(errorCode.getStatusCode(), errorCode.getCode(),
+                errorCode.getMessage());
+        return ResponseEntity.status(errorCode.getStatusCode()).body(apiResponse);
+    }
+
     @ExceptionHandler(value = AccessDeniedException.class)
     ResponseEntity<ApiResponse<Object>> handlingAccessDeniedException(AccessDeniedException exception) {
         ErrorCode errorCode = ErrorCode.FORBIDDEN;
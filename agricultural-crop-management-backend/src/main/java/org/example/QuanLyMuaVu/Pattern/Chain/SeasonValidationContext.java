@@ -9,6 +9,8 @@ package org.example.QuanLyMuaVu.Pattern.Chain;
  */
 public class SeasonValidationContext {
 
+    // Season being updated, excluded from the overlap check; null on create
+    private Integer seasonId;
     private Integer plotId;
     private Integer cropId;
     private Integer varietyId;
@@ -20,18 +22,25 @@ public class SeasonValidationContext {
     private Integer initialPlantCount;
     private String notes;
 
-    // Pre-fetched entities (populated by validators or service)
+    // Pre-fetched entities (populated by SeasonValidationPrefetcher, the service or validators)
     private org.example.QuanLyMuaVu.Entity.Plot plot;
     private org.example.QuanLyMuaVu.Entity.Crop crop;
     private org.example.QuanLyMuaVu.Entity.Variety variety;
     private org.example.QuanLyMuaVu.Entity.User currentUser;
 
+    // Set once the plot's access was checked for the whole batch
+    private boolean plotAccessChecked;
+
     // Builder pattern for construction
     public static Builder builder() {
         return new Builder();
     }
 
     // Getters
+    public Integer getSeasonId() {
+        return seasonId;
+    }
+
     public Integer getPlotId() {
         return plotId;
     }
@@ -88,6 +97,10 @@ public class SeasonValidationContext {
         return currentUser;
     }
 
+    public boolean isPlotAccessChecked() {
+        return plotAccessChecked;
+    }
+
     // Setters for validators to populate entities
     public void setPlot(org.example.QuanLyMuaVu.Entity.Plot plot) {
         this.plot = plot;
@@ -105,9 +118,18 @@ public class SeasonValidationContext {
         this.currentUser = currentUser;
     }
 
+    public void setPlotAccessChecked(boolean plotAccessChecked) {
+        this.plotAccessChecked = plotAccessChecked;
+    }
+
     public static class Builder {
         private final SeasonValidationContext ctx = new SeasonValidationContext();
 
+        public Builder seasonId(Integer seasonId) {
+            ctx.seasonId = seasonId;
+            return this;
+        }
+
         public Builder plotId(Integer plotId) {
             ctx.plotId = plotId;
             return this;
@@ -0,0 +1,121 @@
+package org.example.QuanLyMuaVu.Pattern.Chain;
+
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Pattern.Chain.Validators.ActiveSeasonValidator;
+import org.example.QuanLyMuaVu.Pattern.Chain.Validators.CropVarietyValidator;
+import org.example.QuanLyMuaVu.Pattern.Chain.Validators.DateRangeValidator;
+import org.example.QuanLyMuaVu.Pattern.Chain.Validators.PlotOwnershipValidator;
+import org.example.QuanLyMuaVu.Service.FarmAccessService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Chain of Responsibility: Season validation pipeline.
+ * <p>
+ * Links the season validators once at startup, in the order
+ * plot ownership, crop/variety, date range, overlap, and runs them after
+ * {@link SeasonValidationPrefetcher} has loaded the referenced entities.
+ * Validation fails fast with the first validator's {@code AppException}.
+ */
+@Component
+public class SeasonValidationPipeline {
+
+    private final SeasonValidationPrefetcher prefetcher;
+    private final FarmAccessService farmAccessService;
+    private final ValidationHandler<SeasonValidationContext> chain;
+
+    public SeasonValidationPipeline(
+            SeasonValidationPrefetcher prefetcher,
+            FarmAccessService farmAccessService,
+            PlotOwnershipValidator plotOwnershipValidator,
+            CropVarietyValidator cropVarietyValidator,
+            DateRangeValidator dateRangeValidator,
+            ActiveSeasonValidator activeSeasonValidator) {
+        this.prefetcher = prefetcher;
+        this.farmAccessService = farmAccessService;
+        this.chain = new ValidationChainBuilder<SeasonValidationContext>()
+                .addHandler(plotOwnershipValidator)
+                .addHandler(cropVarietyValidator)
+                .addHandler(dateRangeValidator)
+                .addHandler(activeSeasonValidator)
+                .build();
+    }
+
+    public void validate(SeasonValidationContext ctx) {
+        validateAll(List.of(ctx));
+    }
+
+    /**
+     * Validates a batch of seasons, e.g. an import, with a single prefetch.
+     * Besides checking each season against the stored ones, rejects seasons
+     * in the batch that overlap each other on the same plot, since none of
+     * them is saved yet. Access to the batch's plots is checked with one
+     * query up front instead of plot by plot.
+     */
+    public void validateAll(List<SeasonValidationContext> contexts) {
+        prefetcher.prefetch(contexts);
+        if (contexts.size() > 1) {
+            assertPlotsAccessible(contexts);
+        }
+        for (SeasonValidationContext ctx : contexts) {
+            chain.validate(ctx);
+        }
+        if (contexts.size() > 1) {
+            assertNoOverlapWithinBatch(contexts);
+        }
+    }
+
+    /**
+     * Checks the plots that were found in one query and marks their contexts,
+     * so {@link PlotOwnershipValidator} does not check them again. Unknown
+     * plots are left to the validator, which reports them as not found.
+     */
+    private void assertPlotsAccessible(List<SeasonValidationContext> contexts) {
+        List<SeasonValidationContext> withPlot = contexts.stream()
+                .filter(ctx -> ctx.getPlot() != null)
+                .toList();
+        farmAccessService.assertCurrentUserCanAccessPlots(withPlot.stream()
+                .map(ctx -> ctx.getPlot().getId())
+                .filter(Objects::nonNull)
+                .toList());
+        withPlot.forEach(ctx -> ctx.setPlotAccessChecked(true));
+    }
+
+    /**
+     * Same ranges as {@code SeasonOverlapService}: start to end date, else
+     * planned harvest date, else open-ended.
+     */
+    private static void assertNoOverlapWithinBatch(List<SeasonValidationContext> contexts) {
+        Map<Integer, List<SeasonValidationContext>> byPlot = contexts.stream()
+                .collect(Collectors.groupingBy(SeasonValidationContext::getPlotId));
+
+        for (List<SeasonValidationContext> seasons : byPlot.values()) {
+            if (seasons.size() < 2) {
+                continue;
+            }
+            List<SeasonValidationContext> byStart = seasons.stream()
+                    .sorted(Comparator.comparing(SeasonValidationContext::getStartDate))
+                    .toList();
+            LocalDate latestEnd = effectiveEnd(byStart.get(0));
+            boolean openEnded = latestEnd == null;
+            for (SeasonValidationContext season : byStart.subList(1, byStart.size())) {
+                if (openEnded || !season.getStartDate().isAfter(latestEnd)) {
+                    throw new AppException(ErrorCode.SEASON_OVERLAP);
+                }
+                latestEnd = effectiveEnd(season);
+                openEnded = latestEnd == null;
+            }
+        }
+    }
+
+    private static LocalDate effectiveEnd(SeasonValidationContext ctx) {
+        return ctx.getEndDate() != null ? ctx.getEndDate() : ctx.getPlannedHarvestDate();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.QuanLyMuaVu.Pattern.Chain;
+
+import lombok.RequiredArgsConstructor;
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Entity.Plot;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Variety;
+import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.VarietyRepository;
+import org.example.QuanLyMuaVu.Service.FarmAccessService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Prefetch stage of the season validation pipeline.
+ * <p>
+ * Loads the plots, crops and varieties referenced by a batch of contexts
+ * with one query per entity type, and the current user once, so the
+ * validators find them in the context instead of each looking up its own.
+ * Entities the caller already set are kept. Unknown ids are left unset; the
+ * validators then report them with their usual error codes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeasonValidationPrefetcher {
+
+    private final PlotRepository plotRepository;
+    private final CropRepository cropRepository;
+    private final VarietyRepository varietyRepository;
+    private final FarmAccessService farmAccessService;
+
+    public void prefetch(Collection<SeasonValidationContext> contexts) {
+        if (contexts.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> plotIds = missingIds(contexts, ctx -> ctx.getPlot() == null, SeasonValidationContext::getPlotId);
+        Set<Integer> cropIds = missingIds(contexts, ctx -> ctx.getCrop() == null, SeasonValidationContext::getCropId);
+        Set<Integer> varietyIds = missingIds(contexts, ctx -> ctx.getVariety() == null,
+                SeasonValidationContext::getVarietyId);
+
+        Map<Integer, Plot> plots = plotIds.isEmpty() ? Map.of()
+                : byId(plotRepository.findAllByIdIn(plotIds), Plot::getId);
+        Map<Integer, Crop> crops = cropIds.isEmpty() ? Map.of()
+                : byId(cropRepository.findAllById(cropIds), Crop::getId);
+        Map<Integer, Variety> varieties = varietyIds.isEmpty() ? Map.of()
+                : byId(varietyRepository.findAllByIdIn(varietyIds), Variety::getId);
+        User currentUser = farmAccessService.getCurrentUser();
+
+        for (SeasonValidationContext ctx : contexts) {
+            if (ctx.getPlot() == null && ctx.getPlotId() != null) {
+                ctx.setPlot(plots.get(ctx.getPlotId()));
+            }
+            if (ctx.getCrop() == null && ctx.getCropId() != null) {
+                ctx.setCrop(crops.get(ctx.getCropId()));
+            }
+            if (ctx.getVariety() == null && ctx.getVarietyId() != null) {
+                ctx.setVariety(varieties.get(ctx.getVarietyId()));
+            }
+            if (ctx.getCurrentUser() == null) {
+                ctx.setCurrentUser(currentUser);
+            }
+        }
+    }
+
+    private static Set<Integer> missingIds(
+            Collection<SeasonValidationContext> contexts,
+            Predicate<SeasonValidationContext> missing,
+            Function<SeasonValidationContext, Integer> id) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (SeasonValidationContext ctx : contexts) {
+            Integer value = id.apply(ctx);
+            if (value != null && missing.test(ctx)) {
+                ids.add(value);
+            }
+        }
+        return ids;
+    }
+
+    private static <E> Map<Integer, E> byId(Iterable<E> entities, Function<E, Integer> id) {
+        Map<Integer, E> result = new HashMap<>();
+        entities.forEach(entity -> result.put(id.apply(entity), entity));
+        return result;
+    }
+}
@@ -2,20 +2,13 @@ package org.example.QuanLyMuaVu.Pattern.Chain.Validators;
 
 import lombok.RequiredArgsConstructor;
 import org.example.QuanLyMuaVu.Entity.Plot;
-import org.example.QuanLyMuaVu.Entity.Season;
-import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Pattern.Chain.SeasonValidationContext;
 import org.example.QuanLyMuaVu.Pattern.Chain.ValidationHandler;
-import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Service.SeasonOverlapService;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.util.EnumSet;
-import java.util.List;
-import java.util.Set;
-
 /**
  * Chain of Responsibility: Active Season Overlap Validator.
  * <p>
@@ -23,17 +16,14 @@ import java.util.Set;
  * "Cannot start a new season on a plot with an active ongoing season"
  * <p>
  * Checks for overlapping date ranges with existing PLANNED or ACTIVE seasons
- * on the same plot.
+ * on the same plot, using the same check as {@code SeasonService} (see
+ * {@link SeasonOverlapService}).
  */
 @Component
 @RequiredArgsConstructor
 public class ActiveSeasonValidator extends ValidationHandler<SeasonValidationContext> {
 
-    private final SeasonRepository seasonRepository;
-
-    private static final Set<SeasonStatus> BLOCKING_STATUSES = EnumSet.of(
-            SeasonStatus.PLANNED,
-            SeasonStatus.ACTIVE);
+    private final SeasonOverlapService seasonOverlapService;
 
     @Override
     protected void doValidate(SeasonValidationContext ctx) {
@@ -43,51 +33,12 @@ public class ActiveSeasonValidator extends ValidationHandler<SeasonValidationCon
             throw new AppException(ErrorCode.BAD_REQUEST);
         }
 
-        LocalDate newStart = ctx.getStartDate();
-        LocalDate newEnd = ctx.getPlannedHarvestDate() != null
-                ? ctx.getPlannedHarvestDate()
-                : ctx.getEndDate();
-
-        // If no end date, use a far-future date for overlap calculation
-        if (newEnd == null) {
-            newEnd = LocalDate.of(9999, 12, 31);
-        }
-
-        // Find all non-terminal seasons on this plot
-        List<Season> existingSeasons = seasonRepository.findByPlotAndStatusIn(plot, BLOCKING_STATUSES);
-
-        for (Season existing : existingSeasons) {
-            if (rangesOverlap(newStart, newEnd,
-                    existing.getStartDate(),
-                    getEffectiveEndDate(existing))) {
-                throw new AppException(ErrorCode.SEASON_OVERLAP);
-            }
-        }
-    }
-
-    /**
-     * Gets the effective end date for overlap calculation.
-     * Priority: endDate > plannedHarvestDate > far future
-     */
-    private LocalDate getEffectiveEndDate(Season season) {
-        if (season.getEndDate() != null) {
-            return season.getEndDate();
-        }
-        if (season.getPlannedHarvestDate() != null) {
-            return season.getPlannedHarvestDate();
-        }
-        return LocalDate.of(9999, 12, 31);
-    }
-
-    /**
-     * Checks if two date ranges overlap.
-     */
-    private boolean rangesOverlap(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
-        if (start1 == null || end1 == null || start2 == null || end2 == null) {
-            return false;
-        }
-        // Ranges overlap if: start1 <= end2 AND start2 <= end1
-        return !start1.isAfter(end2) && !start2.isAfter(end1);
+        seasonOverlapService.assertNoOverlap(
+                plot.getId(),
+                ctx.getStartDate(),
+                ctx.getPlannedHarvestDate(),
+                ctx.getEndDate(),
+                ctx.getSeasonId());
     }
 
     @Override
@@ -18,7 +18,8 @@ import org.springframework.stereotype.Component;
  * 1. Crop exists
  * 2. If variety is provided, it belongs to the specified crop
  * <p>
- * Also populates Crop and Variety entities in context for downstream use.
+ * Uses the Crop and Variety already in the context when they were prefetched,
+ * otherwise loads them and populates the context for downstream use.
  */
 @Component
 @RequiredArgsConstructor
@@ -33,14 +34,20 @@ public class CropVarietyValidator extends ValidationHandler<SeasonValidationCont
             throw new AppException(ErrorCode.CROP_NOT_FOUND);
         }
 
-        Crop crop = cropRepository.findById(ctx.getCropId())
-                .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
-        ctx.setCrop(crop);
+        Crop crop = ctx.getCrop();
+        if (crop == null) {
+            crop = cropRepository.findById(ctx.getCropId())
+                    .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
+            ctx.setCrop(crop);
+        }
 
         // Validate variety if provided
         if (ctx.getVarietyId() != null) {
-            Variety variety = varietyRepository.findById(ctx.getVarietyId())
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+            Variety variety = ctx.getVariety();
+            if (variety == null) {
+                variety = varietyRepository.findById(ctx.getVarietyId())
+                        .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+            }
 
             // Ensure variety belongs to the specified crop
             if (variety.getCrop() == null || !variety.getCrop().getId().equals(crop.getId())) {
@@ -17,7 +17,10 @@ import org.springframework.stereotype.Component;
  * 1. The plot exists
  * 2. Current user has access to the plot (via farm ownership)
  * <p>
- * Also populates the Plot entity in the context for downstream validators.
+ * Uses the Plot already in the context when it was prefetched, otherwise
+ * loads it and populates the context for downstream validators. The access
+ * check is skipped when the pipeline already checked the plot with the rest
+ * of its batch.
  */
 @Component
 @RequiredArgsConstructor
@@ -32,11 +35,16 @@ public class PlotOwnershipValidator extends ValidationHandler<SeasonValidationCo
             throw new AppException(ErrorCode.BAD_REQUEST);
         }
 
-        Plot plot = plotRepository.findById(ctx.getPlotId())
-                .orElseThrow(() -> new AppException(ErrorCode.PLOT_NOT_FOUND));
+        Plot plot = ctx.getPlot();
+        if (plot == null) {
+            plot = plotRepository.findById(ctx.getPlotId())
+                    .orElseThrow(() -> new AppException(ErrorCode.PLOT_NOT_FOUND));
+        }
 
         // Verify ownership using existing FarmAccessService
-        farmAccessService.assertCurrentUserCanAccessPlot(plot);
+        if (!ctx.isPlotAccessChecked()) {
+            farmAccessService.assertCurrentUserCanAccessPlot(plot);
+        }
 
         // Populate context for downstream validators
         ctx.setPlot(plot);
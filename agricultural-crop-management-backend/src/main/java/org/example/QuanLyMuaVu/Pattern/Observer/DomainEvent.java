@@ -14,6 +14,10 @@ import java.util.UUID;
  * - Easy to add new listeners without modifying existing code
  * - Supports async processing for non-blocking operations
  * - Natural audit trail through event persistence
+ * <p>
+ * Events are stored as JSON in the outbox (see {@link DomainEventOutbox}), so
+ * each subclass also has a {@code @JsonCreator} constructor that restores it
+ * with its original id and timestamp.
  */
 public abstract class DomainEvent {
 
@@ -29,6 +33,16 @@ public abstract class DomainEvent {
         this.aggregateId = aggregateId;
     }
 
+    /**
+     * Restores an event read back from the outbox.
+     */
+    protected DomainEvent(String eventId, LocalDateTime occurredOn, String aggregateType, String aggregateId) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+    }
+
     public String getEventId() {
         return eventId;
     }
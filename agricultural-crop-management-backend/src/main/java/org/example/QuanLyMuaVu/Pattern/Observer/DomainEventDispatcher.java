@@ -0,0 +1,165 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Config.AsyncConfig;
+import org.example.QuanLyMuaVu.Entity.DomainEventOutboxEntry;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+import org.example.QuanLyMuaVu.Repository.DomainEventOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Observer Pattern: Background dispatcher for the domain event outbox.
+ * <p>
+ * Each poll reads the oldest pending entries that are due, skipping
+ * aggregates whose earlier event is waiting for its retry, and splits them
+ * into one lane per aggregate. Lanes run in parallel on a bounded pool
+ * ({@code outbox.dispatch-threads}); within a lane events are published in id
+ * order, and a lane stops at the first event that fails, so an aggregate's
+ * later events never overtake an earlier one.
+ * Failures are retried with exponential backoff and marked
+ * {@link OutboxStatus#DEAD} after {@code outbox.max-attempts}.
+ * <p>
+ * Listeners run synchronously on the lane's thread, so their exceptions reach
+ * the dispatcher. Run the dispatcher on one node only
+ * ({@code outbox.dispatch-enabled}); two dispatchers would deliver events
+ * twice and out of order.
+ */
+@Slf4j
+@Component
+public class DomainEventDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final DomainEventOutboxRepository outboxRepository;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retention;
+
+    public DomainEventDispatcher(
+            DomainEventOutboxRepository outboxRepository,
+            DomainEventOutbox outbox,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${outbox.dispatch-enabled:true}") boolean enabled,
+            @Value("${outbox.dispatch-threads:4}") int threads,
+            @Value("${outbox.batch-size:200}") int batchSize,
+            @Value("${outbox.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.retry-base-delay:5s}") Duration retryBaseDelay,
+            @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.executor = AsyncConfig.boundedExecutor("domain-event-", threads, batchSize);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retention = retention;
+    }
+
+    /**
+     * Dispatches one batch and waits for all its lanes before the next poll.
+     *
+     * @return number of events dispatched
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-ms:1000}")
+    public int dispatchPending() {
+        if (!enabled) {
+            return 0;
+        }
+        List<DomainEventOutboxEntry> pending =
+                outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<DomainEventOutboxEntry>> lanes = new LinkedHashMap<>();
+        for (DomainEventOutboxEntry entry : pending) {
+            lanes.computeIfAbsent(entry.getAggregateType() + ":" + entry.getAggregateId(), k -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        List<CompletableFuture<Integer>> results = lanes.values().stream()
+                .map(lane -> CompletableFuture.supplyAsync(() -> dispatchLane(lane), executor))
+                .toList();
+        return results.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 45 3 * * *}")
+    public void purgeDispatched() {
+        int deleted = outboxRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} dispatched domain events", deleted);
+        }
+    }
+
+    private int dispatchLane(List<DomainEventOutboxEntry> lane) {
+        int dispatched = 0;
+        for (DomainEventOutboxEntry entry : lane) {
+            DomainEvent event;
+            try {
+                event = outbox.read(entry);
+            } catch (Exception e) {
+                log.error("Domain event {} ({}) cannot be read; marking it dead", entry.getId(), entry.getEventType(), e);
+                outboxRepository.markFailed(entry.getId(), OutboxStatus.DEAD, entry.getAttempts() + 1, null,
+                        truncate(e.toString()));
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                fail(entry, e);
+                break;
+            }
+            outboxRepository.markDispatched(entry.getId(), LocalDateTime.now());
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    private void fail(DomainEventOutboxEntry entry, RuntimeException e) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Domain event {} ({}) failed {} times; giving up", entry.getId(), entry.getEventType(),
+                    attempts, e);
+            outboxRepository.markFailed(entry.getId(), OutboxStatus.DEAD, attempts, null, truncate(e.toString()));
+            return;
+        }
+        Duration backoff = retryBaseDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        log.warn("Domain event {} ({}) failed (attempt {}), retrying in {}: {}", entry.getId(),
+                entry.getEventType(), attempts, backoff, e.toString());
+        outboxRepository.markFailed(entry.getId(), OutboxStatus.PENDING, attempts,
+                LocalDateTime.now().plus(backoff), truncate(e.toString()));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -3,7 +3,6 @@ package org.example.QuanLyMuaVu.Pattern.Observer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,8 +15,11 @@ import org.springframework.stereotype.Component;
  * - Audit trail persistence
  * <p>
  * Uses Spring's @EventListener for automatic event subscription.
- * 
- * @Async enables non-blocking event processing.
+ * <p>
+ * Events arrive through the outbox: {@link DomainEventDispatcher} publishes
+ * them on its own threads after the originating transaction committed, so
+ * these handlers never add latency to writes. They run synchronously there
+ * (no {@code @Async}) so that a failure is retried by the dispatcher.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,7 +30,6 @@ public class DomainEventListener {
     // private final NotificationService notificationService;
 
     @EventListener
-    @Async
     public void handleSeasonCreated(SeasonCreatedEvent event) {
         log.info("[EVENT] Season created: id={}, name={}, plotId={}, cropId={}",
                 event.getSeasonId(),
@@ -43,7 +44,6 @@ public class DomainEventListener {
     }
 
     @EventListener
-    @Async
     public void handleTaskCompleted(TaskCompletedEvent event) {
         log.info("[EVENT] Task completed: id={}, title={}, seasonId={}, previousStatus={}",
                 event.getTaskId(),
@@ -58,7 +58,6 @@ public class DomainEventListener {
     }
 
     @EventListener
-    @Async
     public void handleIncidentReported(IncidentReportedEvent event) {
         log.info("[EVENT] Incident reported: id={}, type={}, severity={}, seasonId={}, by user={}",
                 event.getIncidentId(),
@@ -0,0 +1,71 @@
+package org.example.QuanLyMuaVu.Pattern.Observer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.QuanLyMuaVu.Entity.DomainEventOutboxEntry;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+import org.example.QuanLyMuaVu.Repository.DomainEventOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Observer Pattern: Transactional outbox for domain events.
+ * <p>
+ * Services record events here instead of publishing them directly. The event
+ * is stored in the caller's transaction, so it exists exactly when the change
+ * that raised it commits, and {@link DomainEventDispatcher} delivers it to the
+ * listeners in the background. Delivery is at least once: listeners should
+ * tolerate seeing the same {@link DomainEvent#getEventId()} twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    /**
+     * Event types the dispatcher can read back. Add new event classes here.
+     */
+    static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = Map.of(
+            "SEASON_CREATED", SeasonCreatedEvent.class,
+            "TASK_COMPLETED", TaskCompletedEvent.class,
+            "INCIDENT_REPORTED", IncidentReportedEvent.class);
+
+    private final DomainEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEvent event) {
+        if (!EVENT_TYPES.containsKey(event.getEventType())) {
+            throw new IllegalArgumentException("Unregistered domain event type " + event.getEventType());
+        }
+        outboxRepository.save(DomainEventOutboxEntry.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .payload(toJson(event))
+                .occurredOn(event.getOccurredOn())
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .build());
+    }
+
+    DomainEvent read(DomainEventOutboxEntry entry) throws JsonProcessingException {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(entry.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown domain event type " + entry.getEventType());
+        }
+        return objectMapper.readValue(entry.getPayload(), type);
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise domain event " + event.getEventType(), e);
+        }
+    }
+}
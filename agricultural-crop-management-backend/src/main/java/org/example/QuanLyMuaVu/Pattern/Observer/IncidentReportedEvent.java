@@ -1,8 +1,12 @@
 package org.example.QuanLyMuaVu.Pattern.Observer;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.example.QuanLyMuaVu.Entity.Incident;
 
+import java.time.LocalDateTime;
+
 /**
  * Observer Pattern: Incident Reported Event.
  * <p>
@@ -31,6 +35,25 @@ public class IncidentReportedEvent extends DomainEvent {
         this.reportedByUserId = incident.getReportedBy() != null ? incident.getReportedBy().getId() : null;
     }
 
+    @JsonCreator
+    private IncidentReportedEvent(
+            @JsonProperty("eventId") String eventId,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn,
+            @JsonProperty("aggregateType") String aggregateType,
+            @JsonProperty("aggregateId") String aggregateId,
+            @JsonProperty("incidentId") Integer incidentId,
+            @JsonProperty("incidentType") String incidentType,
+            @JsonProperty("severity") String severity,
+            @JsonProperty("seasonId") Integer seasonId,
+            @JsonProperty("reportedByUserId") Long reportedByUserId) {
+        super(eventId, occurredOn, aggregateType, aggregateId);
+        this.incidentId = incidentId;
+        this.incidentType = incidentType;
+        this.severity = severity;
+        this.seasonId = seasonId;
+        this.reportedByUserId = reportedByUserId;
+    }
+
     @Override
     public String getEventType() {
         return "INCIDENT_REPORTED";
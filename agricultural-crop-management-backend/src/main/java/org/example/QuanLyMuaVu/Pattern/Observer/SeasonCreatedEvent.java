@@ -1,8 +1,12 @@
 package org.example.QuanLyMuaVu.Pattern.Observer;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.example.QuanLyMuaVu.Entity.Season;
 
+import java.time.LocalDateTime;
+
 /**
  * Observer Pattern: Season Created Event.
  * <p>
@@ -28,6 +32,23 @@ public class SeasonCreatedEvent extends DomainEvent {
         this.cropId = season.getCrop() != null ? season.getCrop().getId() : null;
     }
 
+    @JsonCreator
+    private SeasonCreatedEvent(
+            @JsonProperty("eventId") String eventId,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn,
+            @JsonProperty("aggregateType") String aggregateType,
+            @JsonProperty("aggregateId") String aggregateId,
+            @JsonProperty("seasonId") Integer seasonId,
+            @JsonProperty("seasonName") String seasonName,
+            @JsonProperty("plotId") Integer plotId,
+            @JsonProperty("cropId") Integer cropId) {
+        super(eventId, occurredOn, aggregateType, aggregateId);
+        this.seasonId = seasonId;
+        this.seasonName = seasonName;
+        this.plotId = plotId;
+        this.cropId = cropId;
+    }
+
     @Override
     public String getEventType() {
         return "SEASON_CREATED";
@@ -0,0 +1,78 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for {@code audit_logs}, used by the background audit
+ * writer. The table uses IDENTITY keys, which stops Hibernate from batching
+ * inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuditLogBatchRepository {
+
+    private static final String INSERT_AUDIT_LOG = """
+            insert into audit_logs
+                (entity_type, entity_id, operation, performed_by, performed_at, snapshot_data, reason, ip_address,
+                 snapshot_format, base_audit_log_id, snapshot_blob)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the entries in one batch and sets their generated ids, in list
+     * order. Run it in a transaction so the batch commits once rather than
+     * per row.
+     */
+    public void insertAll(List<AuditLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_AUDIT_LOG, Statement.RETURN_GENERATED_KEYS)) {
+                for (AuditLog entry : entries) {
+                    ps.setString(1, entry.getEntityType());
+                    ps.setInt(2, entry.getEntityId());
+                    ps.setString(3, entry.getOperation());
+                    ps.setString(4, entry.getPerformedBy());
+                    ps.setTimestamp(5, Timestamp.valueOf(entry.getPerformedAt()));
+                    ps.setString(6, entry.getSnapshotDataJson());
+                    ps.setString(7, entry.getReason());
+                    ps.setString(8, entry.getIpAddress());
+                    ps.setString(9, entry.getSnapshotFormat());
+                    if (entry.getBaseAuditLogId() == null) {
+                        ps.setNull(10, Types.BIGINT);
+                    } else {
+                        ps.setLong(10, entry.getBaseAuditLogId());
+                    }
+                    ps.setBytes(11, entry.getSnapshotBlob());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < entries.size()) {
+                        entries.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
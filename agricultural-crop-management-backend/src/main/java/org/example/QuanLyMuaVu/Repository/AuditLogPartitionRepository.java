@@ -0,0 +1,150 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Partition maintenance for {@code audit_logs}, which is range partitioned
+ * by month of {@code performed_at} once {@link #partitionTable} has run (the
+ * same DDL as V12). Partition names go into DDL text, so only names of the
+ * form {@code pYYYYMM} or {@code p_history} are accepted.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuditLogPartitionRepository {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p(\\d{6}|_history)");
+
+    private static final String FIND_PARTITIONS = """
+            select partition_name,
+                   case when partition_description = 'MAXVALUE' then null
+                        else from_days(partition_description) end
+            from information_schema.partitions
+            where table_schema = database() and table_name = 'audit_logs' and partition_name is not null
+            order by partition_ordinal_position
+            """;
+
+    private static final String PRIMARY_KEY_HAS_PERFORMED_AT = """
+            select count(*)
+            from information_schema.key_column_usage
+            where table_schema = database() and table_name = 'audit_logs'
+              and constraint_name = 'PRIMARY' and column_name = 'performed_at'
+            """;
+
+    private static final String SELECT_PARTITION = """
+            select audit_log_id, entity_type, entity_id, operation, performed_by, performed_at, snapshot_data,
+                   reason, ip_address, snapshot_format, base_audit_log_id, snapshot_blob
+            from audit_logs partition (%s)
+            order by entity_type, entity_id, audit_log_id
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Partitions in range order; empty when the table is not partitioned.
+     */
+    public List<Partition> findPartitions() {
+        return jdbcTemplate.query(FIND_PARTITIONS, (rs, i) -> new Partition(
+                rs.getString(1),
+                rs.getDate(2) != null ? rs.getDate(2).toLocalDate() : null));
+    }
+
+    /**
+     * Range partitions the table by month of {@code performed_at}: rows before
+     * {@code firstMonth} go to {@code p_history}, later ones to
+     * {@link #FUTURE_PARTITION}. MySQL requires the partitioning column in the
+     * primary key, so it is added first. Both statements rebuild the table.
+     */
+    public void partitionTable(LocalDate firstMonth) {
+        Integer keyed = jdbcTemplate.queryForObject(PRIMARY_KEY_HAS_PERFORMED_AT, Integer.class);
+        if (keyed == null || keyed == 0) {
+            jdbcTemplate.execute(
+                    "alter table audit_logs drop primary key, add primary key (audit_log_id, performed_at)");
+        }
+        jdbcTemplate.execute("alter table audit_logs partition by range (to_days(performed_at)) ("
+                + "partition p_history values less than (to_days('" + Date.valueOf(firstMonth) + "')), "
+                + "partition " + FUTURE_PARTITION + " values less than maxvalue)");
+    }
+
+    /**
+     * Carves a partition for rows before {@code upperBound} out of the
+     * catch-all {@link #FUTURE_PARTITION}.
+     */
+    public void addPartition(String name, LocalDate upperBound) {
+        jdbcTemplate.execute("alter table audit_logs reorganize partition " + FUTURE_PARTITION + " into ("
+                + "partition " + checked(name) + " values less than (to_days('" + Date.valueOf(upperBound) + "')), "
+                + "partition " + FUTURE_PARTITION + " values less than maxvalue)");
+    }
+
+    public long countRows(String partition) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) from audit_logs partition (" + checked(partition) + ")", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Streams the partition's rows, grouped by entity and in id order within
+     * an entity.
+     */
+    public void streamRows(String partition, Consumer<AuditLog> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_PARTITION.formatted(checked(partition)),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Makes MySQL Connector/J stream rows instead of loading the whole partition
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(map(rs)));
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("alter table audit_logs drop partition " + checked(partition));
+    }
+
+    private static AuditLog map(ResultSet rs) throws SQLException {
+        return AuditLog.builder()
+                .id(rs.getLong(1))
+                .entityType(rs.getString(2))
+                .entityId(rs.getInt(3))
+                .operation(rs.getString(4))
+                .performedBy(rs.getString(5))
+                .performedAt(rs.getTimestamp(6).toLocalDateTime())
+                .snapshotDataJson(rs.getString(7))
+                .reason(rs.getString(8))
+                .ipAddress(rs.getString(9))
+                .snapshotFormat(rs.getString(10))
+                .baseAuditLogId(rs.getObject(11, Long.class))
+                .snapshotBlob(rs.getBytes(12))
+                .build();
+    }
+
+    private static String checked(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Not an audit_logs partition: " + partition);
+        }
+        return partition;
+    }
+
+    /**
+     * @param upperBound first day after the partition's rows; null for
+     *                   {@link #FUTURE_PARTITION}
+     */
+    public record Partition(String name, LocalDate upperBound) {
+    }
+}
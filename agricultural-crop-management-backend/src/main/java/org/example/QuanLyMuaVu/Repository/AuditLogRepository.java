@@ -1,6 +1,8 @@
 package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +19,11 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             String entityType,
             Integer entityId);
 
+    /**
+     * Audit logs of one entity type (e.g. all PLOT entries), most recent first.
+     */
+    Page<AuditLog> findByEntityTypeOrderByPerformedAtDesc(String entityType, Pageable pageable);
+
     /**
      * Find audit logs by operation type (e.g., all SOFT_DELETE operations).
      */
@@ -0,0 +1,70 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import org.example.QuanLyMuaVu.Entity.DomainEventOutboxEntry;
+import org.example.QuanLyMuaVu.Enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DomainEventOutboxRepository extends JpaRepository<DomainEventOutboxEntry, Long> {
+
+    /**
+     * Oldest pending entries that are due at {@code now}. An entry is left out
+     * while an earlier entry of the same aggregate waits for its retry, so a
+     * batch never fills up with events that cannot be dispatched yet.
+     * Served by idx_domain_event_outbox_status_id and
+     * idx_domain_event_outbox_aggregate.
+     */
+    @Query("""
+            SELECT e FROM DomainEventOutboxEntry e
+            WHERE e.status = org.example.QuanLyMuaVu.Enums.OutboxStatus.PENDING
+              AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)
+              AND NOT EXISTS (
+                  SELECT 1 FROM DomainEventOutboxEntry b
+                  WHERE b.aggregateType = e.aggregateType AND b.aggregateId = e.aggregateId
+                    AND b.status = org.example.QuanLyMuaVu.Enums.OutboxStatus.PENDING
+                    AND b.id < e.id AND b.nextAttemptAt > :now)
+            ORDER BY e.id
+            """)
+    List<DomainEventOutboxEntry> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DomainEventOutboxEntry e
+            SET e.status = org.example.QuanLyMuaVu.Enums.OutboxStatus.DISPATCHED,
+                e.dispatchedAt = :now, e.lastError = NULL
+            WHERE e.id = :id
+            """)
+    int markDispatched(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DomainEventOutboxEntry e
+            SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error
+            WHERE e.id = :id
+            """)
+    int markFailed(
+            @Param("id") Long id,
+            @Param("status") OutboxStatus status,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM DomainEventOutboxEntry e
+            WHERE e.status = org.example.QuanLyMuaVu.Enums.OutboxStatus.DISPATCHED AND e.dispatchedAt < :cutoff
+            """)
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
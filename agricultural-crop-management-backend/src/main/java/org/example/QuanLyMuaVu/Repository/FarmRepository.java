@@ -3,6 +3,8 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,12 @@ public interface FarmRepository extends JpaRepository<Farm, Integer> {
 
     List<Farm> findAllByOwner(User owner);
 
+    /**
+     * Ids of the farms owned by the user, without loading the farm rows.
+     */
+    @Query("SELECT f.id FROM Farm f WHERE f.owner.id = :ownerId")
+    List<Integer> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
     Optional<Farm> findByIdAndOwner(Integer id, User owner);
 
     boolean existsByOwnerAndNameIgnoreCase(User owner, String name);
@@ -29,13 +37,13 @@ public interface FarmRepository extends JpaRepository<Farm, Integer> {
      * Check if a farm has any plots.
      * More efficient than loading all plots into memory.
      */
-    @org.springframework.data.jpa.repository.Query("SELECT COUNT(p) > 0 FROM Plot p WHERE p.farm.id = :farmId")
-    boolean hasPlots(@org.springframework.data.repository.query.Param("farmId") Integer farmId);
+    @Query("SELECT COUNT(p) > 0 FROM Plot p WHERE p.farm.id = :farmId")
+    boolean hasPlots(@Param("farmId") Integer farmId);
 
     /**
      * Check if a farm has any seasons (through plots).
      * More efficient than loading all plots and seasons into memory.
      */
-    @org.springframework.data.jpa.repository.Query("SELECT COUNT(s) > 0 FROM Season s WHERE s.plot.farm.id = :farmId")
-    boolean hasSeasons(@org.springframework.data.repository.query.Param("farmId") Integer farmId);
+    @Query("SELECT COUNT(s) > 0 FROM Season s WHERE s.plot.farm.id = :farmId")
+    boolean hasSeasons(@Param("farmId") Integer farmId);
 }
@@ -2,13 +2,14 @@ package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.FieldLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface FieldLogRepository extends JpaRepository<FieldLog, Integer> {
+public interface FieldLogRepository extends JpaRepository<FieldLog, Integer>, JpaSpecificationExecutor<FieldLog> {
 
     List<FieldLog> findAllBySeason_Id(Integer seasonId);
 
@@ -2,13 +2,14 @@ package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.Harvest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface HarvestRepository extends JpaRepository<Harvest, Integer> {
+public interface HarvestRepository extends JpaRepository<Harvest, Integer>, JpaSpecificationExecutor<Harvest> {
 
     List<Harvest> findByHarvestDateBetween(LocalDate start, LocalDate end);
 
@@ -1,9 +1,30 @@
 package org.example.QuanLyMuaVu.Repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {}
\ No newline at end of file
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+
+    /**
+     * Ids of revoked tokens still inside their refresh window; used to rebuild
+     * the in-memory revocation index.
+     */
+    @Query("select t.id from InvalidatedToken t where t.expiryTime > :time")
+    List<String> findIdsExpiringAfter(@Param("time") Date time);
+
+    /**
+     * One batch of ids of revocations whose token is past its refresh window,
+     * for the periodic sweeper.
+     */
+    @Query("select t.id from InvalidatedToken t where t.expiryTime <= :time")
+    List<String> findIdsExpiredAt(@Param("time") Date time, Pageable pageable);
+}
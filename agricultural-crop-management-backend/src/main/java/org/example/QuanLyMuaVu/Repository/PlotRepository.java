@@ -3,9 +3,13 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Plot;
 import org.example.QuanLyMuaVu.Entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,5 +22,23 @@ public interface PlotRepository extends JpaRepository<Plot, Integer> {
 
     boolean existsByFarm(Farm farm);
 
+    /**
+     * Plots by id with the farm, its owner and the creating user, which the
+     * access checks read, fetched in the same query.
+     */
+    @EntityGraph(attributePaths = { "farm", "farm.owner", "user" })
+    List<Plot> findAllByIdIn(Collection<Integer> ids);
+
     boolean existsByUserAndPlotNameIgnoreCase(User user, String plotName);
+
+    /**
+     * Subset of {@code ids} the user may access: plots on a farm the user owns,
+     * or plots without a farm that the user created.
+     */
+    @Query("""
+            SELECT p.id FROM Plot p LEFT JOIN p.farm f
+            WHERE p.id IN :ids
+              AND (f.owner.id = :userId OR (f IS NULL AND p.user.id = :userId))
+            """)
+    List<Integer> findAccessibleIds(@Param("ids") Collection<Integer> ids, @Param("userId") Long userId);
 }
@@ -0,0 +1,114 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Generic JPA specifications shared by the season child-record listings
+ * (tasks, expenses, field logs, harvests). Every record type maps its season
+ * through a {@code season} association, so the same predicates apply to all of
+ * them; attribute names are passed in by the calling service.
+ * <p>
+ * Each factory returns a specification that yields {@code null} (no
+ * restriction) when its filter values are absent.
+ */
+public final class SeasonRecordSpecifications {
+
+    private SeasonRecordSpecifications() {
+    }
+
+    public static <T> Specification<T> ofSeason(Integer seasonId) {
+        return (root, query, cb) -> cb.equal(root.get("season").get("id"), seasonId);
+    }
+
+    public static <T> Specification<T> equalTo(String attribute, Object value) {
+        return (root, query, cb) -> value == null
+                ? null
+                : cb.equal(root.get(attribute), value);
+    }
+
+    /**
+     * Case-insensitive substring match on a string attribute.
+     */
+    public static <T> Specification<T> containsIgnoreCase(String attribute, String value) {
+        return (root, query, cb) -> {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + value.trim().toLowerCase() + "%";
+            return cb.like(cb.lower(root.<String>get(attribute)), pattern);
+        };
+    }
+
+    /**
+     * Inclusive date range on a single attribute.
+     */
+    public static <T> Specification<T> dateBetween(String attribute, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> dateRange(cb, root.<LocalDate>get(attribute), from, to);
+    }
+
+    /**
+     * Inclusive date range on {@code primary}, falling back to {@code fallback}
+     * when the primary date is null. Rows where both are null never match.
+     */
+    public static <T> Specification<T> dateBetween(String primary, String fallback, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> dateRange(
+                cb,
+                cb.coalesce(root.<LocalDate>get(primary), root.<LocalDate>get(fallback)),
+                from,
+                to);
+    }
+
+    /**
+     * Inclusive range on a monetary total. When the stored total is null it is
+     * derived as {@code unitPrice * quantity}.
+     */
+    public static <T> Specification<T> amountBetween(
+            String totalAttribute,
+            String unitPriceAttribute,
+            String quantityAttribute,
+            BigDecimal min,
+            BigDecimal max) {
+        return (root, query, cb) -> {
+            if (min == null && max == null) {
+                return null;
+            }
+            Expression<BigDecimal> derived = cb.prod(
+                    root.<BigDecimal>get(unitPriceAttribute),
+                    root.<Integer>get(quantityAttribute)).as(BigDecimal.class);
+            Expression<BigDecimal> total = cb.coalesce(root.<BigDecimal>get(totalAttribute), derived);
+
+            Predicate predicate = cb.conjunction();
+            if (min != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(total, min));
+            }
+            if (max != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(total, max));
+            }
+            return predicate;
+        };
+    }
+
+    private static Predicate dateRange(
+            CriteriaBuilder cb,
+            Expression<LocalDate> date,
+            LocalDate from,
+            LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        Predicate predicate = cb.conjunction();
+        if (from != null) {
+            predicate = cb.and(predicate, cb.greaterThanOrEqualTo(date, from));
+        }
+        if (to != null) {
+            predicate = cb.and(predicate, cb.lessThanOrEqualTo(date, to));
+        }
+        return predicate;
+    }
+}
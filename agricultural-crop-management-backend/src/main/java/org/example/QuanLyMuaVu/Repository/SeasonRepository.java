@@ -3,14 +3,33 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Season;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface SeasonRepository extends JpaRepository<Season, Integer> {
+public interface SeasonRepository extends JpaRepository<Season, Integer>, JpaSpecificationExecutor<Season> {
+
+    /**
+     * Paged specification search. Fetches plot, crop and variety in the same
+     * query so a page of seasons does not trigger one select per association.
+     * See {@link SeasonSpecifications} for the available predicates.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "plot", "crop", "variety" })
+    Page<Season> findAll(Specification<Season> spec, Pageable pageable);
 
     List<Season> findBySeasonNameContainingIgnoreCase(String seasonName);
 
@@ -36,4 +55,76 @@ public interface SeasonRepository extends JpaRepository<Season, Integer> {
      * Used by ActiveSeasonValidator to check for overlapping seasons.
      */
     List<Season> findByPlotAndStatusIn(org.example.QuanLyMuaVu.Entity.Plot plot, Iterable<SeasonStatus> statuses);
+
+    /**
+     * Whether a season on the plot with one of {@code statuses}, other than
+     * {@code excludeId}, overlaps [{@code start}, {@code end}] (inclusive). A
+     * null {@code end}, or a season with neither end nor planned harvest
+     * date, is open-ended. Answered from idx_seasons_plot_status_start, which
+     * only reaches the plot's seasons in those statuses.
+     */
+    @Query("""
+            SELECT COUNT(s) > 0 FROM Season s
+            WHERE s.plot.id = :plotId
+              AND s.status IN :statuses
+              AND (:excludeId IS NULL OR s.id <> :excludeId)
+              AND (:end IS NULL OR s.startDate <= :end)
+              AND (COALESCE(s.endDate, s.plannedHarvestDate) IS NULL
+                   OR COALESCE(s.endDate, s.plannedHarvestDate) >= :start)
+            """)
+    boolean existsOverlapping(
+            @Param("plotId") Integer plotId,
+            @Param("statuses") Collection<SeasonStatus> statuses,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end,
+            @Param("excludeId") Integer excludeId);
+
+    /**
+     * Adds {@code delta} to the season's actual yield and bumps its version,
+     * in one statement so concurrent harvest writes on the same season queue
+     * on the row lock instead of losing updates.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Season s
+            SET s.actualYieldKg = COALESCE(s.actualYieldKg, 0) + :delta, s.version = s.version + 1
+            WHERE s.id = :seasonId
+            """)
+    int addToActualYield(@Param("seasonId") Integer seasonId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Seasons whose actual yield differs from the sum of their harvests, as
+     * {@code [seasonId, actualYieldKg, harvestTotal]}.
+     */
+    @Query("""
+            SELECT s.id, s.actualYieldKg, SUM(h.quantity)
+            FROM Harvest h JOIN h.season s
+            GROUP BY s.id, s.actualYieldKg
+            HAVING COALESCE(s.actualYieldKg, 0) <> SUM(h.quantity)
+            """)
+    List<Object[]> findActualYieldDrift();
+
+    /**
+     * Resets the actual yield of the given seasons to the sum of their
+     * harvests, read in the same statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Season s
+            SET s.actualYieldKg = (SELECT COALESCE(SUM(h.quantity), 0) FROM Harvest h WHERE h.season.id = s.id),
+                s.version = s.version + 1
+            WHERE s.id IN :seasonIds
+            """)
+    int recomputeActualYield(@Param("seasonIds") Collection<Integer> seasonIds);
+
+    /**
+     * Subset of {@code ids} the user may access, by the same rule as
+     * {@link PlotRepository#findAccessibleIds} applied to the season's plot.
+     */
+    @Query("""
+            SELECT s.id FROM Season s JOIN s.plot p LEFT JOIN p.farm f
+            WHERE s.id IN :ids
+              AND (f.owner.id = :userId OR (f IS NULL AND p.user.id = :userId))
+            """)
+    List<Integer> findAccessibleIds(@Param("ids") Collection<Integer> ids, @Param("userId") Long userId);
 }
@@ -0,0 +1,79 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.example.QuanLyMuaVu.Entity.Plot;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Reusable JPA specifications for season search, so that filtering, ordering
+ * and paging are executed by the database instead of in memory.
+ */
+public final class SeasonSpecifications {
+
+    private SeasonSpecifications() {
+    }
+
+    /**
+     * Seasons on plots belonging to one of the given farms, or created directly by
+     * the given user (legacy plots).
+     */
+    public static Specification<Season> accessibleBy(Collection<Integer> farmIds, User user) {
+        return (root, query, cb) -> {
+            Path<Plot> plot = root.get("plot");
+            Predicate ownedPlot = cb.equal(plot.get("user").get("id"), user.getId());
+            if (farmIds == null || farmIds.isEmpty()) {
+                return ownedPlot;
+            }
+            return cb.or(plot.get("farm").get("id").in(farmIds), ownedPlot);
+        };
+    }
+
+    public static Specification<Season> hasPlot(Integer plotId) {
+        return (root, query, cb) -> plotId == null
+                ? null
+                : cb.equal(root.get("plot").get("id"), plotId);
+    }
+
+    public static Specification<Season> hasCrop(Integer cropId) {
+        return (root, query, cb) -> cropId == null
+                ? null
+                : cb.equal(root.get("crop").get("id"), cropId);
+    }
+
+    public static Specification<Season> hasStatus(SeasonStatus status) {
+        return (root, query, cb) -> status == null
+                ? null
+                : cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Seasons whose [startDate, endDate] range intersects [from, to]. A season
+     * without an end date is treated as a single day at its start date.
+     */
+    public static Specification<Season> overlaps(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) {
+                return null;
+            }
+            Path<LocalDate> start = root.get("startDate");
+            Expression<LocalDate> end = cb.coalesce(root.<LocalDate>get("endDate"), start);
+
+            Predicate predicate = cb.conjunction();
+            if (from != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(end, from));
+            }
+            if (to != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(start, to));
+            }
+            return predicate;
+        };
+    }
+}
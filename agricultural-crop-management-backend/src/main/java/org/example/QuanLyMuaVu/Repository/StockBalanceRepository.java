@@ -0,0 +1,184 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.QuanLyMuaVu.DTO.Response.StockReportLine;
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface StockBalanceRepository extends JpaRepository<StockBalance, StockBalanceId> {
+
+    /**
+     * On-hand quantity summed over every location of the lot in the warehouse.
+     */
+    @Query("""
+            select coalesce(sum(b.quantity), 0)
+            from StockBalance b
+            where b.id.supplyLotId = :lotId
+              and b.id.warehouseId = :warehouseId
+            """)
+    BigDecimal sumQuantity(@Param("lotId") Integer lotId, @Param("warehouseId") Integer warehouseId);
+
+    /**
+     * Rows of (warehouse id, lot id, supply item id, batch code, expiry date,
+     * on-hand) for every lot with positive stock in a warehouse.
+     */
+    @Query("""
+            select b.id.warehouseId, l.id, l.supplyItem.id, l.batchCode, l.expiryDate, sum(b.quantity)
+            from StockBalance b, SupplyLot l
+            where l.id = b.id.supplyLotId
+            group by b.id.warehouseId, l.id, l.supplyItem.id, l.batchCode, l.expiryDate
+            having sum(b.quantity) > 0
+            """)
+    List<Object[]> sumPositiveByWarehouseAndLot();
+
+    /**
+     * Ids of the item's unexpired lots with positive stock in the warehouse,
+     * first expiry first (no expiry date last).
+     */
+    @Query("""
+            select l.id
+            from StockBalance b, SupplyLot l
+            where l.id = b.id.supplyLotId
+              and b.id.warehouseId = :warehouseId
+              and l.supplyItem.id = :supplyItemId
+              and (l.expiryDate is null or l.expiryDate >= :today)
+            group by l.id, l.expiryDate
+            having sum(b.quantity) > 0
+            order by l.expiryDate asc nulls last, l.id asc
+            """)
+    List<Integer> findLotIdsInStockFefo(
+            @Param("warehouseId") Integer warehouseId,
+            @Param("supplyItemId") Integer supplyItemId,
+            @Param("today") LocalDate today);
+
+    /**
+     * Every non-zero balance of a warehouse with its lot, supply item and
+     * location, ordered by item, then expiry (none last), lot and location.
+     * Streamed with a MySQL row-by-row fetch; consume inside a read-only
+     * transaction and close the stream.
+     *
+     * @param expiringBefore when set, only lots expiring on or before this date
+     * @param restrictedOnly when true, only restricted supply items
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new org.example.QuanLyMuaVu.DTO.Response.StockReportLine(
+                i.id, i.name, i.unit, i.restrictedFlag, l.id, l.batchCode, l.expiryDate,
+                loc.id, loc.zone, loc.aisle, loc.shelf, loc.bin, b.quantity)
+            from StockBalance b
+            join SupplyLot l on l.id = b.id.supplyLotId
+            join l.supplyItem i
+            left join StockLocation loc on loc.id = b.id.locationKey
+            where b.id.warehouseId = :warehouseId
+              and b.quantity <> 0
+              and (:restrictedOnly = false or i.restrictedFlag = true)
+              and (:expiringBefore is null or l.expiryDate <= :expiringBefore)
+            order by i.name, i.id, l.expiryDate asc nulls last, l.id, b.id.locationKey
+            """)
+    Stream<StockReportLine> streamWarehouseReport(
+            @Param("warehouseId") Integer warehouseId,
+            @Param("expiringBefore") LocalDate expiringBefore,
+            @Param("restrictedOnly") boolean restrictedOnly);
+
+    /**
+     * Locks the balance row of one key until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from StockBalance b where b.id = :id")
+    List<StockBalance> lockById(@Param("id") StockBalanceId id);
+
+    /**
+     * Locks every location row of the lot in the warehouse until the
+     * transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select b from StockBalance b
+            where b.id.supplyLotId = :lotId
+              and b.id.warehouseId = :warehouseId
+            """)
+    List<StockBalance> lockAllLocations(@Param("lotId") Integer lotId, @Param("warehouseId") Integer warehouseId);
+
+    /**
+     * Locks every location row of the given lots in the given warehouses
+     * (the cross product; callers filter the pairs they need).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select b from StockBalance b
+            where b.id.supplyLotId in :lotIds
+              and b.id.warehouseId in :warehouseIds
+            """)
+    List<StockBalance> lockAllLocationsIn(
+            @Param("lotIds") Collection<Integer> lotIds,
+            @Param("warehouseIds") Collection<Integer> warehouseIds);
+
+    /**
+     * Adds {@code delta} to the balance of the key, creating the row if needed.
+     * A single statement, so concurrent writers cannot lose updates.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            insert into stock_balances (supply_lot_id, warehouse_id, location_key, quantity, updated_at)
+            values (:lotId, :warehouseId, :locationKey, :delta, :now)
+            on duplicate key update quantity = quantity + :delta, updated_at = :now
+            """, nativeQuery = true)
+    int addToBalance(
+            @Param("lotId") Integer lotId,
+            @Param("warehouseId") Integer warehouseId,
+            @Param("locationKey") Integer locationKey,
+            @Param("delta") BigDecimal delta,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Takes {@code quantity} from one balance row only if it holds at least
+     * that much; the check and the decrement are one statement.
+     *
+     * @return 1 when the stock was taken, 0 when it was not available
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update StockBalance b
+            set b.quantity = b.quantity - :quantity, b.updatedAt = :now
+            where b.id = :id and b.quantity >= :quantity
+            """)
+    int withdrawIfAvailable(
+            @Param("id") StockBalanceId id,
+            @Param("quantity") BigDecimal quantity,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Replaces every balance with the totals replayed from the movement ledger.
+     * Call {@link #deleteAllInBatch()} first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert into stock_balances (supply_lot_id, warehouse_id, location_key, quantity, updated_at)
+            select m.supply_lot_id, m.warehouse_id, coalesce(m.location_id, 0),
+                   sum(case m.movement_type when 'IN' then m.quantity when 'OUT' then -m.quantity else 0 end),
+                   :now
+            from stock_movements m
+            group by m.supply_lot_id, m.warehouse_id, coalesce(m.location_id, 0)
+            """, nativeQuery = true)
+    int insertFromLedger(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,73 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import org.example.QuanLyMuaVu.Entity.StockCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockCheckpointRepository extends JpaRepository<StockCheckpoint, Long> {
+
+    /**
+     * Per-lot on-hand of a warehouse at {@code :cutoff}: the lines of the base
+     * checkpoint plus the movements dated in [{@code :fromDate},
+     * {@code :cutoff}). Lots that net to zero are left out.
+     */
+    String REPLAY_FROM_CHECKPOINT = """
+            select t.supply_lot_id as supply_lot_id, sum(t.quantity) as quantity
+            from (
+                select l.supply_lot_id, l.quantity
+                from stock_checkpoint_lines l
+                where l.checkpoint_id = :baseCheckpointId
+                union all
+                select m.supply_lot_id,
+                       case m.movement_type when 'IN' then m.quantity when 'OUT' then -m.quantity else 0 end
+                from stock_movements m
+                where m.warehouse_id = :warehouseId
+                  and m.movement_date >= :fromDate
+                  and m.movement_date < :cutoff
+            ) t
+            group by t.supply_lot_id
+            having sum(t.quantity) <> 0
+            """;
+
+    boolean existsByWarehouseIdAndCutoff(Integer warehouseId, LocalDateTime cutoff);
+
+    Optional<StockCheckpoint> findFirstByWarehouseIdAndCutoffLessThanEqualOrderByCutoffDesc(
+            Integer warehouseId, LocalDateTime cutoff);
+
+    /**
+     * Rows of (supply lot id, quantity); see {@link #REPLAY_FROM_CHECKPOINT}.
+     * Pass {@code -1} as base checkpoint to replay from the start of the ledger.
+     */
+    @Query(value = REPLAY_FROM_CHECKPOINT, nativeQuery = true)
+    List<Object[]> replay(
+            @Param("baseCheckpointId") Long baseCheckpointId,
+            @Param("warehouseId") Integer warehouseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Writes the lines of a new checkpoint with the same replay, in one
+     * statement.
+     *
+     * @return number of lines written
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into stock_checkpoint_lines (checkpoint_id, supply_lot_id, quantity) "
+            + "select :checkpointId, r.supply_lot_id, r.quantity from ("
+            + REPLAY_FROM_CHECKPOINT
+            + ") r", nativeQuery = true)
+    int insertLines(
+            @Param("checkpointId") Long checkpointId,
+            @Param("baseCheckpointId") Long baseCheckpointId,
+            @Param("warehouseId") Integer warehouseId,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("cutoff") LocalDateTime cutoff);
+}
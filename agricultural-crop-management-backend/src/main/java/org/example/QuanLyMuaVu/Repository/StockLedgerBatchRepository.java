@@ -0,0 +1,110 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for the stock ledger. {@code stock_movements} uses
+ * IDENTITY keys, which stops Hibernate from batching inserts, so bulk
+ * ingestion goes through plain JDBC on the transaction's connection instead.
+ * <p>
+ * These statements bypass the persistence context: callers must not read
+ * the written rows back through JPA in the same transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StockLedgerBatchRepository {
+
+    private static final String INSERT_MOVEMENT = """
+            insert into stock_movements
+                (supply_lot_id, warehouse_id, location_id, movement_type, quantity,
+                 movement_date, season_id, task_id, note)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ADD_TO_BALANCE = """
+            insert into stock_balances (supply_lot_id, warehouse_id, location_key, quantity, updated_at)
+            values (?, ?, ?, ?, ?)
+            on duplicate key update quantity = quantity + values(quantity), updated_at = values(updated_at)
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the movements in one batch and sets their generated ids, in
+     * list order.
+     */
+    public void insertMovements(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_MOVEMENT, Statement.RETURN_GENERATED_KEYS)) {
+                for (StockMovement movement : movements) {
+                    ps.setInt(1, movement.getSupplyLot().getId());
+                    ps.setInt(2, movement.getWarehouse().getId());
+                    setNullableId(ps, 3, movement.getLocation() != null ? movement.getLocation().getId() : null);
+                    ps.setString(4, movement.getMovementType().name());
+                    ps.setBigDecimal(5, movement.getQuantity());
+                    ps.setTimestamp(6, Timestamp.valueOf(movement.getMovementDate()));
+                    setNullableId(ps, 7, movement.getSeason() != null ? movement.getSeason().getId() : null);
+                    setNullableId(ps, 8, movement.getTask() != null ? movement.getTask().getId() : null);
+                    ps.setString(9, movement.getNote());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < movements.size()) {
+                        movements.get(i++).setId(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Adds each delta to its balance row, creating missing rows, in one batch.
+     */
+    public void addToBalances(Map<StockBalanceId, BigDecimal> deltas, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> {
+            if (delta.signum() != 0) {
+                rows.add(new Object[]{
+                        id.getSupplyLotId(), id.getWarehouseId(), id.getLocationKey(), delta, Timestamp.valueOf(now)});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TO_BALANCE, rows);
+        }
+    }
+
+    private static void setNullableId(PreparedStatement ps, int index, Integer id) throws SQLException {
+        if (id == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, id);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Repository
 public interface StockMovementRepository extends JpaRepository<StockMovement, Integer> {
@@ -30,5 +31,20 @@ public interface StockMovementRepository extends JpaRepository<StockMovement, In
             @Param("warehouse") Warehouse warehouse,
             @Param("location") StockLocation location
     );
-}
 
+    /**
+     * Replays the whole ledger: one row of {supplyLotId, warehouseId,
+     * locationId (null when none), on-hand quantity} per key.
+     */
+    @Query("""
+            select m.supplyLot.id, m.warehouse.id, l.id, coalesce(sum(
+                case when m.movementType = org.example.QuanLyMuaVu.Enums.StockMovementType.IN then m.quantity
+                     when m.movementType = org.example.QuanLyMuaVu.Enums.StockMovementType.OUT then -m.quantity
+                     else 0 end
+            ), 0)
+            from StockMovement m
+            left join m.location l
+            group by m.supplyLot.id, m.warehouse.id, l.id
+            """)
+    List<Object[]> sumOnHandByKey();
+}
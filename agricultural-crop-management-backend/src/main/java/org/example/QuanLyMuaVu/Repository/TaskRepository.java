@@ -2,12 +2,13 @@ package org.example.QuanLyMuaVu.Repository;
 
 import org.example.QuanLyMuaVu.Entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
     List<Task> findByTitleContainingIgnoreCase(String title);
 
     List<Task> findAllBySeason_Id(Integer seasonId);
@@ -0,0 +1,33 @@
+package org.example.QuanLyMuaVu.Repository;
+
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * JPA specifications for the admin user listings (farmers, buyers).
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> hasRole(String roleCode) {
+        return (root, query, cb) -> cb.equal(root.join("roles").get("code"), roleCode);
+    }
+
+    public static Specification<User> hasStatus(UserStatus status) {
+        return (root, query, cb) -> status == null
+                ? null
+                : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<User> usernameContains(String keyword) {
+        return (root, query, cb) -> {
+            if (keyword == null || keyword.isBlank()) {
+                return null;
+            }
+            return cb.like(cb.lower(root.<String>get("username")), "%" + keyword.trim().toLowerCase() + "%");
+        };
+    }
+}
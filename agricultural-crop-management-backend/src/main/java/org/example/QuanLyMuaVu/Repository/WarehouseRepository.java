@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Repository;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +12,8 @@ import java.util.List;
 public interface WarehouseRepository extends JpaRepository<Warehouse, Integer> {
 
     List<Warehouse> findAllByFarm(Farm farm);
+
+    @Query("select w.id from Warehouse w order by w.id")
+    List<Integer> findAllIds();
 }
 
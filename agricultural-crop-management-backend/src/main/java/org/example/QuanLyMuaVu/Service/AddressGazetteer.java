@@ -0,0 +1,349 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
+import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
+import org.example.QuanLyMuaVu.Mapper.AddressMapper;
+import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
+import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory copy of the province and ward tables used by the
+ * address dropdowns.
+ * <p>
+ * Everything is loaded once into a {@link Snapshot}: rows sorted by id with
+ * primitive id arrays for binary-search lookups, wards grouped by province
+ * through an offset table, and a prefix index over diacritic-folded name
+ * words for keyword search. Lookups never touch the database and memory is
+ * bounded by the size of the tables, whatever keywords clients send.
+ * <p>
+ * A new snapshot is built and swapped in atomically after every import (see
+ * {@link #reloadAfterCommit()}); readers keep using the previous one until
+ * then.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AddressGazetteer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    ProvinceRepository provinceRepository;
+    WardRepository wardRepository;
+    AddressMapper addressMapper;
+    TransactionTemplate readTransaction;
+
+    @NonFinal
+    volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public AddressGazetteer(
+            ProvinceRepository provinceRepository,
+            WardRepository wardRepository,
+            AddressMapper addressMapper,
+            PlatformTransactionManager transactionManager) {
+        this.provinceRepository = provinceRepository;
+        this.wardRepository = wardRepository;
+        this.addressMapper = addressMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and swaps it in.
+     */
+    public void reload() {
+        Snapshot loaded = readTransaction.execute(status -> Snapshot.build(
+                provinceRepository.findAll().stream().map(addressMapper::toProvinceResponse).toList(),
+                wardRepository.findAll().stream().map(addressMapper::toWardResponse).toList()));
+        snapshot = loaded;
+        log.info("Address gazetteer loaded: {} provinces, {} wards",
+                loaded.provinces.length, loaded.wards.length);
+    }
+
+    /**
+     * Reloads once the current transaction commits, so a rolled back import
+     * never becomes visible. Reloads immediately when no transaction is active.
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    // ==================== LOOKUPS ====================
+
+    public ProvinceResponse findProvince(int id) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.provinceIds, id);
+        return index < 0 ? null : current.provinces[index];
+    }
+
+    public WardResponse findWard(int id) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.wardIds, id);
+        return index < 0 ? null : current.wards[current.wardById[index]];
+    }
+
+    /**
+     * Provinces whose name matches {@code keyword} (see {@link #fold}) and whose
+     * type equals {@code type}; either filter may be null.
+     */
+    public List<ProvinceResponse> searchProvinces(String keyword, String type) {
+        Snapshot current = snapshot;
+        String folded = fold(keyword);
+        if (folded.isEmpty() && type == null) {
+            return current.provinceList;
+        }
+
+        List<ProvinceResponse> result = new ArrayList<>();
+        BitSet candidates = folded.isEmpty() ? null : current.provinceNames.candidates(folded);
+        for (int i = 0; i < current.provinces.length; i++) {
+            ProvinceResponse province = current.provinces[i];
+            if (candidates != null
+                    && (!candidates.get(i) || !matches(current.provinceFolded[i], folded))) {
+                continue;
+            }
+            if (type != null && !type.equals(province.getType())) {
+                continue;
+            }
+            result.add(province);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Wards of the province, optionally filtered by {@code keyword}; null if the
+     * province does not exist.
+     */
+    public List<WardResponse> searchWards(int provinceId, String keyword) {
+        Snapshot current = snapshot;
+        int province = Arrays.binarySearch(current.provinceIds, provinceId);
+        if (province < 0) {
+            return null;
+        }
+
+        int start = current.wardOffsets[province];
+        int end = current.wardOffsets[province + 1];
+        String folded = fold(keyword);
+        if (folded.isEmpty()) {
+            return current.wardLists.get(province);
+        }
+
+        List<WardResponse> result = new ArrayList<>();
+        BitSet candidates = current.wardNames.candidates(folded);
+        for (int i = candidates.nextSetBit(start); i >= 0 && i < end; i = candidates.nextSetBit(i + 1)) {
+            if (matches(current.wardFolded[i], folded)) {
+                result.add(current.wards[i]);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int provinceCount() {
+        return snapshot.provinces.length;
+    }
+
+    public int wardCount() {
+        return snapshot.wards.length;
+    }
+
+    // ==================== NORMALIZATION ====================
+
+    /**
+     * Lower-cases, strips Vietnamese diacritics (including {@code đ}) and
+     * collapses everything that is not a letter or digit into single spaces, so
+     * "Hà Nội" and "ha  noi" fold to the same key.
+     */
+    static String fold(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replace('\u0111', 'd') // đ
+                .replace('\u0110', 'D'); // Đ
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * True when the folded keyword occurs in the folded name starting at a word
+     * boundary ("noi" matches "ha noi", "oi" does not).
+     */
+    private static boolean matches(String foldedName, String foldedKeyword) {
+        return foldedName.startsWith(foldedKeyword) || foldedName.contains(" " + foldedKeyword);
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(List.of(), List.of());
+
+        final ProvinceResponse[] provinces;
+        final int[] provinceIds;
+        final String[] provinceFolded;
+        final List<ProvinceResponse> provinceList;
+        final PrefixIndex provinceNames;
+
+        /** Grouped by province (in province order), then by id. */
+        final WardResponse[] wards;
+        /** wards of provinces[p] are wards[wardOffsets[p] .. wardOffsets[p + 1]) */
+        final int[] wardOffsets;
+        final List<List<WardResponse>> wardLists;
+        final int[] wardIds;
+        /** wards[wardById[i]] has id wardIds[i] */
+        final int[] wardById;
+        final String[] wardFolded;
+        final PrefixIndex wardNames;
+
+        private Snapshot(ProvinceResponse[] provinces, WardResponse[] wards, int[] wardOffsets) {
+            this.provinces = provinces;
+            this.provinceIds = Arrays.stream(provinces).mapToInt(ProvinceResponse::getId).toArray();
+            this.provinceFolded = Arrays.stream(provinces).map(p -> fold(p.getName())).toArray(String[]::new);
+            this.provinceList = List.of(provinces);
+            this.provinceNames = new PrefixIndex(provinceFolded);
+
+            this.wards = wards;
+            this.wardOffsets = wardOffsets;
+            List<WardResponse> allWards = List.of(wards);
+            List<List<WardResponse>> lists = new ArrayList<>(provinces.length);
+            for (int p = 0; p < provinces.length; p++) {
+                lists.add(allWards.subList(wardOffsets[p], wardOffsets[p + 1]));
+            }
+            this.wardLists = List.copyOf(lists);
+
+            Integer[] order = new Integer[wards.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> wards[i].getId()));
+            this.wardById = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+            this.wardIds = Arrays.stream(wardById).map(i -> wards[i].getId()).toArray();
+            this.wardFolded = Arrays.stream(wards).map(w -> fold(w.getName())).toArray(String[]::new);
+            this.wardNames = new PrefixIndex(wardFolded);
+        }
+
+        static Snapshot build(List<ProvinceResponse> provinceRows, List<WardResponse> wardRows) {
+            ProvinceResponse[] provinces = provinceRows.stream()
+                    .sorted(Comparator.comparing(ProvinceResponse::getId))
+                    .toArray(ProvinceResponse[]::new);
+            int[] provinceIds = Arrays.stream(provinces).mapToInt(ProvinceResponse::getId).toArray();
+
+            // Wards whose province is missing are dropped, as the old join-based queries did
+            WardResponse[] wards = wardRows.stream()
+                    .filter(w -> w.getProvinceId() != null
+                            && Arrays.binarySearch(provinceIds, w.getProvinceId()) >= 0)
+                    .sorted(Comparator.comparing(WardResponse::getProvinceId)
+                            .thenComparing(WardResponse::getId))
+                    .toArray(WardResponse[]::new);
+
+            int[] offsets = new int[provinces.length + 1];
+            int w = 0;
+            for (int p = 0; p < provinces.length; p++) {
+                offsets[p] = w;
+                while (w < wards.length && wards[w].getProvinceId() == provinceIds[p]) {
+                    w++;
+                }
+            }
+            offsets[provinces.length] = w;
+            return new Snapshot(provinces, wards, offsets);
+        }
+    }
+
+    /**
+     * Sorted array of (word, row) pairs over folded names. A prefix query is two
+     * binary searches plus a scan of the matching range.
+     */
+    private static final class PrefixIndex {
+
+        final String[] words;
+        final int[] rows;
+        final int rowCount;
+
+        PrefixIndex(String[] foldedNames) {
+            List<String> wordList = new ArrayList<>();
+            List<Integer> rowList = new ArrayList<>();
+            for (int row = 0; row < foldedNames.length; row++) {
+                if (foldedNames[row].isEmpty()) {
+                    continue;
+                }
+                for (String word : foldedNames[row].split(" ")) {
+                    wordList.add(word);
+                    rowList.add(row);
+                }
+            }
+
+            Integer[] order = new Integer[wordList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(wordList::get));
+            this.words = Arrays.stream(order).map(wordList::get).toArray(String[]::new);
+            this.rows = Arrays.stream(order).mapToInt(rowList::get).toArray();
+            this.rowCount = foldedNames.length;
+        }
+
+        /**
+         * Rows having a word that starts with the first word of the folded
+         * keyword. Callers still verify the full keyword.
+         */
+        BitSet candidates(String foldedKeyword) {
+            int space = foldedKeyword.indexOf(' ');
+            String prefix = space < 0 ? foldedKeyword : foldedKeyword.substring(0, space);
+
+            BitSet result = new BitSet(rowCount);
+            for (int i = lowerBound(prefix); i < words.length && words[i].startsWith(prefix); i++) {
+                result.set(rows[i]);
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = words.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (words[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
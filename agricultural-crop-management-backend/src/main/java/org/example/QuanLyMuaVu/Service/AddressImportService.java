@@ -1,8 +1,10 @@
 package org.example.QuanLyMuaVu.Service;
 
+import jakarta.persistence.EntityManager;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.example.QuanLyMuaVu.Entity.Province;
 import org.example.QuanLyMuaVu.Entity.Ward;
@@ -10,28 +12,39 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
 import org.example.QuanLyMuaVu.Repository.WardRepository;
+import org.example.QuanLyMuaVu.Util.SqlInsertTupleReader;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service for importing address data from SQL files.
  * Supports both automatic import on startup (if tables are empty) and manual
  * import via API.
+ * <p>
+ * The dump is streamed through {@link SqlInsertTupleReader}, so only the
+ * current tuple is held in memory. Rows are persisted in chunks of
+ * {@code address.import.batch-size} and flushed as JDBC batch inserts of the
+ * same size (set on the import's session only), with progress logged after every chunk and exposed through {@link #getProgress()}.
+ * Once the import commits, {@link AddressGazetteer} swaps in the new data.
  */
 @Slf4j
 @Service
@@ -39,27 +52,46 @@ import java.util.regex.Pattern;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AddressImportService {
 
+    private static final String PROVINCES_TABLE = "provinces";
+    private static final String WARDS_TABLE = "wards";
+
     ProvinceRepository provinceRepository;
     WardRepository wardRepository;
+    EntityManager entityManager;
+    TransactionTemplate transactionTemplate;
+    AddressGazetteer addressGazetteer;
+
+    // The scheduler is a TaskExecutor too, so the executor is picked by name
+    @Qualifier("applicationTaskExecutor")
+    TaskExecutor taskExecutor;
+
+    AtomicReference<ImportProgress> progress = new AtomicReference<>(ImportProgress.idle());
 
-    // Regex patterns for parsing SQL INSERT statements
-    private static final Pattern PROVINCE_VALUES = Pattern.compile(
-            "\\((\\d+),\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)'\\)");
-    private static final Pattern WARD_VALUES = Pattern.compile(
-            "\\((\\d+),\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*\"([^\"]*)\",\\s*(\\d+)\\)");
+    @NonFinal
+    @Value("${address.import.batch-size:500}")
+    int batchSize;
 
     /**
-     * Automatically import address data on application startup if tables are empty.
+     * Automatically import address data on application startup if tables are
+     * empty. The import runs on the application task executor so startup is
+     * not blocked; the address endpoints return partial data until it
+     * completes.
      */
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional
     public void importOnStartupIfEmpty() {
+        taskExecutor.execute(this::runStartupImport);
+    }
+
+    private void runStartupImport() {
         try {
             if (provinceRepository.count() == 0 || wardRepository.count() == 0) {
                 log.info("Address tables are empty. Starting automatic import from loc.sql...");
                 ClassPathResource resource = new ClassPathResource("loc.sql");
                 if (resource.exists()) {
-                    ImportResult result = importFromSqlFile(resource.getInputStream());
+                    ImportResult result;
+                    try (InputStream inputStream = resource.getInputStream()) {
+                        result = transactionTemplate.execute(status -> importStream(inputStream));
+                    }
                     log.info("Address import completed: {} provinces, {} wards",
                             result.getProvincesImported(), result.getWardsImported());
                 } else {
@@ -78,114 +110,151 @@ public class AddressImportService {
      * This method can be called from API endpoint for manual import.
      */
     @Transactional
-    @CacheEvict(value = { "provinces", "province", "wards", "ward" }, allEntries = true)
     public ImportResult importFromSqlFile(InputStream inputStream) {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            StringBuilder sql = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sql.append(line).append("\n");
-            }
-            String sqlContent = sql.toString();
-
-            int provincesImported = 0;
-            int wardsImported = 0;
-
-            // Import provinces
-            Map<Integer, Province> provinceMap = new HashMap<>();
-            if (provinceRepository.count() == 0) {
-                List<Province> provinces = parseProvinces(sqlContent);
-                provinceRepository.saveAll(provinces);
-                provincesImported = provinces.size();
-                provinces.forEach(p -> provinceMap.put(p.getId(), p));
-                log.debug("Imported {} provinces", provincesImported);
-            } else {
-                provinceRepository.findAll().forEach(p -> provinceMap.put(p.getId(), p));
-            }
+        return importStream(inputStream);
+    }
 
-            // Import wards
-            if (wardRepository.count() == 0) {
-                List<Ward> wards = parseWards(sqlContent, provinceMap);
-                wardRepository.saveAll(wards);
-                wardsImported = wards.size();
-                log.debug("Imported {} wards", wardsImported);
-            }
+    /**
+     * Force re-import by clearing existing data and importing fresh.
+     * Use with caution - this will delete all existing address data.
+     */
+    @Transactional
+    public ImportResult forceReimport(InputStream inputStream) {
+        log.warn("Force reimport requested. Clearing existing address data...");
+        wardRepository.deleteAllInBatch();
+        provinceRepository.deleteAllInBatch();
+        return importStream(inputStream);
+    }
 
-            return ImportResult.builder()
-                    .provincesImported(provincesImported)
-                    .wardsImported(wardsImported)
-                    .success(true)
-                    .build();
+    /**
+     * Snapshot of the running or last finished import.
+     */
+    public ImportProgress getProgress() {
+        return progress.get();
+    }
+
+    // ==================== STREAMING IMPORT ====================
+
+    private ImportResult importStream(InputStream inputStream) {
+        ChunkedImport chunk = new ChunkedImport(
+                provinceRepository.count() == 0,
+                wardRepository.count() == 0);
+        if (!chunk.importProvinces) {
+            provinceRepository.findAll().forEach(p -> chunk.provinceIds.add(p.getId()));
+        }
+        progress.set(ImportProgress.running(0, 0));
 
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            new SqlInsertTupleReader(reader).forEachTuple(chunk::accept);
+            chunk.flush();
         } catch (Exception e) {
+            progress.set(progress.get().failed());
             log.error("Error importing address data: {}", e.getMessage(), e);
             throw new AppException(ErrorCode.ADDRESS_IMPORT_FAILED);
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
         }
+
+        progress.set(ImportProgress.completed(chunk.provincesImported, chunk.wardsImported));
+        addressGazetteer.reloadAfterCommit();
+        return ImportResult.builder()
+                .provincesImported(chunk.provincesImported)
+                .wardsImported(chunk.wardsImported)
+                .success(true)
+                .build();
     }
 
     /**
-     * Force re-import by clearing existing data and importing fresh.
-     * Use with caution - this will delete all existing address data.
+     * Per-import state: persists parsed rows and flushes them to the database
+     * every {@code batchSize} rows, detaching them afterwards so the
+     * persistence context stays small.
      */
-    @Transactional
-    @CacheEvict(value = { "provinces", "province", "wards", "ward" }, allEntries = true)
-    public ImportResult forceReimport(InputStream inputStream) {
-        log.warn("Force reimport requested. Clearing existing address data...");
-        wardRepository.deleteAll();
-        provinceRepository.deleteAll();
-        return importFromSqlFile(inputStream);
-    }
+    private final class ChunkedImport {
+        final boolean importProvinces;
+        final boolean importWards;
+        final Set<Integer> provinceIds = new HashSet<>();
+        int provincesImported;
+        int wardsImported;
+        int pending;
 
-    // ==================== PARSING METHODS ====================
+        ChunkedImport(boolean importProvinces, boolean importWards) {
+            this.importProvinces = importProvinces;
+            this.importWards = importWards;
+        }
 
-    private List<Province> parseProvinces(String sql) {
-        List<Province> provinces = new ArrayList<>();
-        Matcher matcher = PROVINCE_VALUES.matcher(sql);
+        void accept(String table, List<String> values) {
+            if (importProvinces && PROVINCES_TABLE.equals(table) && values.size() == 5) {
+                Province province = parseProvince(values);
+                if (province != null) {
+                    entityManager.persist(province);
+                    provinceIds.add(province.getId());
+                    provincesImported++;
+                    afterPersist();
+                }
+            } else if (importWards && WARDS_TABLE.equals(table) && values.size() == 6) {
+                Ward ward = parseWard(values);
+                if (ward != null) {
+                    entityManager.persist(ward);
+                    wardsImported++;
+                    afterPersist();
+                }
+            }
+        }
 
-        while (matcher.find()) {
+        void afterPersist() {
+            if (++pending >= batchSize) {
+                flush();
+                progress.set(ImportProgress.running(provincesImported, wardsImported));
+                log.info("Address import progress: {} provinces, {} wards", provincesImported, wardsImported);
+            }
+        }
+
+        void flush() {
+            entityManager.flush();
+            entityManager.clear();
+            pending = 0;
+        }
+
+        // ==================== PARSING METHODS ====================
+
+        Province parseProvince(List<String> values) {
             try {
-                Province province = Province.builder()
-                        .id(Integer.parseInt(matcher.group(1)))
-                        .name(matcher.group(2))
-                        .slug(matcher.group(3))
-                        .type(matcher.group(4))
-                        .nameWithType(matcher.group(5))
+                return Province.builder()
+                        .id(Integer.parseInt(values.get(0)))
+                        .name(values.get(1))
+                        .slug(values.get(2))
+                        .type(values.get(3))
+                        .nameWithType(values.get(4))
                         .build();
-                provinces.add(province);
             } catch (NumberFormatException e) {
-                log.warn("Failed to parse province entry: {}", matcher.group(0));
+                log.warn("Failed to parse province entry: {}", values);
+                return null;
             }
         }
-        return provinces;
-    }
-
-    private List<Ward> parseWards(String sql, Map<Integer, Province> provinceMap) {
-        List<Ward> wards = new ArrayList<>();
-        Matcher matcher = WARD_VALUES.matcher(sql);
 
-        while (matcher.find()) {
+        Ward parseWard(List<String> values) {
             try {
-                int provinceId = Integer.parseInt(matcher.group(6));
-                Province province = provinceMap.get(provinceId);
-
-                if (province != null) {
-                    Ward ward = Ward.builder()
-                            .id(Integer.parseInt(matcher.group(1)))
-                            .name(matcher.group(2))
-                            .slug(matcher.group(3))
-                            .type(matcher.group(4))
-                            .nameWithType(matcher.group(5))
-                            .province(province)
-                            .build();
-                    wards.add(ward);
-                } else {
-                    log.warn("Province not found for ward: {} with provinceId: {}", matcher.group(2), provinceId);
+                int provinceId = Integer.parseInt(values.get(5));
+                if (!provinceIds.contains(provinceId)) {
+                    log.warn("Province not found for ward: {} with provinceId: {}", values.get(1), provinceId);
+                    return null;
                 }
+                return Ward.builder()
+                        .id(Integer.parseInt(values.get(0)))
+                        .name(values.get(1))
+                        .slug(values.get(2))
+                        .type(values.get(3))
+                        .nameWithType(values.get(4))
+                        .province(entityManager.getReference(Province.class, provinceId))
+                        .build();
             } catch (NumberFormatException e) {
-                log.warn("Failed to parse ward entry: {}", matcher.group(0));
+                log.warn("Failed to parse ward entry: {}", values);
+                return null;
             }
         }
-        return wards;
     }
 
     // ==================== RESULT DTO ====================
@@ -198,4 +267,38 @@ public class AddressImportService {
         private boolean success;
         private String message;
     }
+
+    @lombok.Builder(toBuilder = true)
+    @lombok.Data
+    public static class ImportProgress {
+        private String status;
+        private int provincesImported;
+        private int wardsImported;
+        private Instant updatedAt;
+
+        static ImportProgress idle() {
+            return ImportProgress.builder().status("IDLE").updatedAt(Instant.now()).build();
+        }
+
+        static ImportProgress running(int provinces, int wards) {
+            return of("RUNNING", provinces, wards);
+        }
+
+        static ImportProgress completed(int provinces, int wards) {
+            return of("COMPLETED", provinces, wards);
+        }
+
+        ImportProgress failed() {
+            return toBuilder().status("FAILED").updatedAt(Instant.now()).build();
+        }
+
+        private static ImportProgress of(String status, int provinces, int wards) {
+            return ImportProgress.builder()
+                    .status(status)
+                    .provincesImported(provinces)
+                    .wardsImported(wards)
+                    .updatedAt(Instant.now())
+                    .build();
+        }
+    }
 }
@@ -5,72 +5,48 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.example.QuanLyMuaVu.DTO.Response.ProvinceResponse;
 import org.example.QuanLyMuaVu.DTO.Response.WardResponse;
-import org.example.QuanLyMuaVu.Entity.Province;
-import org.example.QuanLyMuaVu.Entity.Ward;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
-import org.example.QuanLyMuaVu.Mapper.AddressMapper;
-import org.example.QuanLyMuaVu.Repository.ProvinceRepository;
-import org.example.QuanLyMuaVu.Repository.WardRepository;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Service for address lookup operations (provinces, wards).
- * All read operations are cacheable since administrative data rarely changes.
+ * Reads are served from the preloaded {@link AddressGazetteer}, since
+ * administrative data only changes through {@link AddressImportService}.
  */
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@Transactional(readOnly = true)
 public class AddressService {
 
-    ProvinceRepository provinceRepository;
-    WardRepository wardRepository;
-    AddressMapper addressMapper;
+    AddressGazetteer addressGazetteer;
 
     // ==================== PROVINCE OPERATIONS ====================
 
     /**
      * Get all provinces with optional keyword and type filter.
      *
-     * @param keyword optional search keyword
+     * @param keyword optional search keyword, matched diacritic-insensitively
+     *                against the start of any word of the name
      * @param type    optional type filter ("thanh-pho" for city, "tinh" for
      *                province)
      */
-    @Cacheable(value = "provinces", key = "#keyword + '-' + #type")
     public List<ProvinceResponse> getAllProvinces(String keyword, String type) {
-        List<Province> provinces;
-
-        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
         boolean hasType = type != null && !type.trim().isEmpty();
-
-        if (hasKeyword && hasType) {
-            provinces = provinceRepository.findByNameContainingIgnoreCaseAndType(keyword.trim(), type.trim());
-        } else if (hasKeyword) {
-            provinces = provinceRepository.findByNameContainingIgnoreCase(keyword.trim());
-        } else if (hasType) {
-            provinces = provinceRepository.findByType(type.trim());
-        } else {
-            provinces = provinceRepository.findAll();
-        }
-
-        return provinces.stream()
-                .map(addressMapper::toProvinceResponse)
-                .toList();
+        return addressGazetteer.searchProvinces(keyword, hasType ? type.trim() : null);
     }
 
     /**
      * Get a single province by ID.
      */
-    @Cacheable(value = "province", key = "#id")
     public ProvinceResponse getProvinceById(Integer id) {
-        Province province = provinceRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.PROVINCE_NOT_FOUND));
-        return addressMapper.toProvinceResponse(province);
+        ProvinceResponse province = id == null ? null : addressGazetteer.findProvince(id);
+        if (province == null) {
+            throw new AppException(ErrorCode.PROVINCE_NOT_FOUND);
+        }
+        return province;
     }
 
     // ==================== WARD OPERATIONS ====================
@@ -78,33 +54,23 @@ public class AddressService {
     /**
      * Get all wards for a specific province with optional keyword search.
      */
-    @Cacheable(value = "wards", key = "#provinceId + '-' + #keyword")
     public List<WardResponse> getWardsByProvinceId(Integer provinceId, String keyword) {
-        // Verify province exists
-        if (!provinceRepository.existsById(provinceId)) {
+        List<WardResponse> wards = provinceId == null ? null : addressGazetteer.searchWards(provinceId, keyword);
+        if (wards == null) {
             throw new AppException(ErrorCode.PROVINCE_NOT_FOUND);
         }
-
-        List<Ward> wards;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            wards = wardRepository.findByProvinceIdAndNameContainingIgnoreCase(provinceId, keyword.trim());
-        } else {
-            wards = wardRepository.findByProvinceId(provinceId);
-        }
-
-        return wards.stream()
-                .map(addressMapper::toWardResponse)
-                .toList();
+        return wards;
     }
 
     /**
      * Get a single ward by ID.
      */
-    @Cacheable(value = "ward", key = "#id")
     public WardResponse getWardById(Integer id) {
-        Ward ward = wardRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.WARD_NOT_FOUND));
-        return addressMapper.toWardResponse(ward);
+        WardResponse ward = id == null ? null : addressGazetteer.findWard(id);
+        if (ward == null) {
+            throw new AppException(ErrorCode.WARD_NOT_FOUND);
+        }
+        return ward;
     }
 
     // ==================== UTILITY METHODS ====================
@@ -114,8 +80,8 @@ public class AddressService {
      */
     public AddressStats getStats() {
         return AddressStats.builder()
-                .provinceCount(provinceRepository.count())
-                .wardCount(wardRepository.count())
+                .provinceCount(addressGazetteer.provinceCount())
+                .wardCount(addressGazetteer.wardCount())
                 .build();
     }
 
@@ -0,0 +1,277 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archived audit entries, one segment per dropped {@code audit_logs}
+ * partition.
+ * <p>
+ * A segment is two files: {@code audit-<partition>.seg}, a sequence of
+ * gzipped JSON-lines blocks each holding entries of a single entity in id
+ * order, and {@code audit-<partition>.idx}, which maps every entity to its
+ * blocks. The index is written last, so a segment without one is incomplete
+ * and ignored; writing the segment again replaces it.
+ */
+@Slf4j
+@Component
+public class AuditArchiveStore {
+
+    private static final String PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int MAX_BLOCK_ENTRIES = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final Path archiveDir;
+
+    // Segment files never change once indexed, so their indexes are kept
+    private final Map<Path, SegmentIndex> indexes = new ConcurrentHashMap<>();
+
+    public AuditArchiveStore(
+            ObjectMapper objectMapper,
+            @Value("${audit.archive-dir:audit-archive}") String archiveDir) {
+        this.objectMapper = objectMapper;
+        this.archiveDir = Path.of(archiveDir);
+    }
+
+    /**
+     * Starts a segment for {@code partition}. Entries must be added grouped
+     * by entity.
+     */
+    public SegmentWriter newSegment(String partition) throws IOException {
+        Files.createDirectories(archiveDir);
+        return new SegmentWriter(partition);
+    }
+
+    /**
+     * Archived entries of one entity, oldest first.
+     */
+    public List<AuditLog> find(String entityType, Integer entityId) {
+        String key = key(entityType, entityId);
+        List<AuditLog> entries = new ArrayList<>();
+        for (Map.Entry<Path, SegmentIndex> segment : segments().entrySet()) {
+            List<Block> blocks = segment.getValue().blocks().get(key);
+            if (blocks != null) {
+                entries.addAll(readBlocks(segment.getKey(), blocks));
+            }
+        }
+        entries.sort(Comparator.comparing(AuditLog::getId));
+        return entries;
+    }
+
+    /**
+     * Archived entry by id. Reads every block whose id range covers it, so
+     * prefer {@link #find} when the entity is known.
+     */
+    public Optional<AuditLog> findById(Long id) {
+        for (Map.Entry<Path, SegmentIndex> segment : segments().entrySet()) {
+            for (List<Block> blocks : segment.getValue().blocks().values()) {
+                for (Block block : blocks) {
+                    if (block.minId() <= id && id <= block.maxId()) {
+                        Optional<AuditLog> found = readBlocks(segment.getKey(), List.of(block)).stream()
+                                .filter(entry -> id.equals(entry.getId()))
+                                .findFirst();
+                        if (found.isPresent()) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Map<Path, SegmentIndex> segments() {
+        if (!Files.isDirectory(archiveDir)) {
+            return Map.of();
+        }
+        Map<Path, SegmentIndex> segments = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(archiveDir, PREFIX + "*" + INDEX_SUFFIX)) {
+            for (Path indexFile : stream) {
+                String name = indexFile.getFileName().toString();
+                Path segmentFile = indexFile.resolveSibling(
+                        name.substring(0, name.length() - INDEX_SUFFIX.length()) + SEGMENT_SUFFIX);
+                segments.put(segmentFile, indexes.computeIfAbsent(indexFile, this::readIndex));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return segments;
+    }
+
+    private SegmentIndex readIndex(Path indexFile) {
+        try {
+            return objectMapper.readValue(indexFile.toFile(), SegmentIndex.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<AuditLog> readBlocks(Path segmentFile, List<Block> blocks) {
+        List<AuditLog> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            for (Block block : blocks) {
+                ByteBuffer bytes = ByteBuffer.allocate(block.length());
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes, block.offset() + bytes.position()) < 0) {
+                        throw new EOFException("Truncated audit segment " + segmentFile);
+                    }
+                }
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(new ByteArrayInputStream(bytes.array())), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        entries.add(objectMapper.readValue(line, AuditLog.class));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    private static String key(String entityType, Integer entityId) {
+        return entityType + ":" + entityId;
+    }
+
+    /**
+     * Writes one segment. Nothing is visible to readers until {@link #commit}.
+     */
+    public final class SegmentWriter implements AutoCloseable {
+
+        private final String partition;
+        private final Path segmentFile;
+        private final Path indexFile;
+        private final Path segmentTemp;
+        private final FileChannel channel;
+        private final Map<String, List<Block>> blocks = new HashMap<>();
+        private final List<AuditLog> pending = new ArrayList<>();
+        private String pendingKey;
+        private long offset;
+        private long rowCount;
+        private boolean committed;
+
+        private SegmentWriter(String partition) throws IOException {
+            this.partition = partition;
+            this.segmentFile = archiveDir.resolve(PREFIX + partition + SEGMENT_SUFFIX);
+            this.indexFile = archiveDir.resolve(PREFIX + partition + INDEX_SUFFIX);
+            this.segmentTemp = archiveDir.resolve(PREFIX + partition + SEGMENT_SUFFIX + ".tmp");
+            this.channel = FileChannel.open(segmentTemp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        public void add(AuditLog entry) {
+            String key = key(entry.getEntityType(), entry.getEntityId());
+            if (!key.equals(pendingKey) || pending.size() >= MAX_BLOCK_ENTRIES) {
+                flushBlock();
+                pendingKey = key;
+            }
+            pending.add(entry);
+        }
+
+        /**
+         * Makes the segment durable and visible.
+         *
+         * @return number of entries written
+         */
+        public long commit() throws IOException {
+            flushBlock();
+            channel.force(true);
+            channel.close();
+
+            Path indexTemp = archiveDir.resolve(PREFIX + partition + INDEX_SUFFIX + ".tmp");
+            try (FileChannel index = FileChannel.open(indexTemp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(objectMapper.writeValueAsBytes(
+                        new SegmentIndex(partition, rowCount, blocks)));
+                while (bytes.hasRemaining()) {
+                    index.write(bytes);
+                }
+                index.force(true);
+            }
+            // A rewrite hides the old segment first; its rows are still in the partition meanwhile
+            Files.deleteIfExists(indexFile);
+            indexes.remove(indexFile);
+            Files.move(segmentTemp, segmentFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(indexTemp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            log.info("[AUDIT] Archived {} audit entries of partition {} to {}", rowCount, partition, segmentFile);
+            return rowCount;
+        }
+
+        private void flushBlock() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                    for (AuditLog entry : pending) {
+                        gzip.write(objectMapper.writeValueAsBytes(entry));
+                        gzip.write('\n');
+                    }
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                int length = buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                blocks.computeIfAbsent(pendingKey, k -> new ArrayList<>()).add(new Block(
+                        offset, length, pending.get(0).getId(), pending.get(pending.size() - 1).getId()));
+                offset += length;
+                rowCount += pending.size();
+                pending.clear();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(segmentTemp);
+            }
+        }
+    }
+
+    record SegmentIndex(String partition, long rowCount, Map<String, List<Block>> blocks) {
+    }
+
+    /**
+     * Gzipped entries of one entity at {@code offset}; ids are in
+     * [{@code minId}, {@code maxId}].
+     */
+    record Block(long offset, int length, long minId, long maxId) {
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Repository.AuditLogPartitionRepository;
+import org.example.QuanLyMuaVu.Repository.AuditLogPartitionRepository.Partition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps {@code audit_logs} bounded: the table is partitioned by month of
+ * {@code performed_at} on the first start (unless
+ * {@code audit.partition-on-startup} is off), and a nightly job adds the
+ * partitions for the coming months and moves partitions past the retention
+ * period to {@link AuditArchiveStore} segments before dropping them.
+ * <p>
+ * A partition is only dropped once its segment is durable and holds as many
+ * entries as the partition; otherwise it stays and is tried again the next
+ * night. The nightly job does nothing when the table is not partitioned.
+ */
+@Slf4j
+@Service
+public class AuditLogArchiver {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final AuditLogPartitionRepository partitionRepository;
+    private final AuditArchiveStore archiveStore;
+    private final int retentionMonths;
+    private final int partitionsAhead;
+    private final boolean partitionOnStartup;
+
+    public AuditLogArchiver(
+            AuditLogPartitionRepository partitionRepository,
+            AuditArchiveStore archiveStore,
+            @Value("${audit.retention-months:24}") int retentionMonths,
+            @Value("${audit.partitions-ahead:3}") int partitionsAhead,
+            @Value("${audit.partition-on-startup:true}") boolean partitionOnStartup) {
+        this.partitionRepository = partitionRepository;
+        this.archiveStore = archiveStore;
+        this.retentionMonths = retentionMonths;
+        this.partitionsAhead = partitionsAhead;
+        this.partitionOnStartup = partitionOnStartup;
+    }
+
+    /**
+     * Partitions {@code audit_logs} the first time the application starts on
+     * a database where it is not partitioned yet. Existing rows go to
+     * {@code p_history}, which is archived as a whole once its newest month
+     * passes the retention period. A failure is logged and leaves the table
+     * as it was; the next start tries again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void partitionIfNeeded() {
+        if (!partitionOnStartup) {
+            return;
+        }
+        try {
+            if (!partitionRepository.findPartitions().isEmpty()) {
+                return;
+            }
+            LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+            log.info("[AUDIT] audit_logs is not partitioned; partitioning it by month");
+            partitionRepository.partitionTable(thisMonth);
+            addPartitions(thisMonth.plusMonths(partitionsAhead + 1L));
+        } catch (RuntimeException e) {
+            log.error("[AUDIT_FAILURE] Partitioning audit_logs failed; it stays unpartitioned", e);
+        }
+    }
+
+    @Scheduled(cron = "${audit.partition-cron:0 15 1 * * *}")
+    public void maintainPartitions() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        addPartitions(thisMonth.plusMonths(partitionsAhead + 1L));
+        archiveBefore(thisMonth.minusMonths(retentionMonths));
+    }
+
+    /**
+     * Adds monthly partitions until rows before {@code until} no longer land
+     * in the catch-all partition.
+     */
+    void addPartitions(LocalDate until) {
+        List<Partition> partitions = partitionRepository.findPartitions();
+        if (partitions.stream().noneMatch(p -> AuditLogPartitionRepository.FUTURE_PARTITION.equals(p.name()))) {
+            return;
+        }
+        LocalDate bound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(until);
+        while (bound.isBefore(until)) {
+            String name = "p" + bound.format(PARTITION_MONTH);
+            partitionRepository.addPartition(name, bound.plusMonths(1));
+            log.info("[AUDIT] Added audit_logs partition {}", name);
+            bound = bound.plusMonths(1);
+        }
+    }
+
+    /**
+     * Archives and drops every partition that only holds rows before
+     * {@code cutoff}.
+     *
+     * @return number of partitions archived
+     */
+    int archiveBefore(LocalDate cutoff) {
+        int archived = 0;
+        for (Partition partition : partitionRepository.findPartitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                if (archive(partition.name())) {
+                    archived++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("[AUDIT_FAILURE] Archiving audit_logs partition {} failed; it is kept",
+                        partition.name(), e);
+            }
+        }
+        return archived;
+    }
+
+    private boolean archive(String partition) throws IOException {
+        long expected = partitionRepository.countRows(partition);
+        long written;
+        try (AuditArchiveStore.SegmentWriter segment = archiveStore.newSegment(partition)) {
+            partitionRepository.streamRows(partition, segment::add);
+            written = segment.commit();
+        }
+        if (written != expected) {
+            log.error("[AUDIT_FAILURE] Segment of audit_logs partition {} has {} entries, partition has {}; "
+                    + "partition kept", partition, written, expected);
+            return false;
+        }
+        partitionRepository.dropPartition(partition);
+        log.info("[AUDIT] Dropped audit_logs partition {} after archiving {} entries", partition, written);
+        return true;
+    }
+}
@@ -1,26 +1,34 @@
 package org.example.QuanLyMuaVu.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.DTO.Response.AuditLogResponse;
 import org.example.QuanLyMuaVu.Entity.AuditLog;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Repository.AuditLogRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service for creating audit logs of critical operations.
  * 
  * Transaction Strategy:
- * - Non-critical operations (soft delete, restore, create, update): Use
- * REQUIRES_NEW propagation.
+ * - Non-critical operations (soft delete, restore, create, update): Handed to
+ * {@link AuditLogWriter}, which inserts them in batches in the background.
  * Audit logs persist independently, even if main operation fails.
  * Audit failures are logged but don't fail the business operation.
  * 
@@ -36,13 +44,16 @@ import java.time.LocalDateTime;
 public class AuditLogService {
 
     AuditLogRepository auditLogRepository;
-    ObjectMapper objectMapper;
+    AuditLogWriter auditLogWriter;
+    AuditSnapshotService auditSnapshotService;
+    AuditArchiveStore archiveStore;
 
     /**
      * Log non-critical farm operations (CREATE, UPDATE, SOFT_DELETE, RESTORE).
      * 
-     * Uses REQUIRES_NEW propagation to ensure audit log is saved in a separate
-     * transaction.
+     * The snapshot is taken now, on the caller's thread; the entry is then queued
+     * for {@link AuditLogWriter} and written outside the caller's transaction,
+     * without holding a second connection.
      * If the main operation fails, the audit log still persists.
      * If audit logging fails, it's logged as an error but doesn't fail the business
      * operation.
@@ -56,7 +67,6 @@ public class AuditLogService {
      * @param reason      Optional reason provided by the user
      * @param ipAddress   IP address of the request
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logFarmOperation(
             Farm farm,
             String operation,
@@ -64,9 +74,9 @@ public class AuditLogService {
             String reason,
             String ipAddress) {
         try {
-            createAuditLog(farm, operation, performedBy, reason, ipAddress);
+            auditLogWriter.submit(buildAuditLog(farm, operation, performedBy, reason, ipAddress));
             log.info(
-                    "[AUDIT] Non-critical operation logged: entityType=FARM, entityId={}, operation={}, performedBy={}",
+                    "[AUDIT] Non-critical operation queued: entityType=FARM, entityId={}, operation={}, performedBy={}",
                     farm.getId(), operation, performedBy);
 
         } catch (Exception e) {
@@ -112,7 +122,10 @@ public class AuditLogService {
             String reason,
             String ipAddress) {
         try {
-            createAuditLog(farm, operation, performedBy, reason, ipAddress);
+            AuditLog entry = buildAuditLog(farm, operation, performedBy, reason, ipAddress);
+            // Written outside the writer's chains, so always a keyframe
+            auditSnapshotService.encodeFull(entry, entry.getCapturedState());
+            auditLogRepository.save(entry);
             log.info(
                     "[AUDIT_CRITICAL] Critical operation logged: entityType=FARM, entityId={}, operation={}, performedBy={}",
                     farm.getId(), operation, performedBy);
@@ -133,39 +146,79 @@ public class AuditLogService {
     }
 
     /**
-     * Shared logic to create audit log entry.
-     * Minimizes PII in snapshot by redacting sensitive fields if needed.
+     * Shared logic to build an audit log entry.
+     * Captures the farm's own columns only; associations are kept as ids.
      */
-    private void createAuditLog(
+    private AuditLog buildAuditLog(
             Farm farm,
             String operation,
             String performedBy,
             String reason,
-            String ipAddress) throws JsonProcessingException {
+            String ipAddress) {
 
-        // Serialize farm to JSON snapshot
         // TODO: Consider redacting sensitive PII fields (e.g., detailed address) for
         // GDPR compliance
-        String snapshot = objectMapper.writeValueAsString(farm);
+        ObjectNode snapshot = auditSnapshotService.capture(farm);
 
-        AuditLog auditLog = AuditLog.builder()
+        return AuditLog.builder()
                 .entityType("FARM")
                 .entityId(farm.getId())
                 .operation(operation)
                 .performedBy(performedBy)
                 .performedAt(LocalDateTime.now())
-                .snapshotDataJson(snapshot)
+                .capturedState(snapshot)
                 .reason(reason)
                 .ipAddress(ipAddress)
                 .build();
+    }
+
+    /**
+     * Retrieve audit trail for a specific farm, most recent first, from the
+     * live table and the archived segments ({@link AuditLogArchiver}).
+     */
+    public List<AuditLog> getFarmAuditTrail(Integer farmId) {
+        return getAuditTrail("FARM", farmId);
+    }
 
-        auditLogRepository.save(auditLog);
+    /**
+     * Audit trail of any audited entity, most recent first, including
+     * archived entries.
+     */
+    public List<AuditLog> getAuditTrail(String entityType, Integer entityId) {
+        // Keyed by id: an entry is briefly in both while its partition is being archived
+        Map<Long, AuditLog> trail = new HashMap<>();
+        archiveStore.find(entityType, entityId).forEach(entry -> trail.put(entry.getId(), entry));
+        auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtDesc(entityType, entityId)
+                .forEach(entry -> trail.put(entry.getId(), entry));
+        List<AuditLog> result = new ArrayList<>(trail.values());
+        result.sort(Comparator.comparing(AuditLog::getPerformedAt).thenComparing(AuditLog::getId).reversed());
+        return result;
     }
 
     /**
-     * Retrieve audit trail for a specific farm.
+     * Live (not yet archived) audit entries of one entity type, most recent
+     * first.
      */
-    public java.util.List<AuditLog> getFarmAuditTrail(Integer farmId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtDesc("FARM", farmId);
+    public PageResponse<AuditLogResponse> listByEntityType(String entityType, int page, int size) {
+        Page<AuditLog> pageData = auditLogRepository.findByEntityTypeOrderByPerformedAtDesc(
+                entityType, PageRequest.of(page, size));
+        return PageResponse.of(pageData, pageData.getContent().stream().map(AuditLogService::toResponse).toList());
+    }
+
+    public List<AuditLogResponse> listAuditTrail(String entityType, Integer entityId) {
+        return getAuditTrail(entityType, entityId).stream().map(AuditLogService::toResponse).toList();
+    }
+
+    private static AuditLogResponse toResponse(AuditLog entry) {
+        return AuditLogResponse.builder()
+                .auditLogId(entry.getId())
+                .entityType(entry.getEntityType())
+                .entityId(entry.getEntityId())
+                .operation(entry.getOperation())
+                .performedBy(entry.getPerformedBy())
+                .performedAt(entry.getPerformedAt())
+                .reason(entry.getReason())
+                .ipAddress(entry.getIpAddress())
+                .build();
     }
 }
@@ -0,0 +1,383 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Repository.AuditLogBatchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer for non-critical audit entries.
+ * <p>
+ * {@link #submit} puts the entry on a bounded in-memory queue; a single
+ * writer thread drains it and inserts in JDBC batches, one transaction per
+ * batch, so request threads no longer open a second transaction per entry.
+ * <p>
+ * The writer also encodes snapshots ({@link AuditSnapshotService}): it
+ * remembers the last state it wrote per entity and stores a diff against it,
+ * or a keyframe when it has none, the chain is {@code audit.keyframe-interval}
+ * long, or after a restart. Entries replayed from spill files are always
+ * keyframes, since they are written out of order.
+ * <p>
+ * Backpressure: when the queue stays full for {@code audit.enqueue-timeout}
+ * the caller appends the entry to a spill file instead, and when a batch
+ * insert fails the writer spills the batch. Spill files are fsynced JSON
+ * lines in {@code audit.spill-dir}, replayed into the table once the
+ * database accepts writes again. Replay is at least once: an entry can be
+ * written twice if the process dies between the insert and deleting the file.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String SPILL_PREFIX = "audit-spill-";
+    private static final String SPILL_SUFFIX = ".jsonl";
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final AuditSnapshotService auditSnapshotService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final Duration spillRetryInterval;
+    private final Path spillDir;
+
+    private final Object spillLock = new Object();
+    private final AtomicLong spillSequence = new AtomicLong();
+    private final AtomicLong spilledEntries = new AtomicLong();
+    private Path currentSpillFile;
+
+    // Last written entry per entity; only touched by the writer thread
+    private final Map<String, ChainHead> chains;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long lastReplayAttempt;
+
+    public AuditLogWriter(
+            AuditLogBatchRepository auditLogBatchRepository,
+            AuditSnapshotService auditSnapshotService,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.batch-size:200}") int batchSize,
+            @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${audit.enqueue-timeout:20ms}") Duration enqueueTimeout,
+            @Value("${audit.spill-retry-interval:30s}") Duration spillRetryInterval,
+            @Value("${audit.spill-dir:${java.io.tmpdir}/acm-audit-spill}") String spillDir,
+            @Value("${audit.chain-cache-size:10000}") int chainCacheSize) {
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.auditSnapshotService = auditSnapshotService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+        this.spillRetryInterval = spillRetryInterval;
+        this.spillDir = Path.of(spillDir);
+        this.chains = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ChainHead> eldest) {
+                return size() > chainCacheSize;
+            }
+        };
+        // Replay files left by a previous run as soon as the writer is idle
+        this.lastReplayAttempt = System.nanoTime() - spillRetryInterval.toNanos();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(spillDir);
+        running = true;
+        writerThread = new Thread(this::run, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Flushes what is queued before the data source goes away; entries that
+     * cannot be written in time end up in the spill directory.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        List<AuditLog> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            spill(left);
+        }
+    }
+
+    /**
+     * Queues the entry for the background writer, or spills it to disk if the
+     * queue stays full. Only fails if the entry cannot be stored either way.
+     */
+    public void submit(AuditLog entry) {
+        try {
+            if (queue.offer(entry, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spill(List.of(entry));
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    /** Entries written to spill files since startup. */
+    public long spilledCount() {
+        return spilledEntries.get();
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                } else {
+                    replaySpillFilesIfDue();
+                }
+            } catch (InterruptedException e) {
+                // stop() interrupts to end the wait; the loop condition decides
+            } catch (RuntimeException e) {
+                log.error("[AUDIT_FAILURE] Audit writer iteration failed", e);
+            }
+        }
+        // Final flush on shutdown
+        queue.drainTo(batch);
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            write(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        Map<String, ChainHead> written = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertEncoded(batch, written));
+            chains.putAll(written);
+        } catch (RuntimeException e) {
+            log.warn("[AUDIT_FAILURE] Batch insert of {} audit entries failed, spilling to disk: {}",
+                    batch.size(), e.getMessage());
+            for (AuditLog entry : batch) {
+                chains.remove(chainKey(entry));
+                entry.setId(null);
+                entry.setSnapshotFormat(null);
+                entry.setBaseAuditLogId(null);
+                entry.setSnapshotBlob(null);
+            }
+            spill(batch);
+            // Give the database a full retry interval before replaying
+            lastReplayAttempt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Encodes and inserts the batch. A diff must name its base's id, so the
+     * batch is cut before an entity's second entry and the part before it is
+     * inserted first.
+     */
+    private void insertEncoded(List<AuditLog> batch, Map<String, ChainHead> written) {
+        List<AuditLog> chunk = new ArrayList<>();
+        List<Integer> chainLengths = new ArrayList<>();
+        Set<String> inChunk = new HashSet<>();
+        for (AuditLog entry : batch) {
+            ObjectNode state = entry.getCapturedState();
+            if (state == null) {
+                chunk.add(entry);
+                chainLengths.add(null);
+                continue;
+            }
+            String key = chainKey(entry);
+            if (!inChunk.add(key)) {
+                insertChunk(chunk, chainLengths, written);
+                inChunk.clear();
+                inChunk.add(key);
+            }
+            ChainHead previous = written.containsKey(key) ? written.get(key) : chains.get(key);
+            if (previous == null || previous.chainLength() + 1 >= auditSnapshotService.getKeyframeInterval()) {
+                auditSnapshotService.encodeFull(entry, state);
+                chainLengths.add(0);
+            } else {
+                auditSnapshotService.encodeDiff(entry, previous.auditLogId(),
+                        auditSnapshotService.diff(previous.state(), state));
+                chainLengths.add(previous.chainLength() + 1);
+            }
+            chunk.add(entry);
+        }
+        insertChunk(chunk, chainLengths, written);
+    }
+
+    private void insertChunk(List<AuditLog> chunk, List<Integer> chainLengths, Map<String, ChainHead> written) {
+        auditLogBatchRepository.insertAll(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            AuditLog entry = chunk.get(i);
+            if (chainLengths.get(i) != null) {
+                written.put(chainKey(entry),
+                        new ChainHead(entry.getId(), entry.getCapturedState(), chainLengths.get(i)));
+            }
+        }
+        chunk.clear();
+        chainLengths.clear();
+    }
+
+    private static String chainKey(AuditLog entry) {
+        return entry.getEntityType() + ":" + entry.getEntityId();
+    }
+
+    private void spill(List<AuditLog> entries) {
+        StringBuilder lines = new StringBuilder();
+        for (AuditLog entry : entries) {
+            try {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            } catch (JsonProcessingException e) {
+                log.error("[AUDIT_FAILURE] Cannot serialise audit entry for {} {}; dropped",
+                        entry.getEntityType(), entry.getEntityId(), e);
+            }
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        synchronized (spillLock) {
+            try {
+                if (currentSpillFile == null) {
+                    currentSpillFile = spillDir.resolve(
+                            SPILL_PREFIX + System.currentTimeMillis() + "-" + spillSequence.incrementAndGet()
+                                    + SPILL_SUFFIX);
+                }
+                try (FileChannel channel = FileChannel.open(currentSpillFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    channel.force(true);
+                }
+            } catch (IOException e) {
+                log.error("[AUDIT_FAILURE] Cannot spill {} audit entries to {}", entries.size(), spillDir, e);
+                throw new UncheckedIOException(e);
+            }
+        }
+        spilledEntries.addAndGet(entries.size());
+    }
+
+    private void replaySpillFilesIfDue() {
+        long now = System.nanoTime();
+        if (now - lastReplayAttempt < spillRetryInterval.toNanos()) {
+            return;
+        }
+        lastReplayAttempt = now;
+
+        List<Path> files = new ArrayList<>();
+        synchronized (spillLock) {
+            // New spills go to a fresh file while the closed ones are replayed
+            currentSpillFile = null;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDir, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+                stream.forEach(files::add);
+            } catch (IOException e) {
+                log.error("[AUDIT_FAILURE] Cannot list audit spill directory {}", spillDir, e);
+                return;
+            }
+        }
+        files.sort(null);
+        for (Path file : files) {
+            if (!replay(file)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the database is still refusing writes
+     */
+    private boolean replay(Path file) {
+        List<AuditLog> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    entries.add(objectMapper.readValue(line, AuditLog.class));
+                }
+            }
+        } catch (IOException e) {
+            log.error("[AUDIT_FAILURE] Cannot read audit spill file {}; setting it aside for inspection", file, e);
+            setAside(file);
+            return true;
+        }
+
+        for (AuditLog entry : entries) {
+            if (entry.getCapturedState() != null) {
+                auditSnapshotService.encodeFull(entry, entry.getCapturedState());
+            }
+        }
+        try {
+            // One transaction per file, so a failed replay leaves nothing behind to duplicate
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    auditLogBatchRepository.insertAll(entries.subList(from, Math.min(entries.size(), from + batchSize)));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("[AUDIT_FAILURE] Replay of {} failed, will retry: {}", file, e.getMessage());
+            return false;
+        }
+
+        try {
+            Files.delete(file);
+            log.info("[AUDIT] Replayed {} spilled audit entries from {}", entries.size(), file.getFileName());
+        } catch (IOException e) {
+            log.error("[AUDIT_FAILURE] Replayed {} but cannot delete it; its entries may be written again",
+                    file, e);
+        }
+        return true;
+    }
+
+    private record ChainHead(Long auditLogId, ObjectNode state, int chainLength) {
+    }
+
+    private static void setAside(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".failed"));
+        } catch (IOException e) {
+            log.error("[AUDIT_FAILURE] Cannot rename unreadable audit spill file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Transient;
+import org.example.QuanLyMuaVu.DTO.Response.AuditSnapshotResponse;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact audit snapshots.
+ * <p>
+ * An entity is captured as a flat JSON object of its columns, with
+ * associations reduced to their ids ({@code owner} becomes {@code ownerId}),
+ * instead of a dump of the whole entity graph. The first entry of an entity,
+ * and every {@code audit.keyframe-interval}-th after it, stores that object
+ * in full ({@link AuditLog#FORMAT_FULL}); the others store only the fields
+ * that changed since the entry they name as their base
+ * ({@link AuditLog#FORMAT_DIFF}, removed fields as null). Both are gzipped.
+ * <p>
+ * The audit log id serves as the version: {@link #reconstruct} follows the
+ * base links back to a keyframe and replays the diffs forward, reading
+ * archived entries from {@link AuditArchiveStore} where the chain leaves the
+ * live table.
+ */
+@Service
+public class AuditSnapshotService {
+
+    private final ObjectMapper objectMapper;
+    private final PersistenceUnitUtil persistenceUnitUtil;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditArchiveStore archiveStore;
+    private final int keyframeInterval;
+
+    public AuditSnapshotService(
+            ObjectMapper objectMapper,
+            EntityManagerFactory entityManagerFactory,
+            AuditLogRepository auditLogRepository,
+            AuditArchiveStore archiveStore,
+            @Value("${audit.keyframe-interval:20}") int keyframeInterval) {
+        this.objectMapper = objectMapper;
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.auditLogRepository = auditLogRepository;
+        this.archiveStore = archiveStore;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Flat snapshot of the entity's persistent fields. To-one associations
+     * are stored as {@code <field>Id}; collections are left out.
+     */
+    public ObjectNode capture(Object entity) {
+        ObjectNode state = objectMapper.createObjectNode();
+        for (Class<?> type = entity.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isSynthetic()
+                        || Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(Transient.class)
+                        || field.isAnnotationPresent(OneToMany.class)
+                        || field.isAnnotationPresent(ManyToMany.class)) {
+                    continue;
+                }
+                Object value = read(field, entity);
+                if (field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)) {
+                    state.set(field.getName() + "Id", objectMapper.valueToTree(
+                            value != null ? persistenceUnitUtil.getIdentifier(value) : null));
+                } else {
+                    state.set(field.getName(), objectMapper.valueToTree(value));
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Fields of {@code current} that differ from {@code previous}; fields
+     * that disappeared are set to null.
+     */
+    public ObjectNode diff(ObjectNode previous, ObjectNode current) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> field : current.properties()) {
+            if (!field.getValue().equals(previous.get(field.getKey()))) {
+                changes.set(field.getKey(), field.getValue());
+            }
+        }
+        previous.fieldNames().forEachRemaining(name -> {
+            if (!current.has(name)) {
+                changes.set(name, NullNode.getInstance());
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * Marks {@code entry} as a keyframe holding {@code state}.
+     */
+    public void encodeFull(AuditLog entry, ObjectNode state) {
+        entry.setSnapshotFormat(AuditLog.FORMAT_FULL);
+        entry.setBaseAuditLogId(null);
+        entry.setSnapshotBlob(compress(state));
+    }
+
+    public void encodeDiff(AuditLog entry, Long baseAuditLogId, ObjectNode changes) {
+        entry.setSnapshotFormat(AuditLog.FORMAT_DIFF);
+        entry.setBaseAuditLogId(baseAuditLogId);
+        entry.setSnapshotBlob(compress(changes));
+    }
+
+    /**
+     * Entity state as recorded by the audit entry {@code auditLogId}.
+     * Entries written before compact snapshots return their stored JSON.
+     */
+    @Transactional(readOnly = true)
+    public AuditSnapshotResponse reconstruct(Long auditLogId) {
+        AuditLog target = auditLogRepository.findById(auditLogId)
+                .or(() -> archiveStore.findById(auditLogId))
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        return AuditSnapshotResponse.builder()
+                .auditLogId(target.getId())
+                .entityType(target.getEntityType())
+                .entityId(target.getEntityId())
+                .operation(target.getOperation())
+                .performedBy(target.getPerformedBy())
+                .performedAt(target.getPerformedAt())
+                .snapshot(stateAt(target))
+                .build();
+    }
+
+    private JsonNode stateAt(AuditLog target) {
+        if (target.getSnapshotFormat() == null) {
+            return parseLegacy(target.getSnapshotDataJson());
+        }
+        Deque<AuditLog> diffs = new ArrayDeque<>();
+        Map<Long, AuditLog> archived = null;
+        AuditLog entry = target;
+        while (AuditLog.FORMAT_DIFF.equals(entry.getSnapshotFormat())) {
+            diffs.push(entry);
+            Optional<AuditLog> base = auditLogRepository.findById(entry.getBaseAuditLogId());
+            if (base.isEmpty()) {
+                // The chain continues into an archived partition
+                if (archived == null) {
+                    archived = new HashMap<>();
+                    for (AuditLog old : archiveStore.find(target.getEntityType(), target.getEntityId())) {
+                        archived.put(old.getId(), old);
+                    }
+                }
+                base = Optional.ofNullable(archived.get(entry.getBaseAuditLogId()));
+            }
+            entry = base.orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        }
+        ObjectNode state = decompress(entry.getSnapshotBlob());
+        while (!diffs.isEmpty()) {
+            apply(state, decompress(diffs.pop().getSnapshotBlob()));
+        }
+        return state;
+    }
+
+    private static void apply(ObjectNode state, ObjectNode changes) {
+        for (Map.Entry<String, JsonNode> field : changes.properties()) {
+            state.set(field.getKey(), field.getValue());
+        }
+    }
+
+    private JsonNode parseLegacy(String json) {
+        if (json == null) {
+            return NullNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] compress(ObjectNode state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, state);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ObjectNode decompress(byte[] blob) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(blob))) {
+            return (ObjectNode) objectMapper.readTree(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object read(Field field, Object entity) {
+        try {
+            field.setAccessible(true);
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read " + field, e);
+        }
+    }
+}
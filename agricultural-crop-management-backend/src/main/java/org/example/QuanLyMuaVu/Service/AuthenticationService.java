@@ -8,8 +8,6 @@ import java.util.StringJoiner;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -19,12 +17,11 @@ import org.example.QuanLyMuaVu.DTO.Request.LogoutRequest;
 import org.example.QuanLyMuaVu.DTO.Request.RefreshRequest;
 import org.example.QuanLyMuaVu.DTO.Response.AuthenticationResponse;
 import org.example.QuanLyMuaVu.DTO.Response.IntrospectResponse;
-import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
+import org.example.QuanLyMuaVu.DTO.Response.LoginLoadStatsResponse;
 import org.example.QuanLyMuaVu.Entity.Role;
 import org.example.QuanLyMuaVu.Entity.User;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
-import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
 import org.example.QuanLyMuaVu.Repository.UserRepository;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
@@ -44,7 +41,9 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuthenticationService {
     UserRepository userRepository;
-    InvalidatedTokenRepository invalidatedTokenRepository;
+    TokenRevocationService tokenRevocationService;
+    PasswordHashingService passwordHashingService;
+    LoginThrottleService loginThrottleService;
 
     @NonFinal
     @Value("${jwt.signerKey}")
@@ -75,21 +74,28 @@ public class AuthenticationService {
         return IntrospectResponse.builder().valid(isValid).build();
     }
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
+    /**
+     * Signs the user in. Attempts are throttled per username and client IP
+     * before any lookup, and the password is checked on the bounded hashing
+     * pool of {@link PasswordHashingService}.
+     */
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
         log.info("Authentication attempt for user: {}", request.getUsername());
-        
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+
+        loginThrottleService.acquire(request.getUsername(), clientIp);
         var user = userRepository
                 .findByUsername(request.getUsername())
                 .orElseThrow(() -> {
                     log.warn("Authentication failed - user not found: {}", request.getUsername());
+                    loginThrottleService.recordFailure(request.getUsername());
                     return new AppException(ErrorCode.USER_NOT_FOUND);
                 });
 
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean authenticated = passwordHashingService.matches(request.getPassword(), user.getPassword());
 
         if (!authenticated) {
             log.warn("Authentication failed - invalid credentials for user: {}", request.getUsername());
+            loginThrottleService.recordFailure(request.getUsername());
             throw new AppException(ErrorCode.INVALID_CREDENTIALS);
         }
 
@@ -104,6 +110,16 @@ public class AuthenticationService {
                 .build();
     }
 
+    public LoginLoadStatsResponse getLoginLoadStats() {
+        return LoginLoadStatsResponse.builder()
+                .hashing(passwordHashingService.getStats())
+                .throttledByUsername(loginThrottleService.getThrottledByUsername())
+                .throttledByIp(loginThrottleService.getThrottledByIp())
+                .trackedUsernames(loginThrottleService.getTrackedUsernames())
+                .trackedIps(loginThrottleService.getTrackedIps())
+                .build();
+    }
+
     public void logout(LogoutRequest request) throws ParseException, JOSEException {
         log.info("Logout attempt for token: {}", request.getToken().substring(0, Math.min(20, request.getToken().length())) + "...");
         
@@ -111,12 +127,8 @@ public class AuthenticationService {
             var signToken = verifyToken(request.getToken(), true);
 
             String jit = signToken.getJWTClaimsSet().getJWTID();
-            Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken =
-                    InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
-
-            invalidatedTokenRepository.save(invalidatedToken);
+            tokenRevocationService.revoke(jit, usableUntil(signToken.getJWTClaimsSet()));
             log.info("Token invalidated successfully - JIT: {}", jit);
         } catch (AppException exception) {
             log.info("Logout - Token already expired or invalid");
@@ -129,12 +141,8 @@ public class AuthenticationService {
         var signedJWT = verifyToken(request.getToken(), true);
 
         var jit = signedJWT.getJWTClaimsSet().getJWTID();
-        var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-
-        InvalidatedToken invalidatedToken =
-                InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
 
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationService.revoke(jit, usableUntil(signedJWT.getJWTClaimsSet()));
         log.debug("Old token invalidated - JIT: {}", jit);
 
         var username = signedJWT.getJWTClaimsSet().getSubject();
@@ -185,6 +193,19 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Last moment the token is accepted anywhere: its {@code exp}, or the end
+     * of its refresh window if that is later. A revocation must be kept until
+     * then, or the token could be refreshed again.
+     */
+    private Date usableUntil(JWTClaimsSet claims) {
+        Date expiry = claims.getExpirationTime();
+        Date refreshableUntil = new Date(claims.getIssueTime().toInstant()
+                .plus(REFRESHABLE_DURATION, ChronoUnit.SECONDS)
+                .toEpochMilli());
+        return expiry != null && expiry.after(refreshableUntil) ? expiry : refreshableUntil;
+    }
+
     private SignedJWT verifyToken(String token, boolean isRefresh) throws JOSEException, ParseException {
         log.debug("Verifying token - isRefresh: {}", isRefresh);
         
@@ -208,7 +229,7 @@ public class AuthenticationService {
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+        if (tokenRevocationService.isRevoked(signedJWT.getJWTClaimsSet().getJWTID())) {
             log.warn("Token is invalidated - JIT: {}", signedJWT.getJWTClaimsSet().getJWTID());
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
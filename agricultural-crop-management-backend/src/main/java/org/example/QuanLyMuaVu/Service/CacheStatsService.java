@@ -0,0 +1,72 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Response.CacheStatsResponse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reports the statistics recorded by the Caffeine caches of
+ * {@code CacheConfig}.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CacheStatsService {
+
+    CacheManager cacheManager;
+
+    public List<CacheStatsResponse> getAllStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::toStats)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Drops every entry of the named cache; the counters are kept.
+     */
+    public void clear(String name) {
+        // Checked first: looking up an unknown name would create the cache
+        if (!cacheManager.getCacheNames().contains(name)) {
+            throw new AppException(ErrorCode.RESOURCE_NOT_FOUND);
+        }
+        cacheManager.getCache(name).clear();
+    }
+
+    private CacheStatsResponse toStats(String name) {
+        if (!(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+        Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        Policy<Object, Object> policy = nativeCache.policy();
+
+        return CacheStatsResponse.builder()
+                .name(name)
+                .estimatedSize(nativeCache.estimatedSize())
+                .maximumSize(policy.eviction().map(eviction -> eviction.getMaximum()).orElse(null))
+                .expireAfterWriteSeconds(policy.expireAfterWrite()
+                        .map(expiration -> expiration.getExpiresAfter().toSeconds())
+                        .orElse(null))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Config.FarmSecurityProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client IP address of a request, for audit trails and per-IP throttling.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ClientIpResolver {
+
+    FarmSecurityProperties farmSecurityProperties;
+
+    /**
+     * Extract client IP address from HTTP request with security hardening.
+     * 
+     * Security Strategy:
+     * 1. Only trust X-Forwarded-For header if trustProxyHeaders is enabled
+     * 2. Only trust X-Forwarded-For if request comes from a trusted proxy IP
+     * 3. Otherwise, use direct remoteAddr (prevents client spoofing)
+     * 
+     * Configuration (application.yaml):
+     * 
+     * <pre>
+     * farm:
+     *   security:
+     *     trust-proxy-headers: true  # Enable only in production behind proxy
+     *     trusted-proxy-ips:         # Optional: restrict by proxy IP
+     *       - "10.0.0.1"
+     *       - "172.16.0.0/12"
+     * </pre>
+     * 
+     * Why this matters:
+     * - Without proper validation, malicious clients can spoof X-Forwarded-For
+     * - This would bypass IP-based audit trails, login throttling and security logging
+     * - Production deployments behind AWS ELB, nginx, etc. need this enabled
+     * - Development/testing should keep it disabled to prevent spoofing
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+
+        // Only trust X-Forwarded-For if configured to do so
+        if (!farmSecurityProperties.isTrustProxyHeaders()) {
+            return remoteAddr;
+        }
+
+        // Check if request is from a trusted proxy
+        if (!farmSecurityProperties.isTrustedProxy(remoteAddr)) {
+            // Request is not from trusted proxy, don't trust X-Forwarded-For
+            return remoteAddr;
+        }
+
+        // Request is from trusted proxy, we can trust X-Forwarded-For
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            // X-Forwarded-For can contain multiple IPs (client, proxy1, proxy2, ...)
+            // Get the first IP which is the original client
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        // No X-Forwarded-For header, use remote address
+        return remoteAddr;
+    }
+}
@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Constant.CacheNames;
 import org.example.QuanLyMuaVu.DTO.Request.CropRequest;
 import org.example.QuanLyMuaVu.DTO.Response.CropResponse;
 import org.example.QuanLyMuaVu.Entity.Crop;
@@ -10,6 +11,9 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.CropMapper;
 import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,7 @@ public class CropService {
     CropRepository cropRepository;
     CropMapper cropMapper;
 
+    @CacheEvict(value = CacheNames.CROPS, allEntries = true)
     public CropResponse create(CropRequest request) {
         if (cropRepository.existsByCropNameIgnoreCase(request.getCropName())) {
             throw new AppException(ErrorCode.DUPLICATE_RESOURCE);
@@ -31,16 +36,28 @@ public class CropService {
         return cropMapper.toResponse(cropRepository.save(crop));
     }
 
+    @Cacheable(value = CacheNames.CROPS, key = "'all'")
+    @Transactional(readOnly = true)
     public List<CropResponse> getAll() {
         return cropRepository.findAll().stream().map(cropMapper::toResponse).toList();
     }
 
+    @Cacheable(value = CacheNames.CROP, key = "#id")
+    @Transactional(readOnly = true)
     public CropResponse getById(Integer id) {
         return cropRepository.findById(id)
                 .map(cropMapper::toResponse)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
     }
 
+    /**
+     * Varieties carry the crop name, so their caches are dropped as well.
+     */
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.CROPS, allEntries = true),
+            @CacheEvict(value = CacheNames.CROP, key = "#id"),
+            @CacheEvict(value = { CacheNames.VARIETY, CacheNames.VARIETIES_BY_CROP }, allEntries = true)
+    })
     public CropResponse update(Integer id, CropRequest request) {
         Crop crop = cropRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -54,6 +71,11 @@ public class CropService {
         return cropMapper.toResponse(cropRepository.save(crop));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.CROPS, allEntries = true),
+            @CacheEvict(value = CacheNames.CROP, key = "#id"),
+            @CacheEvict(value = { CacheNames.VARIETY, CacheNames.VARIETIES_BY_CROP }, allEntries = true)
+    })
     public void delete(Integer id) {
         Crop crop = cropRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -0,0 +1,80 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Util.RequestScopedCache;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Resolves the authenticated {@link User} once per HTTP request.
+ * <p>
+ * The user (with roles) is loaded on first use and kept in
+ * {@link RequestScopedCache}, so every authorization check, service call and the JPA auditor
+ * of the same request share one lookup. The attribute is keyed by username,
+ * so a different principal within the same request is never served a stale
+ * user. Outside a web request (scheduled jobs, startup) each call loads the
+ * user directly.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CurrentUserService {
+
+    UserRepository userRepository;
+
+    /**
+     * @throws AppException {@link ErrorCode#UNAUTHENTICATED} when no user is
+     *                      logged in, {@link ErrorCode#USER_NOT_FOUND} when the
+     *                      principal no longer exists
+     */
+    public User getCurrentUser() {
+        String username = currentUsername()
+                .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
+        return findByUsername(username)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+    }
+
+    /**
+     * Id of the authenticated user, or empty for anonymous calls.
+     */
+    public Optional<Long> findCurrentUserId() {
+        return currentUsername()
+                .flatMap(this::findByUsername)
+                .map(User::getId);
+    }
+
+    /**
+     * Username of the authenticated user, or empty for anonymous calls and
+     * background jobs. Does not touch the database.
+     */
+    public Optional<String> findCurrentUsername() {
+        return currentUsername();
+    }
+
+    private Optional<String> currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || authentication.getName() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(authentication.getName());
+    }
+
+    private Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(RequestScopedCache.computeIfAbsent(
+                "user." + username,
+                () -> userRepository.findByUsernameWithRoles(username).orElse(null)));
+    }
+}
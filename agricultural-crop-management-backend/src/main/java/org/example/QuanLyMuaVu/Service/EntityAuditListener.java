@@ -0,0 +1,167 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.AuditLog;
+import org.example.QuanLyMuaVu.Entity.AuditedEntity;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Audits every entity marked {@link AuditedEntity} from Hibernate's
+ * post-commit insert, update and delete events, so services need no explicit
+ * audit calls and rolled back changes leave no entries.
+ * <p>
+ * The only work on the committing thread is a flat capture of the entity;
+ * the entry then goes to {@link AuditLogWriter}, which batches the inserts
+ * and stores each update as the fields changed since the entity's previous
+ * entry.
+ * <p>
+ * Rows written around Hibernate (JDBC batches) raise no such events; their
+ * writers call {@link #auditInsertsAfterCommit} instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityAuditListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    static final String SYSTEM_USER = "system";
+
+    EntityManagerFactory entityManagerFactory;
+    AuditSnapshotService auditSnapshotService;
+    AuditLogWriter auditLogWriter;
+    CurrentUserService currentUserService;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass().isAnnotationPresent(AuditedEntity.class);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        submit(event.getPersister(), event.getEntity(), event.getId(), "CREATE");
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty != null && dirty.length == 0) {
+            return;
+        }
+        submit(event.getPersister(), event.getEntity(), event.getId(), "UPDATE");
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        submit(event.getPersister(), event.getEntity(), event.getId(), "DELETE");
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back: nothing happened, so there is nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Audits entities inserted with JDBC in the current transaction. They are
+     * captured now and their CREATE entries submitted once the transaction
+     * commits, like the entries of Hibernate-managed inserts.
+     */
+    public void auditInsertsAfterCommit(Collection<?> entities) {
+        List<AuditLog> entries = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            AuditedEntity audited = entity.getClass().getAnnotation(AuditedEntity.class);
+            Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+            if (audited == null || !(id instanceof Number number)) {
+                continue;
+            }
+            try {
+                entries.add(entry(audited, number, "CREATE", entity));
+            } catch (RuntimeException e) {
+                // Never fail the insert over its audit entry
+                log.error("[AUDIT_FAILURE] Failed to capture CREATE of {} {}: {}",
+                        audited.value(), id, e.getMessage(), e);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (AuditLog entry : entries) {
+                    try {
+                        auditLogWriter.submit(entry);
+                    } catch (RuntimeException e) {
+                        log.error("[AUDIT_FAILURE] Failed to audit CREATE of {} {}: {}",
+                                entry.getEntityType(), entry.getEntityId(), e.getMessage(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    private void submit(EntityPersister persister, Object entity, Object id, String operation) {
+        AuditedEntity audited = persister.getMappedClass().getAnnotation(AuditedEntity.class);
+        if (audited == null || !(id instanceof Number number)) {
+            return;
+        }
+        try {
+            auditLogWriter.submit(entry(audited, number, operation, entity));
+        } catch (RuntimeException e) {
+            // The change is already committed; never fail the caller over its audit entry
+            log.error("[AUDIT_FAILURE] Failed to audit {} of {} {}: {}",
+                    operation, audited.value(), id, e.getMessage(), e);
+        }
+    }
+
+    private AuditLog entry(AuditedEntity audited, Number id, String operation, Object entity) {
+        return AuditLog.builder()
+                .entityType(audited.value())
+                .entityId(id.intValue())
+                .operation(operation)
+                .performedBy(currentUserService.findCurrentUsername().orElse(SYSTEM_USER))
+                .performedAt(LocalDateTime.now())
+                .capturedState(auditSnapshotService.capture(entity))
+                .build();
+    }
+}
@@ -11,12 +11,16 @@ import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.FarmRepository;
-import org.example.QuanLyMuaVu.Repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.example.QuanLyMuaVu.Repository.PlotRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Util.RequestScopedCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Centralized helper for farm-level authorization, ensuring that only farm
@@ -35,30 +39,59 @@ import java.util.List;
 public class FarmAccessService {
 
     FarmRepository farmRepository;
-    UserRepository userRepository;
+    PlotRepository plotRepository;
+    SeasonRepository seasonRepository;
+    CurrentUserService currentUserService;
 
+    /**
+     * Current user, resolved at most once per request by
+     * {@link CurrentUserService}.
+     */
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+        return currentUserService.getCurrentUser();
     }
 
     /**
-     * Returns IDs of farms where the current user is the owner.
+     * Returns IDs of farms where the current user is the owner. Loaded once per
+     * request.
      */
     public List<Integer> getAccessibleFarmIdsForCurrentUser() {
         User currentUser = getCurrentUser();
+        return RequestScopedCache.computeIfAbsent(
+                "accessibleFarmIds." + currentUser.getId(),
+                () -> List.copyOf(farmRepository.findIdsByOwnerId(currentUser.getId())));
+    }
 
-        List<Farm> ownerFarms = farmRepository.findAllByOwner(currentUser);
+    /**
+     * Returns the subset of {@code seasonIds} the current user may access, in
+     * request order, with one query against farm ownership. Unknown ids are
+     * dropped like inaccessible ones.
+     */
+    public Set<Integer> filterAccessibleSeasonIds(Collection<Integer> seasonIds) {
+        Set<Integer> requested = distinctIds(seasonIds);
+        if (requested.isEmpty()) {
+            return requested;
+        }
+        requested.retainAll(seasonRepository.findAccessibleIds(requested, getCurrentUser().getId()));
+        return requested;
+    }
 
-        return ownerFarms.stream()
-                .map(Farm::getId)
-                .filter(id -> id != null)
-                .toList();
+    /**
+     * Asserts that every plot in {@code plotIds} exists and is accessible to the
+     * current user, with one query against farm ownership.
+     *
+     * @throws AppException {@link ErrorCode#FORBIDDEN} if any plot is missing or
+     *                      belongs to someone else
+     */
+    public void assertCurrentUserCanAccessPlots(Collection<Integer> plotIds) {
+        Set<Integer> requested = distinctIds(plotIds);
+        if (requested.isEmpty()) {
+            return;
+        }
+        List<Integer> accessible = plotRepository.findAccessibleIds(requested, getCurrentUser().getId());
+        if (accessible.size() != requested.size()) {
+            throw new AppException(ErrorCode.FORBIDDEN);
+        }
     }
 
     public void assertCurrentUserCanAccessFarm(Farm farm) {
@@ -116,4 +149,12 @@ public class FarmAccessService {
         }
         assertCurrentUserCanAccessFarm(farm);
     }
+
+    private static Set<Integer> distinctIds(Collection<Integer> ids) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
 }
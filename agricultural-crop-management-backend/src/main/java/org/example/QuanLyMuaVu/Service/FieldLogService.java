@@ -14,18 +14,16 @@ import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.FieldLogRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRecordSpecifications;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +31,8 @@ import java.util.List;
 @Transactional
 public class FieldLogService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "logDate", "logType", "createdAt");
+
     FieldLogRepository fieldLogRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
@@ -42,47 +42,40 @@ public class FieldLogService {
             LocalDate from,
             LocalDate to,
             String type,
+            String sort,
             int page,
             int size
     ) {
         Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findPage(
+                fieldLogRepository,
+                fieldLogFilter(season, from, to, type),
+                page,
+                size,
+                PageQueryUtils.resolveSort(sort, SORTABLE_FIELDS),
+                this::toResponse);
+    }
 
-        List<FieldLog> all = fieldLogRepository.findAllBySeason_Id(season.getId());
-
-        String typeFilter = type != null ? type.trim().toLowerCase() : null;
-
-        List<FieldLogResponse> items = all.stream()
-                .filter(log -> {
-                    if (from == null && to == null) {
-                        return true;
-                    }
-                    LocalDate date = log.getLogDate();
-                    boolean afterFrom = from == null || !date.isBefore(from);
-                    boolean beforeTo = to == null || !date.isAfter(to);
-                    return afterFrom && beforeTo;
-                })
-                .filter(log -> {
-                    if (typeFilter == null || typeFilter.isBlank()) {
-                        return true;
-                    }
-                    return log.getLogType() != null
-                            && log.getLogType().toLowerCase().contains(typeFilter);
-                })
-                .sorted((l1, l2) -> Integer.compare(
-                        l2.getId() != null ? l2.getId() : 0,
-                        l1.getId() != null ? l1.getId() : 0))
-                .map(this::toResponse)
-                .toList();
-
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, items.size());
-        List<FieldLogResponse> pageItems =
-                fromIndex >= items.size() ? List.of() : items.subList(fromIndex, toIndex);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<FieldLogResponse> pageData = new PageImpl<>(pageItems, pageable, items.size());
-
-        return PageResponse.of(pageData, pageItems);
+    /**
+     * Cursor-mode variant of {@link #listFieldLogsForSeason}: newest first,
+     * starting below the {@code after} field log id.
+     */
+    public PageResponse<FieldLogResponse> scrollFieldLogsForSeason(
+            Integer seasonId,
+            LocalDate from,
+            LocalDate to,
+            String type,
+            Integer after,
+            int limit
+    ) {
+        Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findSlice(
+                fieldLogRepository,
+                fieldLogFilter(season, from, to, type),
+                after,
+                limit,
+                FieldLog::getId,
+                this::toResponse);
     }
 
     public FieldLogResponse createFieldLog(Integer seasonId, CreateFieldLogRequest request) {
@@ -128,6 +121,13 @@ public class FieldLogService {
         fieldLogRepository.delete(log);
     }
 
+    private Specification<FieldLog> fieldLogFilter(Season season, LocalDate from, LocalDate to, String type) {
+        return Specification.allOf(
+                SeasonRecordSpecifications.ofSeason(season.getId()),
+                SeasonRecordSpecifications.dateBetween("logDate", from, to),
+                SeasonRecordSpecifications.containsIgnoreCase("logType", type));
+    }
+
     private void ensureSeasonOpenForLogs(Season season, boolean forCreate) {
         if (season == null) {
             throw new AppException(ErrorCode.SEASON_NOT_FOUND);
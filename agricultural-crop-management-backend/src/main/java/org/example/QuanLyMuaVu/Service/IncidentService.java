@@ -13,6 +13,8 @@ import org.example.QuanLyMuaVu.Enums.IncidentSeverity;
 import org.example.QuanLyMuaVu.Enums.IncidentStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Pattern.Observer.DomainEventOutbox;
+import org.example.QuanLyMuaVu.Pattern.Observer.IncidentReportedEvent;
 import org.example.QuanLyMuaVu.Repository.IncidentRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.springframework.stereotype.Service;
@@ -30,6 +32,7 @@ public class IncidentService {
     IncidentRepository incidentRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
+    DomainEventOutbox domainEventOutbox;
 
     public List<IncidentResponse> listBySeason(Integer seasonId) {
         Season season = getSeasonForCurrentFarmer(seasonId);
@@ -55,6 +58,7 @@ public class IncidentService {
                 .build();
 
         Incident saved = incidentRepository.save(incident);
+        domainEventOutbox.record(new IncidentReportedEvent(saved));
         return toResponse(saved);
     }
 
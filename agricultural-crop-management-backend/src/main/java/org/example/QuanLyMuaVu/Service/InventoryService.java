@@ -3,21 +3,30 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Request.IssueStockRequest;
+import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementBatchRequest;
 import org.example.QuanLyMuaVu.DTO.Request.RecordStockMovementRequest;
+import org.example.QuanLyMuaVu.DTO.Response.LotStockResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockIssueResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockMovementBatchResponse;
 import org.example.QuanLyMuaVu.DTO.Response.StockMovementResponse;
 import org.example.QuanLyMuaVu.Entity.Farm;
 import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
 import org.example.QuanLyMuaVu.Entity.StockLocation;
 import org.example.QuanLyMuaVu.Entity.StockMovement;
 import org.example.QuanLyMuaVu.Entity.SupplyLot;
-import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Task;
 import org.example.QuanLyMuaVu.Entity.Warehouse;
 import org.example.QuanLyMuaVu.Enums.StockMovementType;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockLedgerBatchRepository;
 import org.example.QuanLyMuaVu.Repository.StockLocationRepository;
 import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyItemRepository;
 import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
 import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
@@ -25,7 +34,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,18 +61,316 @@ public class InventoryService {
     SeasonRepository seasonRepository;
     TaskRepository taskRepository;
     FarmAccessService farmAccessService;
+    StockBalanceService stockBalanceService;
+    StockLedgerBatchRepository stockLedgerBatchRepository;
+    StockBalanceRepository stockBalanceRepository;
+    SupplyItemRepository supplyItemRepository;
+    LotAllocationIndex lotAllocationIndex;
+    EntityAuditListener entityAuditListener;
 
     public StockMovementResponse recordMovement(RecordStockMovementRequest request) {
+        StockMovement movement = buildMovement(request, new RepositoryReferences(), LocalDateTime.now());
+        SupplyLot lot = movement.getSupplyLot();
+        Warehouse warehouse = movement.getWarehouse();
+        StockLocation location = movement.getLocation();
+
+        if (movement.getMovementType() == StockMovementType.OUT) {
+            boolean withdrawn = stockBalanceService.withdraw(
+                    lot.getId(), warehouse.getId(), location != null ? location.getId() : null,
+                    movement.getQuantity());
+            if (!withdrawn) {
+                throw new AppException(ErrorCode.BAD_REQUEST);
+            }
+        }
+
+        StockMovement saved = stockMovementRepository.save(movement);
+        if (saved.getMovementType() != StockMovementType.OUT) {
+            // OUT was already taken from the balance by withdraw()
+            stockBalanceService.apply(saved);
+        }
+        return toResponse(saved);
+    }
+
+    /**
+     * Records a list of movements in one transaction and reports a result per
+     * line.
+     * <p>
+     * Referenced warehouses, lots, locations, seasons and tasks are loaded
+     * with one query per type; seasons the user may not access are left out
+     * as if unknown. The balances of every lot taken out are locked
+     * once and the lines are checked against them in request order, so a later
+     * OUT may spend stock received by an earlier line of the same batch.
+     * Accepted lines are written with JDBC batching.
+     */
+    public StockMovementBatchResponse recordMovements(RecordStockMovementBatchRequest request) {
+        return recordMovements(request, null);
+    }
+
+    /**
+     * @param lockedBalances balances already locked by the caller through
+     *                       {@link StockBalanceService#lockBalances}, covering
+     *                       every OUT line; null to lock them here
+     */
+    private StockMovementBatchResponse recordMovements(
+            RecordStockMovementBatchRequest request, Map<StockBalanceId, BigDecimal> lockedBalances) {
+        List<RecordStockMovementRequest> lines = request.getMovements();
+        References references = preload(lines);
+        LocalDateTime now = LocalDateTime.now();
+
+        StockMovementBatchResponse.LineResult[] results = new StockMovementBatchResponse.LineResult[lines.size()];
+        StockMovement[] movements = new StockMovement[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            RecordStockMovementRequest line = lines.get(i);
+            if (!hasRequiredFields(line)) {
+                results[i] = rejected(i, ErrorCode.KEY_INVALID);
+                continue;
+            }
+            try {
+                movements[i] = buildMovement(line, references, now);
+            } catch (AppException e) {
+                results[i] = rejected(i, e.getErrorCode());
+            } catch (IllegalArgumentException e) {
+                // Unknown movement type
+                results[i] = rejected(i, ErrorCode.BAD_REQUEST);
+            }
+        }
+
+        Map<StockBalanceId, BigDecimal> balances = lockedBalances != null
+                ? lockedBalances
+                : stockBalanceService.lockBalances(Arrays.stream(movements)
+                        .filter(m -> m != null && m.getMovementType() == StockMovementType.OUT)
+                        .map(InventoryService::balanceKey)
+                        .toList());
+        Map<StockBalanceId, BigDecimal> deltas = new HashMap<>();
+        List<StockMovement> accepted = new ArrayList<>();
+        for (int i = 0; i < movements.length; i++) {
+            StockMovement movement = movements[i];
+            if (movement == null) {
+                continue;
+            }
+            StockBalanceId key = balanceKey(movement);
+            if (movement.getMovementType() == StockMovementType.OUT
+                    && available(balances, key).compareTo(movement.getQuantity()) < 0) {
+                results[i] = rejected(i, ErrorCode.BAD_REQUEST);
+                movements[i] = null;
+                continue;
+            }
+            BigDecimal delta = StockBalanceService.delta(movement.getMovementType(), movement.getQuantity());
+            balances.merge(key, delta, BigDecimal::add);
+            deltas.merge(key, delta, BigDecimal::add);
+            accepted.add(movement);
+        }
+
+        boolean abort = request.isAllOrNothing() && accepted.size() < lines.size();
+        if (!abort) {
+            stockLedgerBatchRepository.insertMovements(accepted);
+            stockBalanceService.applyDeltas(deltas);
+            // Written with JDBC, so Hibernate raises no audit events for them
+            entityAuditListener.auditInsertsAfterCommit(accepted);
+        }
+        for (int i = 0; i < movements.length; i++) {
+            if (movements[i] != null) {
+                results[i] = StockMovementBatchResponse.LineResult.builder()
+                        .line(i)
+                        .status(abort ? StockMovementBatchResponse.SKIPPED : StockMovementBatchResponse.RECORDED)
+                        .movement(abort ? null : toResponse(movements[i]))
+                        .build();
+            }
+        }
+
+        return StockMovementBatchResponse.builder()
+                .total(lines.size())
+                .recorded(abort ? 0 : accepted.size())
+                .rejected(lines.size() - accepted.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Issues {@code quantity} of a supply item from a warehouse without the
+     * caller picking lots: stock is taken first-expiry-first-out (lots
+     * without an expiry date last) and the request is split into one OUT
+     * movement per lot and storage location. Expired lots are never issued.
+     * <p>
+     * Candidate lots come from {@link LotAllocationIndex}, or from
+     * {@code stock_balances} when the index does not cover the quantity (it
+     * may lag behind other nodes). The candidates are chosen before anything
+     * is locked; their balances are then locked once, in stripe order, and
+     * the split is computed from and recorded against those locked
+     * quantities. If the indexed lots turn out not to cover the quantity once
+     * locked, the lots are looked up in {@code stock_balances} and locked
+     * again before the request is rejected.
+     */
+    public StockIssueResponse issueStock(IssueStockRequest request) {
         Warehouse warehouse = warehouseRepository.findById(request.getWarehouseId())
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
         ensureWarehouseOwnership(warehouse);
+        if (!supplyItemRepository.existsById(request.getSupplyItemId())) {
+            throw new AppException(ErrorCode.RESOURCE_NOT_FOUND);
+        }
+
+        BigDecimal quantity = request.getQuantity();
+        if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<LotAllocationIndex.LotStock> indexed =
+                lotAllocationIndex.inStock(warehouse.getId(), request.getSupplyItemId(), today);
+        BigDecimal indexedOnHand = indexed.stream()
+                .map(LotAllocationIndex.LotStock::onHand)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        boolean fromIndex = indexedOnHand.compareTo(quantity) >= 0;
+        List<Integer> candidates = fromIndex
+                ? indexed.stream().map(stock -> stock.lot().supplyLotId()).toList()
+                : stockBalanceRepository.findLotIdsInStockFefo(warehouse.getId(), request.getSupplyItemId(), today);
+
+        Map<StockBalanceId, BigDecimal> balances = lockLots(candidates, warehouse.getId());
+        List<RecordStockMovementRequest> lines = allocateFefo(candidates, balances, quantity, request);
+        if (lines == null && fromIndex) {
+            // The index was stale; other lots may still hold the stock
+            candidates = stockBalanceRepository.findLotIdsInStockFefo(
+                    warehouse.getId(), request.getSupplyItemId(), today);
+            balances = lockLots(candidates, warehouse.getId());
+            lines = allocateFefo(candidates, balances, quantity, request);
+        }
+        if (lines == null) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        StockMovementBatchResponse recorded = recordMovements(RecordStockMovementBatchRequest.builder()
+                .movements(lines)
+                .allOrNothing(true)
+                .build(), balances);
+        if (recorded.getRejected() > 0) {
+            // Season or task not valid for this warehouse; nothing was written
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        return StockIssueResponse.builder()
+                .supplyItemId(request.getSupplyItemId())
+                .warehouseId(warehouse.getId())
+                .quantity(quantity)
+                .movements(recorded.getResults().stream()
+                        .map(StockMovementBatchResponse.LineResult::getMovement)
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Unexpired lots of a supply item with stock in a warehouse, in the order
+     * {@link #issueStock} draws from them. Served from
+     * {@link LotAllocationIndex}, so it may trail very recent movements made
+     * on other nodes.
+     */
+    @Transactional(readOnly = true)
+    public List<LotStockResponse> getLotsInStock(Integer warehouseId, Integer supplyItemId) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        ensureWarehouseOwnership(warehouse);
+
+        return lotAllocationIndex.inStock(warehouse.getId(), supplyItemId, LocalDate.now()).stream()
+                .map(stock -> LotStockResponse.builder()
+                        .supplyLotId(stock.lot().supplyLotId())
+                        .batchCode(stock.lot().batchCode())
+                        .expiryDate(stock.lot().expiryDate())
+                        .onHand(stock.onHand())
+                        .build())
+                .toList();
+    }
+
+    private Map<StockBalanceId, BigDecimal> lockLots(List<Integer> lotIds, Integer warehouseId) {
+        return stockBalanceService.lockBalances(lotIds.stream()
+                .map(lotId -> StockBalanceId.of(lotId, warehouseId, null))
+                .toList());
+    }
+
+    /**
+     * Splits {@code quantity} over the lots in the given order using their
+     * balances locked for this transaction. Within a lot, stock is taken from
+     * its balance rows in location order (stock without a location first),
+     * and every OUT line names the location it is taken from, so no balance
+     * row goes negative. Returns null when the lots do not cover the
+     * quantity.
+     */
+    private List<RecordStockMovementRequest> allocateFefo(
+            List<Integer> lotIds,
+            Map<StockBalanceId, BigDecimal> balances,
+            BigDecimal quantity,
+            IssueStockRequest request) {
+        Integer warehouseId = request.getWarehouseId();
+
+        List<RecordStockMovementRequest> lines = new ArrayList<>();
+        BigDecimal remaining = quantity;
+        for (Integer lotId : lotIds) {
+            List<Map.Entry<StockBalanceId, BigDecimal>> rows = balances.entrySet().stream()
+                    .filter(e -> e.getKey().getSupplyLotId().equals(lotId)
+                            && e.getKey().getWarehouseId().equals(warehouseId))
+                    .sorted(Map.Entry.comparingByKey(Comparator.comparing(StockBalanceId::getLocationKey)))
+                    .toList();
+            for (Map.Entry<StockBalanceId, BigDecimal> row : rows) {
+                if (remaining.signum() == 0) {
+                    return lines;
+                }
+                BigDecimal take = row.getValue().min(remaining);
+                if (take.signum() <= 0) {
+                    continue;
+                }
+                int locationKey = row.getKey().getLocationKey();
+                lines.add(RecordStockMovementRequest.builder()
+                        .supplyLotId(lotId)
+                        .warehouseId(warehouseId)
+                        .locationId(locationKey != StockBalanceId.NO_LOCATION ? locationKey : null)
+                        .movementType(StockMovementType.OUT.name())
+                        .quantity(take)
+                        .seasonId(request.getSeasonId())
+                        .taskId(request.getTaskId())
+                        .note(request.getNote())
+                        .build());
+                remaining = remaining.subtract(take);
+            }
+        }
+        return remaining.signum() == 0 ? lines : null;
+    }
+
+    /**
+     * Reads the maintained balance (see {@link StockBalanceService}) instead of
+     * summing the movement ledger.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getOnHandQuantity(Integer supplyLotId, Integer warehouseId, Integer locationId) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        ensureWarehouseOwnership(warehouse);
+
+        SupplyLot lot = supplyLotRepository.findById(supplyLotId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+
+        StockLocation location = null;
+        if (locationId != null) {
+            location = stockLocationRepository.findById(locationId)
+                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        }
 
-        SupplyLot lot = supplyLotRepository.findById(request.getSupplyLotId())
+        return stockBalanceService.getOnHand(
+                lot.getId(), warehouse.getId(), location != null ? location.getId() : null);
+    }
+
+    /**
+     * Resolves and validates a movement request without writing anything.
+     * Shared by the single and batch paths so both enforce the same rules.
+     */
+    private StockMovement buildMovement(RecordStockMovementRequest request, References references, LocalDateTime now) {
+        Warehouse warehouse = references.warehouse(request.getWarehouseId())
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        references.checkAccess(warehouse);
+
+        SupplyLot lot = references.lot(request.getSupplyLotId())
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
 
         StockLocation location = null;
         if (request.getLocationId() != null) {
-            location = stockLocationRepository.findById(request.getLocationId())
+            location = references.location(request.getLocationId())
                     .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
             if (!location.getWarehouse().getId().equals(warehouse.getId())) {
                 throw new AppException(ErrorCode.BAD_REQUEST);
@@ -70,12 +389,12 @@ public class InventoryService {
 
         Season season = null;
         if (request.getSeasonId() != null) {
-            season = seasonRepository.findById(request.getSeasonId())
+            season = references.season(request.getSeasonId())
                     .orElseThrow(() -> new AppException(ErrorCode.SEASON_NOT_FOUND));
         }
 
-        var task = request.getTaskId() != null
-                ? taskRepository.findById(request.getTaskId())
+        Task task = request.getTaskId() != null
+                ? references.task(request.getTaskId())
                 .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND))
                 : null;
 
@@ -98,44 +417,84 @@ public class InventoryService {
             }
         }
 
-        if (type == StockMovementType.OUT) {
-            BigDecimal onHand = stockMovementRepository.calculateOnHandQuantity(lot, warehouse, location);
-            if (onHand.compareTo(quantity) < 0) {
-                throw new AppException(ErrorCode.BAD_REQUEST);
-            }
-        }
-
-        StockMovement movement = StockMovement.builder()
+        return StockMovement.builder()
                 .supplyLot(lot)
                 .warehouse(warehouse)
                 .location(location)
                 .movementType(type)
                 .quantity(quantity)
-                .movementDate(LocalDateTime.now())
+                .movementDate(now)
                 .season(season)
                 .task(task)
                 .note(request.getNote())
                 .build();
+    }
 
-        StockMovement saved = stockMovementRepository.save(movement);
-        return toResponse(saved);
+    private References preload(List<RecordStockMovementRequest> lines) {
+        return new PreloadedReferences(
+                byId(warehouseRepository.findAllById(ids(lines, RecordStockMovementRequest::getWarehouseId)),
+                        Warehouse::getId),
+                byId(supplyLotRepository.findAllById(ids(lines, RecordStockMovementRequest::getSupplyLotId)),
+                        SupplyLot::getId),
+                byId(stockLocationRepository.findAllById(ids(lines, RecordStockMovementRequest::getLocationId)),
+                        StockLocation::getId),
+                byId(seasonRepository.findAllById(farmAccessService.filterAccessibleSeasonIds(
+                        ids(lines, RecordStockMovementRequest::getSeasonId))), Season::getId),
+                byId(taskRepository.findAllById(ids(lines, RecordStockMovementRequest::getTaskId)),
+                        Task::getId),
+                Set.copyOf(farmAccessService.getAccessibleFarmIdsForCurrentUser()));
     }
 
-    public BigDecimal getOnHandQuantity(Integer supplyLotId, Integer warehouseId, Integer locationId) {
-        Warehouse warehouse = warehouseRepository.findById(warehouseId)
-                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-        ensureWarehouseOwnership(warehouse);
+    private static Set<Integer> ids(
+            List<RecordStockMovementRequest> lines, Function<RecordStockMovementRequest, Integer> id) {
+        return lines.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
 
-        SupplyLot lot = supplyLotRepository.findById(supplyLotId)
-                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+    private static <T> Map<Integer, T> byId(List<T> rows, Function<T, Integer> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
 
-        StockLocation location = null;
-        if (locationId != null) {
-            location = stockLocationRepository.findById(locationId)
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+    private static boolean hasRequiredFields(RecordStockMovementRequest line) {
+        return line != null
+                && line.getSupplyLotId() != null
+                && line.getWarehouseId() != null
+                && line.getMovementType() != null && !line.getMovementType().isBlank()
+                && line.getQuantity() != null;
+    }
+
+    private static StockBalanceId balanceKey(StockMovement movement) {
+        return StockBalanceId.of(
+                movement.getSupplyLot().getId(),
+                movement.getWarehouse().getId(),
+                movement.getLocation() != null ? movement.getLocation().getId() : null);
+    }
+
+    /**
+     * Stock an OUT for {@code key} may take: the location's balance, or the
+     * total over all locations when the movement has none.
+     */
+    private static BigDecimal available(Map<StockBalanceId, BigDecimal> balances, StockBalanceId key) {
+        if (key.getLocationKey() != StockBalanceId.NO_LOCATION) {
+            return balances.getOrDefault(key, BigDecimal.ZERO);
         }
+        return balances.entrySet().stream()
+                .filter(e -> e.getKey().getSupplyLotId().equals(key.getSupplyLotId())
+                        && e.getKey().getWarehouseId().equals(key.getWarehouseId()))
+                .map(Map.Entry::getValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-        return stockMovementRepository.calculateOnHandQuantity(lot, warehouse, location);
+    private static StockMovementBatchResponse.LineResult rejected(int line, ErrorCode errorCode) {
+        return StockMovementBatchResponse.LineResult.builder()
+                .line(line)
+                .status(StockMovementBatchResponse.REJECTED)
+                .errorCode(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build();
     }
 
     private void ensureWarehouseOwnership(Warehouse warehouse) {
@@ -164,4 +523,99 @@ public class InventoryService {
                 .note(movement.getNote())
                 .build();
     }
+
+    /**
+     * Where {@link #buildMovement} looks up referenced rows: the repositories
+     * for a single movement, preloaded maps for a batch.
+     */
+    private interface References {
+        Optional<Warehouse> warehouse(Integer id);
+
+        Optional<SupplyLot> lot(Integer id);
+
+        Optional<StockLocation> location(Integer id);
+
+        Optional<Season> season(Integer id);
+
+        Optional<Task> task(Integer id);
+
+        void checkAccess(Warehouse warehouse);
+    }
+
+    private class RepositoryReferences implements References {
+        @Override
+        public Optional<Warehouse> warehouse(Integer id) {
+            return warehouseRepository.findById(id);
+        }
+
+        @Override
+        public Optional<SupplyLot> lot(Integer id) {
+            return supplyLotRepository.findById(id);
+        }
+
+        @Override
+        public Optional<StockLocation> location(Integer id) {
+            return stockLocationRepository.findById(id);
+        }
+
+        @Override
+        public Optional<Season> season(Integer id) {
+            if (farmAccessService.filterAccessibleSeasonIds(List.of(id)).isEmpty()) {
+                return Optional.empty();
+            }
+            return seasonRepository.findById(id);
+        }
+
+        @Override
+        public Optional<Task> task(Integer id) {
+            return taskRepository.findById(id);
+        }
+
+        @Override
+        public void checkAccess(Warehouse warehouse) {
+            ensureWarehouseOwnership(warehouse);
+        }
+    }
+
+    private record PreloadedReferences(
+            Map<Integer, Warehouse> warehouses,
+            Map<Integer, SupplyLot> lots,
+            Map<Integer, StockLocation> locations,
+            Map<Integer, Season> seasons,
+            Map<Integer, Task> tasks,
+            Set<Integer> accessibleFarmIds) implements References {
+
+        @Override
+        public Optional<Warehouse> warehouse(Integer id) {
+            return Optional.ofNullable(warehouses.get(id));
+        }
+
+        @Override
+        public Optional<SupplyLot> lot(Integer id) {
+            return Optional.ofNullable(lots.get(id));
+        }
+
+        @Override
+        public Optional<StockLocation> location(Integer id) {
+            return Optional.ofNullable(locations.get(id));
+        }
+
+        @Override
+        public Optional<Season> season(Integer id) {
+            return Optional.ofNullable(seasons.get(id));
+        }
+
+        @Override
+        public Optional<Task> task(Integer id) {
+            return Optional.ofNullable(tasks.get(id));
+        }
+
+        @Override
+        public void checkAccess(Warehouse warehouse) {
+            Farm farm = warehouse.getFarm();
+            if (farm == null || !accessibleFarmIds.contains(farm.getId())) {
+                throw new AppException(ErrorCode.FORBIDDEN);
+            }
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory sign-in throttling with one token bucket per username and one
+ * per client IP. Every attempt takes a token from the IP bucket before any
+ * password is checked, which slows credential stuffing across many accounts.
+ * The username bucket is only charged for failed attempts and checked up
+ * front, so guessing against one account is slowed while its owner, or many
+ * users behind one NAT, can still sign in successfully.
+ * <p>
+ * Buckets are dropped once idle for a full refill period, when they would be
+ * full anyway, so memory stays bounded by the clients active in that window.
+ * Limits are per node.
+ */
+@Slf4j
+@Service
+public class LoginThrottleService {
+
+    private final Cache<String, TokenBucket> byUsername;
+    private final Cache<String, TokenBucket> byIp;
+    private final int usernameCapacity;
+    private final Duration usernameRefillPeriod;
+    private final int ipCapacity;
+    private final Duration ipRefillPeriod;
+    private final LongAdder throttledByUsername = new LongAdder();
+    private final LongAdder throttledByIp = new LongAdder();
+
+    public LoginThrottleService(
+            @Value("${auth.login-throttle.username-capacity:10}") int usernameCapacity,
+            @Value("${auth.login-throttle.username-refill-period:5m}") Duration usernameRefillPeriod,
+            @Value("${auth.login-throttle.ip-capacity:30}") int ipCapacity,
+            @Value("${auth.login-throttle.ip-refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${auth.login-throttle.max-tracked:100000}") long maxTracked) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPeriod = usernameRefillPeriod;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPeriod = ipRefillPeriod;
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(usernameRefillPeriod)
+                .build();
+        this.byIp = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(ipRefillPeriod)
+                .build();
+    }
+
+    /**
+     * Takes one attempt from the IP's budget and checks that the username
+     * still has failures left; call {@link #recordFailure} when the
+     * credentials turn out to be wrong.
+     *
+     * @throws AppException {@link ErrorCode#LOGIN_RATE_LIMITED} if either is
+     *                      exhausted
+     */
+    public void acquire(String username, String clientIp) {
+        if (clientIp != null
+                && !byIp.get(clientIp, ip -> new TokenBucket(ipCapacity, ipRefillPeriod)).tryConsume()) {
+            throttledByIp.increment();
+            log.warn("Sign-in throttled for IP {}", clientIp);
+            throw new AppException(ErrorCode.LOGIN_RATE_LIMITED);
+        }
+        TokenBucket failures = username != null ? byUsername.getIfPresent(usernameKey(username)) : null;
+        if (failures != null && !failures.hasToken()) {
+            throttledByUsername.increment();
+            log.warn("Sign-in throttled for user {}", username);
+            throw new AppException(ErrorCode.LOGIN_RATE_LIMITED);
+        }
+    }
+
+    /**
+     * Charges a failed sign-in to the username's budget.
+     */
+    public void recordFailure(String username) {
+        if (username != null) {
+            byUsername.get(usernameKey(username), name -> new TokenBucket(usernameCapacity, usernameRefillPeriod))
+                    .tryConsume();
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    public long getThrottledByUsername() {
+        return throttledByUsername.sum();
+    }
+
+    public long getThrottledByIp() {
+        return throttledByIp.sum();
+    }
+
+    public long getTrackedUsernames() {
+        return byUsername.estimatedSize();
+    }
+
+    public long getTrackedIps() {
+        return byIp.estimatedSize();
+    }
+}
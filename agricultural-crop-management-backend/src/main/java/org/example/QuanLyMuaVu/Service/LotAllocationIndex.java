@@ -0,0 +1,198 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of the lots with stock in each warehouse, per supply item,
+ * in first-expiry-first-out order (lots without an expiry date last).
+ * <p>
+ * The index is a hint for picking candidates: callers must confirm the
+ * quantities under the balance locks of {@link StockBalanceService}, which
+ * feeds it every committed balance change. It is built on first use and
+ * rebuilt from {@code stock_balances} on a schedule, which also picks up
+ * changes made by other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LotAllocationIndex {
+
+    static final Comparator<LotInfo> FEFO = Comparator
+            .comparing(LotInfo::expiryDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LotInfo::supplyLotId);
+
+    StockBalanceRepository stockBalanceRepository;
+    SupplyLotRepository supplyLotRepository;
+
+    @NonFinal
+    volatile State state;
+
+    /**
+     * Lots of the item with stock in the warehouse, soonest expiry first.
+     * Lots that expired before {@code today} are left out.
+     */
+    public List<LotStock> inStock(Integer warehouseId, Integer supplyItemId, LocalDate today) {
+        State current = loaded();
+        NavigableSet<LotInfo> lots = current.lots(warehouseId, supplyItemId);
+        List<LotStock> result = new ArrayList<>();
+        if (lots == null) {
+            return result;
+        }
+        for (LotInfo lot : lots) {
+            if (lot.expiryDate() != null && lot.expiryDate().isBefore(today)) {
+                continue;
+            }
+            BigDecimal onHand = current.onHand.get(new LotKey(warehouseId, lot.supplyLotId()));
+            if (onHand != null && onHand.signum() > 0) {
+                result.add(new LotStock(lot, onHand));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies balance deltas once the current transaction commits (right
+     * away when there is none).
+     */
+    public void applyAfterCommit(Map<StockBalanceId, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<LotKey, BigDecimal> byLot = new HashMap<>();
+        deltas.forEach((id, delta) ->
+                byLot.merge(new LotKey(id.getWarehouseId(), id.getSupplyLotId()), delta, BigDecimal::add));
+        afterCommit(() -> apply(byLot));
+    }
+
+    public void reloadAfterCommit() {
+        afterCommit(this::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.allocation-index-refresh-ms:300000}",
+            initialDelayString = "${inventory.allocation-index-refresh-ms:300000}")
+    public synchronized void reload() {
+        State fresh = new State();
+        for (Object[] row : stockBalanceRepository.sumPositiveByWarehouseAndLot()) {
+            LotInfo lot = new LotInfo((Integer) row[1], (Integer) row[2], (String) row[3], (LocalDate) row[4]);
+            fresh.lotInfo.put(lot.supplyLotId(), lot);
+            fresh.add(new LotKey((Integer) row[0], lot.supplyLotId()), lot, (BigDecimal) row[5]);
+        }
+        state = fresh;
+        log.debug("Lot allocation index loaded with {} lots in stock", fresh.onHand.size());
+    }
+
+    private State loaded() {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) {
+                    reload();
+                }
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    private void apply(Map<LotKey, BigDecimal> byLot) {
+        State current = state;
+        if (current == null) {
+            // Not built yet; the first use reads the committed balances
+            return;
+        }
+        byLot.forEach((key, delta) -> {
+            LotInfo lot = current.lotInfo.computeIfAbsent(key.supplyLotId(), this::loadLot);
+            if (lot != null && lot.supplyItemId() != null) {
+                current.add(key, lot, delta);
+            }
+        });
+    }
+
+    private LotInfo loadLot(Integer supplyLotId) {
+        return supplyLotRepository.findById(supplyLotId)
+                .map(l -> new LotInfo(
+                        l.getId(),
+                        l.getSupplyItem() != null ? l.getSupplyItem().getId() : null,
+                        l.getBatchCode(),
+                        l.getExpiryDate()))
+                .orElse(null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record LotInfo(Integer supplyLotId, Integer supplyItemId, String batchCode, LocalDate expiryDate) {
+    }
+
+    public record LotStock(LotInfo lot, BigDecimal onHand) {
+    }
+
+    private record LotKey(Integer warehouseId, Integer supplyLotId) {
+    }
+
+    private static final class State {
+        final Map<Integer, LotInfo> lotInfo = new ConcurrentHashMap<>();
+        final Map<LotKey, BigDecimal> onHand = new ConcurrentHashMap<>();
+        // warehouse id -> supply item id -> lots with stock
+        final Map<Integer, Map<Integer, NavigableSet<LotInfo>>> byWarehouse = new ConcurrentHashMap<>();
+
+        NavigableSet<LotInfo> lots(Integer warehouseId, Integer supplyItemId) {
+            Map<Integer, NavigableSet<LotInfo>> byItem = byWarehouse.get(warehouseId);
+            return byItem != null ? byItem.get(supplyItemId) : null;
+        }
+
+        /**
+         * Adjusts the lot's quantity and its membership in the FEFO set in one
+         * step per key, so concurrent updates cannot leave a lot with stock
+         * out of the set.
+         */
+        void add(LotKey key, LotInfo lot, BigDecimal delta) {
+            onHand.compute(key, (k, current) -> {
+                BigDecimal total = current == null ? delta : current.add(delta);
+                Set<LotInfo> lots = byWarehouse
+                        .computeIfAbsent(key.warehouseId(), w -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(lot.supplyItemId(), i -> new ConcurrentSkipListSet<>(FEFO));
+                if (total.signum() > 0) {
+                    lots.add(lot);
+                } else {
+                    lots.remove(lot);
+                }
+                return total.signum() == 0 ? null : total;
+            });
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.LoginLoadStatsResponse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs bcrypt on a fixed pool sized to the CPU cores instead of on request
+ * threads, so a burst of sign-ins can use at most those cores and leaves
+ * Tomcat's threads free for other endpoints.
+ * <p>
+ * Admission control: the pool's queue is bounded, and a hash that cannot be
+ * queued, or is not done within {@code auth.hashing.timeout}, fails fast
+ * with {@link ErrorCode#AUTH_BUSY} rather than piling up behind the others.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutNanos;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.timeout:5s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeoutNanos = timeout.toNanos();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public LoginLoadStatsResponse.Hashing getStats() {
+        long count = completed.sum();
+        return LoginLoadStatsResponse.Hashing.builder()
+                .threads(executor.getMaximumPoolSize())
+                .queueCapacity(queueCapacity)
+                .queueDepth(executor.getQueue().size())
+                .active(executor.getActiveCount())
+                .completed(count)
+                .rejected(rejected.sum())
+                .timedOut(timedOut.sum())
+                .avgQueueWaitMillis(count == 0 ? 0 : queueWaitNanos.sum() / NANOS_PER_MILLI / count)
+                .maxQueueWaitMillis(maxQueueWaitNanos.get() / NANOS_PER_MILLI)
+                .avgHashMillis(count == 0 ? 0 : hashNanos.sum() / NANOS_PER_MILLI / count)
+                .maxHashMillis(maxHashNanos.get() / NANOS_PER_MILLI)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Supplier<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.get();
+                } finally {
+                    long finished = System.nanoTime();
+                    record(queueWaitNanos, maxQueueWaitNanos, started - submitted);
+                    record(hashNanos, maxHashNanos, finished - started);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full ({} waiting); rejecting request", queueCapacity);
+            throw new AppException(ErrorCode.AUTH_BUSY);
+        }
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // A cancelled hash still in the queue is skipped when a worker reaches it
+            future.cancel(true);
+            timedOut.increment();
+            throw new AppException(ErrorCode.AUTH_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.AUTH_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static void record(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+}
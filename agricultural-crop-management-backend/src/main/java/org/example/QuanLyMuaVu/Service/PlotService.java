@@ -15,7 +15,6 @@ import org.example.QuanLyMuaVu.Repository.FarmRepository;
 import org.example.QuanLyMuaVu.Repository.PlotRepository;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.UserRepository;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +33,7 @@ public class PlotService {
     FarmRepository farmRepository;
     SeasonRepository seasonRepository;
     PlotMapper plotMapper;
+    CurrentUserService currentUserService;
 
     /**
      * Legacy create method that accepts userId inside the request.
@@ -190,9 +190,6 @@ public class PlotService {
     }
 
     private User getCurrentUser() {
-        var context = SecurityContextHolder.getContext();
-        String username = context.getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+        return currentUserService.getCurrentUser();
     }
 }
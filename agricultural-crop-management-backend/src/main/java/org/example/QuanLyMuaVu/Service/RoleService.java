@@ -2,8 +2,11 @@ package org.example.QuanLyMuaVu.Service;
 
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import org.example.QuanLyMuaVu.Constant.CacheNames;
 import org.example.QuanLyMuaVu.DTO.Request.RoleRequest;
 import org.example.QuanLyMuaVu.DTO.Response.RoleResponse;
 import org.example.QuanLyMuaVu.Mapper.RoleMapper;
@@ -22,6 +25,7 @@ public class RoleService {
     RoleRepository roleRepository;
     RoleMapper roleMapper;
 
+    @CacheEvict(value = CacheNames.ROLES, allEntries = true)
     public RoleResponse createRole(RoleRequest request) {
         var role = roleMapper.toRole(request);
 
@@ -29,10 +33,12 @@ public class RoleService {
         return roleMapper.toRoleResponse(role);
     }
 
+    @Cacheable(value = CacheNames.ROLES, key = "'all'")
     public List<RoleResponse> listRoles() {
         return roleRepository.findAll().stream().map(roleMapper::toRoleResponse).toList();
     }
 
+    @CacheEvict(value = CacheNames.ROLES, allEntries = true)
     public void deleteRoleByCode(String roleCode) {
         roleRepository.deleteByCode(roleCode);
     }
@@ -14,12 +14,10 @@ import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Repository.ExpenseRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRecordSpecifications;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +33,8 @@ import java.util.List;
 @Transactional
 public class SeasonExpenseService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "expenseDate", "totalCost", "itemName", "createdAt");
+
     ExpenseRepository expenseRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
@@ -45,48 +45,41 @@ public class SeasonExpenseService {
             LocalDate to,
             BigDecimal minAmount,
             BigDecimal maxAmount,
+            String sort,
             int page,
             int size
     ) {
         Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findPage(
+                expenseRepository,
+                expenseFilter(season, from, to, minAmount, maxAmount),
+                page,
+                size,
+                PageQueryUtils.resolveSort(sort, SORTABLE_FIELDS),
+                this::toResponse);
+    }
 
-        List<Expense> all = expenseRepository.findAllBySeason_Id(season.getId());
-
-        List<ExpenseResponse> items = all.stream()
-                .filter(expense -> {
-                    if (from == null && to == null) {
-                        return true;
-                    }
-                    LocalDate date = expense.getExpenseDate();
-                    boolean afterFrom = from == null || !date.isBefore(from);
-                    boolean beforeTo = to == null || !date.isAfter(to);
-                    return afterFrom && beforeTo;
-                })
-                .filter(expense -> {
-                    BigDecimal total = expense.getTotalCost();
-                    if (total == null) {
-                        total = expense.getUnitPrice()
-                                .multiply(BigDecimal.valueOf(expense.getQuantity()));
-                    }
-                    boolean aboveMin = minAmount == null || total.compareTo(minAmount) >= 0;
-                    boolean belowMax = maxAmount == null || total.compareTo(maxAmount) <= 0;
-                    return aboveMin && belowMax;
-                })
-                .sorted((e1, e2) -> Integer.compare(
-                        e2.getId() != null ? e2.getId() : 0,
-                        e1.getId() != null ? e1.getId() : 0))
-                .map(this::toResponse)
-                .toList();
-
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, items.size());
-        List<ExpenseResponse> pageItems =
-                fromIndex >= items.size() ? List.of() : items.subList(fromIndex, toIndex);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<ExpenseResponse> pageData = new PageImpl<>(pageItems, pageable, items.size());
-
-        return PageResponse.of(pageData, pageItems);
+    /**
+     * Cursor-mode variant of {@link #listExpensesForSeason}: newest first,
+     * starting below the {@code after} expense id.
+     */
+    public PageResponse<ExpenseResponse> scrollExpensesForSeason(
+            Integer seasonId,
+            LocalDate from,
+            LocalDate to,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            Integer after,
+            int limit
+    ) {
+        Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findSlice(
+                expenseRepository,
+                expenseFilter(season, from, to, minAmount, maxAmount),
+                after,
+                limit,
+                Expense::getId,
+                this::toResponse);
     }
 
     public ExpenseResponse createExpense(Integer seasonId, CreateExpenseRequest request) {
@@ -144,6 +137,18 @@ public class SeasonExpenseService {
         expenseRepository.delete(expense);
     }
 
+    private Specification<Expense> expenseFilter(
+            Season season,
+            LocalDate from,
+            LocalDate to,
+            BigDecimal minAmount,
+            BigDecimal maxAmount) {
+        return Specification.allOf(
+                SeasonRecordSpecifications.ofSeason(season.getId()),
+                SeasonRecordSpecifications.dateBetween("expenseDate", from, to),
+                SeasonRecordSpecifications.amountBetween("totalCost", "unitPrice", "quantity", minAmount, maxAmount));
+    }
+
     private void ensureSeasonOpenForExpenses(Season season) {
         if (season == null) {
             throw new AppException(ErrorCode.SEASON_NOT_FOUND);
@@ -15,18 +15,16 @@ import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.HarvestMapper;
 import org.example.QuanLyMuaVu.Repository.HarvestRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonRecordSpecifications;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +32,8 @@ import java.util.List;
 @Transactional
 public class SeasonHarvestService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "harvestDate", "quantity", "createdAt");
+
     HarvestRepository harvestRepository;
     SeasonRepository seasonRepository;
     HarvestMapper harvestMapper;
@@ -43,36 +43,37 @@ public class SeasonHarvestService {
             Integer seasonId,
             LocalDate from,
             LocalDate to,
+            String sort,
             int page,
             int size) {
         Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findPage(
+                harvestRepository,
+                harvestFilter(season, from, to),
+                page,
+                size,
+                PageQueryUtils.resolveSort(sort, SORTABLE_FIELDS),
+                harvestMapper::toResponse);
+    }
 
-        List<Harvest> all = harvestRepository.findAllBySeason_Id(season.getId());
-
-        List<HarvestResponse> items = all.stream()
-                .filter(h -> {
-                    if (from == null && to == null) {
-                        return true;
-                    }
-                    LocalDate date = h.getHarvestDate();
-                    boolean afterFrom = from == null || !date.isBefore(from);
-                    boolean beforeTo = to == null || !date.isAfter(to);
-                    return afterFrom && beforeTo;
-                })
-                .sorted((h1, h2) -> Integer.compare(
-                        h2.getId() != null ? h2.getId() : 0,
-                        h1.getId() != null ? h1.getId() : 0))
-                .map(harvestMapper::toResponse)
-                .toList();
-
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, items.size());
-        List<HarvestResponse> pageItems = fromIndex >= items.size() ? List.of() : items.subList(fromIndex, toIndex);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<HarvestResponse> pageData = new PageImpl<>(pageItems, pageable, items.size());
-
-        return PageResponse.of(pageData, pageItems);
+    /**
+     * Cursor-mode variant of {@link #listHarvestsForSeason}: newest first,
+     * starting below the {@code after} harvest id.
+     */
+    public PageResponse<HarvestResponse> scrollHarvestsForSeason(
+            Integer seasonId,
+            LocalDate from,
+            LocalDate to,
+            Integer after,
+            int limit) {
+        Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findSlice(
+                harvestRepository,
+                harvestFilter(season, from, to),
+                after,
+                limit,
+                Harvest::getId,
+                harvestMapper::toResponse);
     }
 
     public HarvestResponse createHarvest(Integer seasonId, CreateHarvestDetailRequest request) {
@@ -90,7 +91,7 @@ public class SeasonHarvestService {
                 .build();
 
         Harvest saved = harvestRepository.save(harvest);
-        recomputeSeasonActualYield(season);
+        addToSeasonActualYield(season, saved.getQuantity());
         return harvestMapper.toResponse(saved);
     }
 
@@ -105,13 +106,14 @@ public class SeasonHarvestService {
 
         validateHarvestDateWithinSeason(harvest.getSeason(), request.getHarvestDate());
 
+        BigDecimal previousQuantity = quantityOf(harvest);
         harvest.setHarvestDate(request.getHarvestDate());
         harvest.setQuantity(request.getQuantity());
         harvest.setUnit(request.getUnit());
         harvest.setNote(request.getNote());
 
         Harvest saved = harvestRepository.save(harvest);
-        recomputeSeasonActualYield(harvest.getSeason());
+        addToSeasonActualYield(harvest.getSeason(), quantityOf(saved).subtract(previousQuantity));
         return harvestMapper.toResponse(saved);
     }
 
@@ -121,9 +123,13 @@ public class SeasonHarvestService {
 
         Season season = harvest.getSeason();
         harvestRepository.delete(harvest);
-        if (season != null) {
-            recomputeSeasonActualYield(season);
-        }
+        addToSeasonActualYield(season, quantityOf(harvest).negate());
+    }
+
+    private Specification<Harvest> harvestFilter(Season season, LocalDate from, LocalDate to) {
+        return Specification.allOf(
+                SeasonRecordSpecifications.ofSeason(season.getId()),
+                SeasonRecordSpecifications.dateBetween("harvestDate", from, to));
     }
 
     private void ensureSeasonAllowsHarvest(Season season) {
@@ -173,15 +179,19 @@ public class SeasonHarvestService {
         return farmAccessService.getCurrentUser();
     }
 
-    private void recomputeSeasonActualYield(Season season) {
-        if (season == null || season.getId() == null) {
+    /**
+     * Applies a harvest's quantity change to the season's actual yield in the
+     * current transaction, without re-reading the season's other harvests.
+     * {@link SeasonYieldVerifier} repairs any drift.
+     */
+    private void addToSeasonActualYield(Season season, BigDecimal delta) {
+        if (season == null || season.getId() == null || delta == null || delta.signum() == 0) {
             return;
         }
-        List<Harvest> harvests = harvestRepository.findAllBySeason_Id(season.getId());
-        BigDecimal total = harvests.stream()
-                .map(h -> h.getQuantity() != null ? h.getQuantity() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        season.setActualYieldKg(total);
-        seasonRepository.save(season);
+        seasonRepository.addToActualYield(season.getId(), delta);
+    }
+
+    private static BigDecimal quantityOf(Harvest harvest) {
+        return harvest.getQuantity() != null ? harvest.getQuantity() : BigDecimal.ZERO;
     }
 }
@@ -0,0 +1,54 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Single implementation of the rule "a plot cannot have two PLANNED or
+ * ACTIVE seasons with overlapping dates", shared by {@link SeasonService}
+ * and the season validation chain.
+ * <p>
+ * A season's range runs from its start date to its end date, or its planned
+ * harvest date when it has no end date; with neither it is open-ended. The
+ * check is one indexed query, so its cost does not grow with the number of
+ * closed seasons on the plot.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SeasonOverlapService {
+
+    static final Set<SeasonStatus> BLOCKING_STATUSES = EnumSet.of(SeasonStatus.PLANNED, SeasonStatus.ACTIVE);
+
+    SeasonRepository seasonRepository;
+
+    /**
+     * @param excludeSeasonId season being updated, or null on create
+     * @throws AppException {@link ErrorCode#INVALID_SEASON_DATES} without a plot
+     *                      or start date, {@link ErrorCode#SEASON_OVERLAP} on overlap
+     */
+    public void assertNoOverlap(
+            Integer plotId,
+            LocalDate start,
+            LocalDate plannedHarvestDate,
+            LocalDate end,
+            Integer excludeSeasonId) {
+        if (plotId == null || start == null) {
+            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
+        }
+        LocalDate effectiveEnd = end != null ? end : plannedHarvestDate;
+        if (seasonRepository.existsOverlapping(plotId, BLOCKING_STATUSES, start, effectiveEnd, excludeSeasonId)) {
+            throw new AppException(ErrorCode.SEASON_OVERLAP);
+        }
+    }
+}
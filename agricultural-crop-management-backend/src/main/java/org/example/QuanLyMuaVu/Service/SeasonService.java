@@ -9,40 +9,38 @@ import org.example.QuanLyMuaVu.DTO.Request.UpdateSeasonRequest;
 import org.example.QuanLyMuaVu.DTO.Request.UpdateSeasonStatusRequest;
 import org.example.QuanLyMuaVu.DTO.Response.SeasonDetailResponse;
 import org.example.QuanLyMuaVu.DTO.Response.SeasonResponse;
-import org.example.QuanLyMuaVu.Entity.Crop;
 import org.example.QuanLyMuaVu.Entity.Plot;
 import org.example.QuanLyMuaVu.Entity.Season;
 import org.example.QuanLyMuaVu.Entity.User;
-import org.example.QuanLyMuaVu.Entity.Variety;
 import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.SeasonMapper;
-import org.example.QuanLyMuaVu.Repository.CropRepository;
+import org.example.QuanLyMuaVu.Pattern.Chain.SeasonValidationContext;
+import org.example.QuanLyMuaVu.Pattern.Chain.SeasonValidationPipeline;
+import org.example.QuanLyMuaVu.Pattern.Observer.DomainEventOutbox;
+import org.example.QuanLyMuaVu.Pattern.Observer.SeasonCreatedEvent;
 import org.example.QuanLyMuaVu.Repository.ExpenseRepository;
 import org.example.QuanLyMuaVu.Repository.FieldLogRepository;
 import org.example.QuanLyMuaVu.Repository.HarvestRepository;
-import org.example.QuanLyMuaVu.Repository.PlotRepository;
 
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.SeasonSpecifications;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
 import org.example.QuanLyMuaVu.Repository.UserRepository;
-import org.example.QuanLyMuaVu.Repository.VarietyRepository;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -52,9 +50,6 @@ import java.util.Set;
 public class SeasonService {
 
     SeasonRepository seasonRepository;
-    PlotRepository plotRepository;
-    CropRepository cropRepository;
-    VarietyRepository varietyRepository;
     UserRepository userRepository;
     HarvestRepository harvestRepository;
     ExpenseRepository expenseRepository;
@@ -63,6 +58,8 @@ public class SeasonService {
     TaskRepository taskRepository;
     FieldLogRepository fieldLogRepository;
     FarmAccessService farmAccessService;
+    SeasonValidationPipeline seasonValidationPipeline;
+    DomainEventOutbox domainEventOutbox;
 
     /**
      * Legacy creation method kept for backward compatibility with existing
@@ -121,115 +118,61 @@ public class SeasonService {
             LocalDate to,
             int page,
             int size) {
-        User currentUser = getCurrentUser();
-
-        List<Integer> accessibleFarmIds = farmAccessService.getAccessibleFarmIdsForCurrentUser();
-        List<Season> all = new ArrayList<>();
-
-        if (!accessibleFarmIds.isEmpty()) {
-            all.addAll(seasonRepository.findAllByPlot_Farm_IdIn(accessibleFarmIds));
-        }
-        all.addAll(seasonRepository.findAllByPlot_User(currentUser));
-
-        // de-duplicate by season id while preserving order (latest first later)
-        Map<Integer, Season> byId = new LinkedHashMap<>();
-        for (Season season : all) {
-            if (season.getId() != null) {
-                byId.putIfAbsent(season.getId(), season);
-            }
-        }
-        all = new ArrayList<>(byId.values());
+        Specification<Season> spec = mySeasonsFilter(plotId, cropId, status, from, to);
 
-        SeasonStatus statusFilter = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                statusFilter = SeasonStatus.fromCode(status);
-            } catch (IllegalArgumentException ex) {
-                throw new AppException(ErrorCode.BAD_REQUEST);
-            }
-        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
+        Page<Season> pageData = seasonRepository.findAll(spec, pageable);
 
-        final Integer plotIdFilter = plotId;
-        final Integer cropIdFilter = cropId;
-        final SeasonStatus statusFilterFinal = statusFilter;
-        final LocalDate fromDate = from;
-        final LocalDate toDate = to;
-
-        List<SeasonResponse> filtered = all.stream()
-                .filter(season -> plotIdFilter == null
-                        || (season.getPlot() != null && plotIdFilter.equals(season.getPlot().getId())))
-                .filter(season -> cropIdFilter == null
-                        || (season.getCrop() != null && cropIdFilter.equals(season.getCrop().getId())))
-                .filter(season -> statusFilterFinal == null || statusFilterFinal.equals(season.getStatus()))
-                .filter(season -> {
-                    if (fromDate == null && toDate == null) {
-                        return true;
-                    }
-                    LocalDate sStart = season.getStartDate();
-                    LocalDate sEnd = season.getEndDate();
-                    if (sEnd == null) {
-                        sEnd = sStart;
-                    }
-                    LocalDate rangeStart = fromDate != null ? fromDate : sStart;
-                    LocalDate rangeEnd = toDate != null ? toDate : sEnd;
-                    return !sEnd.isBefore(rangeStart) && !sStart.isAfter(rangeEnd);
-                })
-                .sorted((s1, s2) -> Integer.compare(
-                        s2.getId() != null ? s2.getId() : 0,
-                        s1.getId() != null ? s1.getId() : 0))
+        List<SeasonResponse> items = pageData.getContent().stream()
                 .map(seasonMapper::toResponse)
                 .toList();
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, filtered.size());
-        List<SeasonResponse> pageItems = fromIndex >= filtered.size() ? List.of()
-                : filtered.subList(fromIndex, toIndex);
-        Page<SeasonResponse> pageData = new PageImpl<>(pageItems, pageable, filtered.size());
+        return PageResponse.of(pageData, items);
+    }
 
-        return PageResponse.of(pageData, pageItems);
+    /**
+     * Cursor-mode variant of {@link #searchMySeasons}: newest first, starting
+     * below the {@code after} season id.
+     */
+    public PageResponse<SeasonResponse> scrollMySeasons(
+            Integer plotId,
+            Integer cropId,
+            String status,
+            LocalDate from,
+            LocalDate to,
+            Integer after,
+            int limit) {
+        return PageQueryUtils.findSlice(
+                seasonRepository,
+                mySeasonsFilter(plotId, cropId, status, from, to),
+                after,
+                limit,
+                Season::getId,
+                seasonMapper::toResponse);
     }
 
     public SeasonDetailResponse createSeason(CreateSeasonRequest request) {
-        Plot plot = plotRepository.findById(request.getPlotId())
-                .orElseThrow(() -> new AppException(ErrorCode.PLOT_NOT_FOUND));
-        farmAccessService.assertCurrentUserCanAccessPlot(plot);
-
-        Crop crop = cropRepository.findById(request.getCropId())
-                .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
-
-        Variety variety = null;
-        if (request.getVarietyId() != null) {
-            variety = varietyRepository.findById(request.getVarietyId())
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-            if (!variety.getCrop().getId().equals(crop.getId())) {
-                throw new AppException(ErrorCode.BAD_REQUEST);
-            }
-        }
-
-        LocalDate start = request.getStartDate();
-        LocalDate end = request.getEndDate();
-
-        if (start == null) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-        if (request.getPlannedHarvestDate() != null && request.getPlannedHarvestDate().isBefore(start)) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-        if (end != null && end.isBefore(start)) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-
-        validateNoOverlappingActiveOrPlannedSeasons(plot, start, request.getPlannedHarvestDate(), end, null);
+        SeasonValidationContext ctx = SeasonValidationContext.builder()
+                .plotId(request.getPlotId())
+                .cropId(request.getCropId())
+                .varietyId(request.getVarietyId())
+                .startDate(request.getStartDate())
+                .plannedHarvestDate(request.getPlannedHarvestDate())
+                .endDate(request.getEndDate())
+                .seasonName(request.getSeasonName())
+                .initialPlantCount(request.getInitialPlantCount())
+                .notes(request.getNotes())
+                .build();
+        seasonValidationPipeline.validate(ctx);
 
         Season season = Season.builder()
-                .plot(plot)
-                .crop(crop)
-                .variety(variety)
+                .plot(ctx.getPlot())
+                .crop(ctx.getCrop())
+                .variety(ctx.getVariety())
                 .seasonName(request.getSeasonName())
-                .startDate(start)
+                .startDate(request.getStartDate())
                 .plannedHarvestDate(request.getPlannedHarvestDate())
-                .endDate(end)
+                .endDate(request.getEndDate())
                 .status(SeasonStatus.PLANNED)
                 .initialPlantCount(request.getInitialPlantCount())
                 .currentPlantCount(request.getInitialPlantCount())
@@ -238,6 +181,7 @@ public class SeasonService {
                 .build();
 
         Season saved = seasonRepository.save(season);
+        domainEventOutbox.record(new SeasonCreatedEvent(saved));
         return seasonMapper.toDetailResponse(saved);
     }
 
@@ -260,42 +204,36 @@ public class SeasonService {
             throw new AppException(ErrorCode.INVALID_SEASON_STATUS_TRANSITION);
         }
 
-        LocalDate start = request.getStartDate();
-        LocalDate end = request.getEndDate();
-
-        if (start == null) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-        if (request.getPlannedHarvestDate() != null && request.getPlannedHarvestDate().isBefore(start)) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-        if (end != null && end.isBefore(start)) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-
-        validateNoOverlappingActiveOrPlannedSeasons(
-                season.getPlot(),
-                start,
-                request.getPlannedHarvestDate(),
-                end,
-                id);
+        // Plot and crop cannot change on update; seed them so only the variety is fetched
+        SeasonValidationContext ctx = SeasonValidationContext.builder()
+                .seasonId(id)
+                .plotId(season.getPlot().getId())
+                .cropId(season.getCrop().getId())
+                .varietyId(request.getVarietyId())
+                .startDate(request.getStartDate())
+                .plannedHarvestDate(request.getPlannedHarvestDate())
+                .endDate(request.getEndDate())
+                .seasonName(request.getSeasonName())
+                .notes(request.getNotes())
+                .build();
+        ctx.setPlot(season.getPlot());
+        ctx.setCrop(season.getCrop());
+        seasonValidationPipeline.validate(ctx);
 
         season.setSeasonName(request.getSeasonName());
-        season.setStartDate(start);
+        season.setStartDate(request.getStartDate());
         season.setPlannedHarvestDate(request.getPlannedHarvestDate());
-        season.setEndDate(end);
+        season.setEndDate(request.getEndDate());
         season.setCurrentPlantCount(request.getCurrentPlantCount());
         season.setExpectedYieldKg(request.getExpectedYieldKg());
-        season.setActualYieldKg(request.getActualYieldKg());
+        // Once harvests are recorded the actual yield is their sum, maintained by SeasonHarvestService
+        if (!harvestRepository.existsBySeason_Id(id)) {
+            season.setActualYieldKg(request.getActualYieldKg());
+        }
         season.setNotes(request.getNotes());
 
-        if (request.getVarietyId() != null) {
-            Variety variety = varietyRepository.findById(request.getVarietyId())
-                    .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
-            if (!variety.getCrop().getId().equals(season.getCrop().getId())) {
-                throw new AppException(ErrorCode.BAD_REQUEST);
-            }
-            season.setVariety(variety);
+        if (ctx.getVariety() != null) {
+            season.setVariety(ctx.getVariety());
         }
 
         Season saved = seasonRepository.save(season);
@@ -332,19 +270,9 @@ public class SeasonService {
             season.setEndDate(end);
         }
 
+        // Actual yield already tracks the harvest batches, so closing needs no recompute
         season.setStatus(targetStatus);
 
-        // When closing a season, sync actual yield from its harvest batches
-        if (targetStatus == SeasonStatus.COMPLETED || targetStatus == SeasonStatus.ARCHIVED) {
-            var harvests = harvestRepository.findAllBySeason_Id(season.getId());
-            if (harvests != null && !harvests.isEmpty()) {
-                season.setActualYieldKg(
-                        harvests.stream()
-                                .map(h -> h.getQuantity() != null ? h.getQuantity() : java.math.BigDecimal.ZERO)
-                                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add));
-            }
-        }
-
         Season saved = seasonRepository.save(season);
         return seasonMapper.toResponse(saved);
     }
@@ -387,70 +315,33 @@ public class SeasonService {
         };
     }
 
-    private User getCurrentUser() {
-        return farmAccessService.getCurrentUser();
-    }
-
-    private void validateNoOverlappingActiveOrPlannedSeasons(
-            Plot plot,
-            LocalDate start,
-            LocalDate plannedHarvestDate,
-            LocalDate end,
-            Integer excludeSeasonId) {
-        if (plot == null || start == null) {
-            throw new AppException(ErrorCode.INVALID_SEASON_DATES);
-        }
-
-        LocalDate newStart = start;
-        LocalDate newEnd = end != null ? end : plannedHarvestDate;
-
-        List<Season> existing = seasonRepository.findAllByPlot_Id(plot.getId());
-        for (Season other : existing) {
-            if (excludeSeasonId != null && excludeSeasonId.equals(other.getId())) {
-                continue;
-            }
-            SeasonStatus status = other.getStatus();
-            if (status == null
-                    || (status != SeasonStatus.PLANNED && status != SeasonStatus.ACTIVE)) {
-                continue;
-            }
-
-            LocalDate otherStart = other.getStartDate();
-            LocalDate otherEnd = other.getEndDate() != null
-                    ? other.getEndDate()
-                    : other.getPlannedHarvestDate();
-
-            if (otherStart == null && otherEnd == null) {
-                // Conservatively treat undefined ranges as overlapping
-                throw new AppException(ErrorCode.SEASON_OVERLAP);
-            }
+    private Specification<Season> mySeasonsFilter(
+            Integer plotId,
+            Integer cropId,
+            String status,
+            LocalDate from,
+            LocalDate to) {
+        User currentUser = getCurrentUser();
+        List<Integer> accessibleFarmIds = farmAccessService.getAccessibleFarmIdsForCurrentUser();
 
-            if (rangesOverlap(newStart, newEnd, otherStart, otherEnd)) {
-                throw new AppException(ErrorCode.SEASON_OVERLAP);
+        SeasonStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = SeasonStatus.fromCode(status);
+            } catch (IllegalArgumentException ex) {
+                throw new AppException(ErrorCode.BAD_REQUEST);
             }
         }
-    }
-
-    private boolean rangesOverlap(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
-        LocalDate s1 = start1;
-        LocalDate e1 = end1;
-        LocalDate s2 = start2;
-        LocalDate e2 = end2;
 
-        if (s1 == null || s2 == null) {
-            return true;
-        }
+        return Specification.allOf(
+                SeasonSpecifications.accessibleBy(accessibleFarmIds, currentUser),
+                SeasonSpecifications.hasPlot(plotId),
+                SeasonSpecifications.hasCrop(cropId),
+                SeasonSpecifications.hasStatus(statusFilter),
+                SeasonSpecifications.overlaps(from, to));
+    }
 
-        if (e1 != null && e2 != null) {
-            return !e1.isBefore(s2) && !e2.isBefore(s1);
-        }
-        if (e1 == null && e2 != null) {
-            return !e2.isBefore(s1);
-        }
-        if (e1 != null) { // e2 == null
-            return !e1.isBefore(s2);
-        }
-        // both open-ended
-        return true;
+    private User getCurrentUser() {
+        return farmAccessService.getCurrentUser();
     }
 }
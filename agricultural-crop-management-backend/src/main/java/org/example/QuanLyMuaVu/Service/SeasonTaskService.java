@@ -15,20 +15,20 @@ import org.example.QuanLyMuaVu.Enums.SeasonStatus;
 import org.example.QuanLyMuaVu.Enums.TaskStatus;
 import org.example.QuanLyMuaVu.Exception.AppException;
 import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Pattern.Observer.DomainEventOutbox;
+import org.example.QuanLyMuaVu.Pattern.Observer.TaskCompletedEvent;
+import org.example.QuanLyMuaVu.Repository.SeasonRecordSpecifications;
 import org.example.QuanLyMuaVu.Repository.SeasonRepository;
 import org.example.QuanLyMuaVu.Repository.TaskRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.EnumSet;
-import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -36,64 +36,52 @@ import java.util.List;
 @Transactional
 public class SeasonTaskService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "plannedDate", "dueDate", "status", "title", "createdAt");
+
     TaskRepository taskRepository;
     SeasonRepository seasonRepository;
     FarmAccessService farmAccessService;
+    DomainEventOutbox domainEventOutbox;
 
     public PageResponse<TaskResponse> listTasksForSeason(
             Integer seasonId,
             String status,
             LocalDate from,
             LocalDate to,
+            String sort,
             int page,
             int size
     ) {
         Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findPage(
+                taskRepository,
+                taskFilter(season, status, from, to),
+                page,
+                size,
+                PageQueryUtils.resolveSort(sort, SORTABLE_FIELDS),
+                this::toResponse);
+    }
 
-        TaskStatus statusFilter = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                statusFilter = TaskStatus.fromCode(status);
-            } catch (IllegalArgumentException ex) {
-                throw new AppException(ErrorCode.BAD_REQUEST);
-            }
-        }
-
-        final TaskStatus statusFilterFinal = statusFilter;
-        final LocalDate fromFilter = from;
-        final LocalDate toFilter = to;
-
-        List<Task> all = taskRepository.findAllBySeason_Id(season.getId());
-
-        List<TaskResponse> items = all.stream()
-                .filter(task -> statusFilterFinal == null || statusFilterFinal.equals(task.getStatus()))
-                .filter(task -> {
-                    if (fromFilter == null && toFilter == null) {
-                        return true;
-                    }
-                    LocalDate date = task.getDueDate() != null ? task.getDueDate() : task.getPlannedDate();
-                    if (date == null) {
-                        return false;
-                    }
-                    boolean afterFrom = fromFilter == null || !date.isBefore(fromFilter);
-                    boolean beforeTo = toFilter == null || !date.isAfter(toFilter);
-                    return afterFrom && beforeTo;
-                })
-                .sorted((t1, t2) -> Integer.compare(
-                        t2.getId() != null ? t2.getId() : 0,
-                        t1.getId() != null ? t1.getId() : 0))
-                .map(this::toResponse)
-                .toList();
-
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, items.size());
-        List<TaskResponse> pageItems =
-                fromIndex >= items.size() ? List.of() : items.subList(fromIndex, toIndex);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<TaskResponse> pageData = new PageImpl<>(pageItems, pageable, items.size());
-
-        return PageResponse.of(pageData, pageItems);
+    /**
+     * Cursor-mode variant of {@link #listTasksForSeason}: newest first, starting
+     * below the {@code after} task id.
+     */
+    public PageResponse<TaskResponse> scrollTasksForSeason(
+            Integer seasonId,
+            String status,
+            LocalDate from,
+            LocalDate to,
+            Integer after,
+            int limit
+    ) {
+        Season season = getSeasonForCurrentFarmer(seasonId);
+        return PageQueryUtils.findSlice(
+                taskRepository,
+                taskFilter(season, status, from, to),
+                after,
+                limit,
+                Task::getId,
+                this::toResponse);
     }
 
     public TaskResponse createTask(Integer seasonId, CreateTaskRequest request) {
@@ -188,6 +176,9 @@ public class SeasonTaskService {
         }
 
         Task saved = taskRepository.save(task);
+        if (targetStatus == TaskStatus.DONE && currentStatus != TaskStatus.DONE) {
+            domainEventOutbox.record(new TaskCompletedEvent(saved, currentStatus));
+        }
         return toResponse(saved);
     }
 
@@ -202,6 +193,22 @@ public class SeasonTaskService {
         taskRepository.delete(task);
     }
 
+    private Specification<Task> taskFilter(Season season, String status, LocalDate from, LocalDate to) {
+        TaskStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = TaskStatus.fromCode(status);
+            } catch (IllegalArgumentException ex) {
+                throw new AppException(ErrorCode.BAD_REQUEST);
+            }
+        }
+
+        return Specification.allOf(
+                SeasonRecordSpecifications.ofSeason(season.getId()),
+                SeasonRecordSpecifications.equalTo("status", statusFilter),
+                SeasonRecordSpecifications.dateBetween("dueDate", "plannedDate", from, to));
+    }
+
     private boolean isValidStatusTransition(TaskStatus currentStatus, TaskStatus targetStatus) {
         if (currentStatus == null) {
             return targetStatus == TaskStatus.PENDING;
@@ -0,0 +1,49 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Periodically compares each season's actual yield with the sum of its
+ * harvests and repairs the seasons that drifted.
+ * <p>
+ * Harvest writes only apply deltas, so drift means something changed
+ * {@code harvests} or {@code actual_yield_kg} outside
+ * {@link SeasonHarvestService}, and is logged as a warning. The first run
+ * after startup also backfills seasons recorded before yields were
+ * maintained incrementally.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SeasonYieldVerifier {
+
+    SeasonRepository seasonRepository;
+
+    /**
+     * @return number of seasons repaired
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${seasons.yield-verify-ms:3600000}", initialDelayString = "60000")
+    public int verifyAndRepair() {
+        List<Object[]> drift = seasonRepository.findActualYieldDrift();
+        if (drift.isEmpty()) {
+            return 0;
+        }
+        for (Object[] row : drift) {
+            log.warn("Season {} actual yield {} does not match its harvests ({}); recomputing",
+                    row[0], row[1], row[2]);
+        }
+        List<Integer> seasonIds = drift.stream().map(row -> (Integer) row[0]).toList();
+        return seasonRepository.recomputeActualYield(seasonIds);
+    }
+}
@@ -0,0 +1,322 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.StockBalanceVerifyResponse;
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.example.QuanLyMuaVu.Entity.StockMovement;
+import org.example.QuanLyMuaVu.Enums.StockMovementType;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockLedgerBatchRepository;
+import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.example.QuanLyMuaVu.Util.StripedLocks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains the {@link StockBalance} read model so on-hand reads do not sum
+ * the whole movement ledger.
+ * <p>
+ * {@link #apply(StockMovement)} must run in the transaction that saves the
+ * movement, so the ledger and the balance commit or roll back together.
+ * {@link #verify()} and {@link #rebuild()} replay the ledger to detect and
+ * repair drift.
+ * <p>
+ * Stock is taken out through {@link #withdraw}, which serialises OUT
+ * movements per (lot, warehouse) only: an in-process striped lock queues
+ * requests for the same lot before they reach the database, and a
+ * conditional update (or row lock for warehouse-wide draws) keeps the balance
+ * from going negative across nodes. OUTs for unrelated lots never wait on
+ * each other.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Transactional
+public class StockBalanceService {
+
+    private static final int MAX_REPORTED_DISCREPANCIES = 100;
+
+    StockBalanceRepository stockBalanceRepository;
+    StockMovementRepository stockMovementRepository;
+    StockLedgerBatchRepository stockLedgerBatchRepository;
+    LotAllocationIndex lotAllocationIndex;
+    StripedLocks stockLocks;
+    long lockTimeoutMillis;
+
+    public StockBalanceService(
+            StockBalanceRepository stockBalanceRepository,
+            StockMovementRepository stockMovementRepository,
+            StockLedgerBatchRepository stockLedgerBatchRepository,
+            LotAllocationIndex lotAllocationIndex,
+            @Value("${inventory.stock-lock-stripes:1024}") int lockStripes,
+            @Value("${inventory.stock-lock-timeout:5s}") Duration lockTimeout) {
+        this.stockBalanceRepository = stockBalanceRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockLedgerBatchRepository = stockLedgerBatchRepository;
+        this.lotAllocationIndex = lotAllocationIndex;
+        this.stockLocks = new StripedLocks(lockStripes);
+        this.lockTimeoutMillis = lockTimeout.toMillis();
+    }
+
+    /**
+     * Adds the effect of a saved movement to its balance row. OUT movements
+     * are booked by {@link #withdraw} instead.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(StockMovement movement) {
+        BigDecimal delta = delta(movement.getMovementType(), movement.getQuantity());
+        if (delta.signum() == 0) {
+            return;
+        }
+        StockBalanceId id = StockBalanceId.of(
+                movement.getSupplyLot().getId(),
+                movement.getWarehouse().getId(),
+                movement.getLocation() != null ? movement.getLocation().getId() : null);
+        stockBalanceRepository.addToBalance(
+                id.getSupplyLotId(), id.getWarehouseId(), id.getLocationKey(), delta, LocalDateTime.now());
+        lotAllocationIndex.applyAfterCommit(Map.of(id, delta));
+    }
+
+    /**
+     * On-hand quantity at one location, or over all locations of the warehouse
+     * when {@code locationId} is null.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getOnHand(Integer supplyLotId, Integer warehouseId, Integer locationId) {
+        if (locationId == null) {
+            return stockBalanceRepository.sumQuantity(supplyLotId, warehouseId);
+        }
+        return stockBalanceRepository.findById(StockBalanceId.of(supplyLotId, warehouseId, locationId))
+                .map(StockBalance::getQuantity)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Same as {@link #getOnHand}, but locks the balance rows read until the
+     * current transaction ends, so a concurrent OUT cannot spend the same stock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal lockOnHand(Integer supplyLotId, Integer warehouseId, Integer locationId) {
+        List<StockBalance> rows = locationId == null
+                ? stockBalanceRepository.lockAllLocations(supplyLotId, warehouseId)
+                : stockBalanceRepository.lockById(StockBalanceId.of(supplyLotId, warehouseId, locationId));
+        return rows.stream()
+                .map(StockBalance::getQuantity)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Takes {@code quantity} of the lot out of the warehouse if it is on hand.
+     * With a location the stock must be at that location; without one the
+     * total over all locations counts and the draw is booked on the
+     * no-location row, as the ledger always did.
+     * <p>
+     * The (lot, warehouse) stripe stays locked until the transaction
+     * completes, so the next OUT for the lot sees this one committed.
+     *
+     * @return false when not enough stock is on hand
+     * @throws AppException {@link ErrorCode#STOCK_BUSY} when the lot stays
+     *                      locked longer than the configured timeout
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean withdraw(Integer supplyLotId, Integer warehouseId, Integer locationId, BigDecimal quantity) {
+        lockUntilCompletion(stockLocks.get(stripeKey(supplyLotId, warehouseId)));
+
+        LocalDateTime now = LocalDateTime.now();
+        StockBalanceId id = StockBalanceId.of(supplyLotId, warehouseId, locationId);
+        if (locationId != null) {
+            if (stockBalanceRepository.withdrawIfAvailable(id, quantity, now) != 1) {
+                return false;
+            }
+        } else {
+            if (lockOnHand(supplyLotId, warehouseId, null).compareTo(quantity) < 0) {
+                return false;
+            }
+            stockBalanceRepository.addToBalance(
+                    supplyLotId, warehouseId, StockBalanceId.NO_LOCATION, quantity.negate(), now);
+        }
+        lotAllocationIndex.applyAfterCommit(Map.of(id, quantity.negate()));
+        return true;
+    }
+
+    /**
+     * Batch counterpart of {@link #withdraw}: locks the (lot, warehouse) of
+     * every key until the transaction completes and returns the current
+     * balance of every location of those pairs, so the caller can validate
+     * a sequence of movements in memory. Book the result with
+     * {@link #applyDeltas}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<StockBalanceId, BigDecimal> lockBalances(Collection<StockBalanceId> keys) {
+        Map<StockBalanceId, BigDecimal> balances = new HashMap<>();
+        if (keys.isEmpty()) {
+            return balances;
+        }
+
+        Set<List<Integer>> pairs = keys.stream()
+                .map(k -> stripeKey(k.getSupplyLotId(), k.getWarehouseId()))
+                .collect(Collectors.toSet());
+        // Stripe order, so two batches touching the same lots cannot deadlock
+        stockLocks.getAll(pairs).forEach(this::lockUntilCompletion);
+
+        Set<Integer> lotIds = keys.stream().map(StockBalanceId::getSupplyLotId).collect(Collectors.toSet());
+        Set<Integer> warehouseIds = keys.stream().map(StockBalanceId::getWarehouseId).collect(Collectors.toSet());
+        for (StockBalance balance : stockBalanceRepository.lockAllLocationsIn(lotIds, warehouseIds)) {
+            StockBalanceId id = balance.getId();
+            if (pairs.contains(stripeKey(id.getSupplyLotId(), id.getWarehouseId()))) {
+                balances.put(id, balance.getQuantity());
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Adds net per-key deltas (OUT already negative) in one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDeltas(Map<StockBalanceId, BigDecimal> deltas) {
+        stockLedgerBatchRepository.addToBalances(deltas, LocalDateTime.now());
+        lotAllocationIndex.applyAfterCommit(deltas);
+    }
+
+    private static List<Integer> stripeKey(Integer supplyLotId, Integer warehouseId) {
+        return List.of(supplyLotId, warehouseId);
+    }
+
+    private void lockUntilCompletion(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new AppException(ErrorCode.STOCK_BUSY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.STOCK_BUSY);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Replays the ledger and reports keys whose stored balance differs.
+     */
+    @Transactional(readOnly = true)
+    public StockBalanceVerifyResponse verify() {
+        Map<StockBalanceId, BigDecimal> balances = new HashMap<>();
+        stockBalanceRepository.findAll().forEach(b -> balances.put(b.getId(), b.getQuantity()));
+
+        List<StockBalanceVerifyResponse.Discrepancy> discrepancies = new ArrayList<>();
+        int mismatches = 0;
+        int checked = 0;
+        for (Object[] row : stockMovementRepository.sumOnHandByKey()) {
+            StockBalanceId id = StockBalanceId.of((Integer) row[0], (Integer) row[1], (Integer) row[2]);
+            BigDecimal ledger = toDecimal(row[3]);
+            BigDecimal stored = balances.remove(id);
+            checked++;
+            if (stored == null ? ledger.signum() != 0 : stored.compareTo(ledger) != 0) {
+                mismatches++;
+                addDiscrepancy(discrepancies, id, ledger, stored);
+            }
+        }
+        // Balance rows without any movement behind them
+        for (Map.Entry<StockBalanceId, BigDecimal> orphan : balances.entrySet()) {
+            checked++;
+            if (orphan.getValue().signum() != 0) {
+                mismatches++;
+                addDiscrepancy(discrepancies, orphan.getKey(), BigDecimal.ZERO, orphan.getValue());
+            }
+        }
+
+        return StockBalanceVerifyResponse.builder()
+                .keysChecked(checked)
+                .discrepancyCount(mismatches)
+                .rebuilt(false)
+                .discrepancies(discrepancies)
+                .build();
+    }
+
+    /**
+     * Discards every balance and recomputes it from the ledger in one
+     * statement. Returns the drift that was repaired.
+     */
+    public StockBalanceVerifyResponse rebuild() {
+        StockBalanceVerifyResponse before = verify();
+        stockBalanceRepository.deleteAllInBatch();
+        int rows = stockBalanceRepository.insertFromLedger(LocalDateTime.now());
+        log.info("Rebuilt {} stock balances from the movement ledger ({} discrepancies repaired)",
+                rows, before.getDiscrepancyCount());
+        lotAllocationIndex.reloadAfterCommit();
+        before.setRebuilt(true);
+        return before;
+    }
+
+    /**
+     * Backfills the read model on the first start after it was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (stockBalanceRepository.count() == 0 && stockMovementRepository.count() > 0) {
+            log.info("stock_balances is empty; building it from the movement ledger");
+            rebuild();
+        }
+    }
+
+    static BigDecimal delta(StockMovementType type, BigDecimal quantity) {
+        if (type == StockMovementType.IN) {
+            return quantity;
+        }
+        if (type == StockMovementType.OUT) {
+            return quantity.negate();
+        }
+        // ADJUST rows have never changed on-hand, matching the ledger query
+        return BigDecimal.ZERO;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(String.valueOf(value));
+    }
+
+    private static void addDiscrepancy(
+            List<StockBalanceVerifyResponse.Discrepancy> discrepancies,
+            StockBalanceId id,
+            BigDecimal ledger,
+            BigDecimal stored) {
+        if (discrepancies.size() >= MAX_REPORTED_DISCREPANCIES) {
+            return;
+        }
+        discrepancies.add(StockBalanceVerifyResponse.Discrepancy.builder()
+                .supplyLotId(id.getSupplyLotId())
+                .warehouseId(id.getWarehouseId())
+                .locationId(id.getLocationKey() == StockBalanceId.NO_LOCATION ? null : id.getLocationKey())
+                .ledgerQuantity(ledger)
+                .balanceQuantity(stored)
+                .build());
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.QuanLyMuaVu.Service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.DTO.Response.StockAsOfResponse;
+import org.example.QuanLyMuaVu.Entity.StockCheckpoint;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.StockCheckpointRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Point-in-time stock per warehouse.
+ * <p>
+ * A nightly job writes a checkpoint for every warehouse: the per-lot
+ * on-hand at midnight, computed from the previous checkpoint plus the
+ * movements since, so it never scans the whole ledger. An as-of query starts
+ * from the latest checkpoint at or before the requested instant and replays
+ * only the movements after it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StockCheckpointService {
+
+    private static final long NO_CHECKPOINT = -1L;
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    StockCheckpointRepository stockCheckpointRepository;
+    WarehouseRepository warehouseRepository;
+    FarmAccessService farmAccessService;
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Stock of one of the current user's warehouses at the end of
+     * {@code date}.
+     */
+    @Transactional(readOnly = true)
+    public StockAsOfResponse getOnHandAsOf(Integer warehouseId, LocalDate date) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        farmAccessService.assertCurrentUserCanAccessWarehouse(warehouse);
+        return replay(warehouse.getId(), endOf(date));
+    }
+
+    /**
+     * Stock of every warehouse at the end of {@code date}, e.g. for
+     * month-end valuation.
+     */
+    @Transactional(readOnly = true)
+    public List<StockAsOfResponse> getOnHandAsOfForAllWarehouses(LocalDate date) {
+        LocalDateTime cutoff = endOf(date);
+        return warehouseRepository.findAllIds().stream()
+                .map(warehouseId -> replay(warehouseId, cutoff))
+                .toList();
+    }
+
+    @Scheduled(cron = "${inventory.checkpoint-cron:0 30 0 * * *}")
+    public void checkpointAtStartOfToday() {
+        int created = createCheckpoints(LocalDate.now().atStartOfDay());
+        log.info("Created {} stock checkpoints", created);
+    }
+
+    /**
+     * Writes a checkpoint at {@code cutoff} for every warehouse that does not
+     * have one yet, one transaction per warehouse.
+     * <p>
+     * Only pass instants safely in the past: a movement still being recorded
+     * with an earlier date would be missing from the checkpoint. The nightly
+     * job leaves half an hour for that.
+     *
+     * @return number of checkpoints created
+     */
+    public int createCheckpoints(LocalDateTime cutoff) {
+        if (cutoff.isAfter(LocalDateTime.now())) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+        int created = 0;
+        for (Integer warehouseId : warehouseRepository.findAllIds()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> createCheckpoint(warehouseId, cutoff)))) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private boolean createCheckpoint(Integer warehouseId, LocalDateTime cutoff) {
+        if (stockCheckpointRepository.existsByWarehouseIdAndCutoff(warehouseId, cutoff)) {
+            return false;
+        }
+        // The newest earlier checkpoint; one at exactly this cutoff was ruled out above
+        Optional<StockCheckpoint> base = stockCheckpointRepository
+                .findFirstByWarehouseIdAndCutoffLessThanEqualOrderByCutoffDesc(warehouseId, cutoff);
+
+        StockCheckpoint checkpoint = stockCheckpointRepository.save(StockCheckpoint.builder()
+                .warehouseId(warehouseId)
+                .cutoff(cutoff)
+                .lotCount(0)
+                .createdAt(LocalDateTime.now())
+                .build());
+        int lines = stockCheckpointRepository.insertLines(
+                checkpoint.getId(),
+                base.map(StockCheckpoint::getId).orElse(NO_CHECKPOINT),
+                warehouseId,
+                base.map(StockCheckpoint::getCutoff).orElse(LEDGER_START),
+                cutoff);
+        checkpoint.setLotCount(lines);
+        return true;
+    }
+
+    private StockAsOfResponse replay(Integer warehouseId, LocalDateTime cutoff) {
+        Optional<StockCheckpoint> base = stockCheckpointRepository
+                .findFirstByWarehouseIdAndCutoffLessThanEqualOrderByCutoffDesc(warehouseId, cutoff);
+
+        List<StockAsOfResponse.LotQuantity> lots = stockCheckpointRepository.replay(
+                        base.map(StockCheckpoint::getId).orElse(NO_CHECKPOINT),
+                        warehouseId,
+                        base.map(StockCheckpoint::getCutoff).orElse(LEDGER_START),
+                        cutoff)
+                .stream()
+                .map(row -> StockAsOfResponse.LotQuantity.builder()
+                        .supplyLotId(((Number) row[0]).intValue())
+                        .quantity(toDecimal(row[1]))
+                        .build())
+                .toList();
+
+        return StockAsOfResponse.builder()
+                .warehouseId(warehouseId)
+                .cutoff(cutoff)
+                .checkpointCutoff(base.map(StockCheckpoint::getCutoff).orElse(null))
+                .lots(lots)
+                .build();
+    }
+
+    private static LocalDateTime endOf(LocalDate date) {
+        return date.plusDays(1).atStartOfDay();
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(String.valueOf(value));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.QuanLyMuaVu.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.DTO.Response.StockReportLine;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Warehouse-wide stock report read from the {@code stock_balances} read model
+ * in a single query, written to the response as the rows arrive.
+ * <p>
+ * The body keeps the usual {@code ApiResponse} envelope
+ * ({@code status}, {@code code}, {@code message}, {@code result}) so clients
+ * parse it like any other endpoint, but the {@code result} array is never
+ * held in memory. Access is checked by {@link #prepareWarehouseReport}
+ * before anything is written; an error while streaming can only cut the
+ * body short.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StockReportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    StockBalanceRepository stockBalanceRepository;
+    WarehouseRepository warehouseRepository;
+    FarmAccessService farmAccessService;
+    PlatformTransactionManager transactionManager;
+    ObjectMapper objectMapper;
+
+    public record WarehouseReportQuery(Integer warehouseId, LocalDate expiringBefore, boolean restrictedOnly) {
+    }
+
+    /**
+     * Validates the request and checks the current user's access to the
+     * warehouse.
+     *
+     * @param expiringWithinDays when set, only lots expiring within that many
+     *                           days (already expired lots included)
+     * @param restrictedOnly     when true, only restricted supply items
+     */
+    public WarehouseReportQuery prepareWarehouseReport(
+            Integer warehouseId, Integer expiringWithinDays, boolean restrictedOnly) {
+        Warehouse warehouse = warehouseRepository.findById(warehouseId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
+        farmAccessService.assertCurrentUserCanAccessWarehouse(warehouse);
+        if (expiringWithinDays != null && expiringWithinDays < 0) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        LocalDate expiringBefore = expiringWithinDays != null
+                ? LocalDate.now().plusDays(expiringWithinDays)
+                : null;
+        return new WarehouseReportQuery(warehouse.getId(), expiringBefore, restrictedOnly);
+    }
+
+    public void writeWarehouseReport(WarehouseReportQuery query, OutputStream out) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeNumberField("status", HttpStatus.OK.value());
+            json.writeStringField("code", "SUCCESS");
+            json.writeStringField("message", "OK");
+            json.writeArrayFieldStart("result");
+
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<StockReportLine> lines = stockBalanceRepository.streamWarehouseReport(
+                        query.warehouseId(), query.expiringBefore(), query.restrictedOnly())) {
+                    int written = 0;
+                    for (StockReportLine line : (Iterable<StockReportLine>) lines::iterator) {
+                        json.writeObject(line);
+                        if (++written % FLUSH_EVERY == 0) {
+                            json.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
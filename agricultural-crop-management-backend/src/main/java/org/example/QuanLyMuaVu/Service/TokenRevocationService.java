@@ -0,0 +1,161 @@
+package org.example.QuanLyMuaVu.Service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.example.QuanLyMuaVu.Entity.InvalidatedToken;
+import org.example.QuanLyMuaVu.Repository.InvalidatedTokenRepository;
+import org.example.QuanLyMuaVu.Util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation index for JWT ids ({@code jti}) so that the per-request
+ * authentication path does not query {@code invalidated_token} for tokens that
+ * were never revoked.
+ * <p>
+ * A Bloom filter answers "definitely not revoked" for almost every token in
+ * memory. Only filter hits (revoked tokens plus a small false-positive share)
+ * fall back to an exact primary-key lookup; confirmed false positives are
+ * remembered until the next rebuild. The filter is rebuilt from the rows still
+ * needed at startup and on a schedule, which also picks up revocations made by
+ * other nodes and drops ids no longer needed. Expired rows are deleted in
+ * batches by {@link #purgeExpired()}.
+ * <p>
+ * A row's {@code expiryTime} is the last moment its token is accepted
+ * anywhere, which is the end of the refresh window
+ * ({@code iat + jwt.refreshable-duration}) rather than {@code exp}: logout and
+ * refresh accept tokens until then.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenRevocationService {
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+    long bloomCapacity;
+    double bloomFalsePositiveRate;
+    int confirmedCacheSize;
+    int purgeBatchSize;
+
+    /**
+     * Serialises filter swaps with revocations so a revocation committed while a
+     * rebuild is reading the table is never lost.
+     */
+    Object rebuildLock = new Object();
+
+    @NonFinal
+    volatile BloomFilter filter;
+
+    /**
+     * jti -> time (epoch millis) a filter hit was confirmed not revoked.
+     * Cleared on every rebuild.
+     */
+    Map<String, Long> confirmedNotRevoked = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(
+            InvalidatedTokenRepository invalidatedTokenRepository,
+            @Value("${jwt.revocation-bloom-capacity:100000}") long bloomCapacity,
+            @Value("${jwt.revocation-bloom-fpp:0.01}") double bloomFalsePositiveRate,
+            @Value("${jwt.revocation-confirmed-cache-size:10000}") int confirmedCacheSize,
+            @Value("${jwt.revocation-purge-batch-size:500}") int purgeBatchSize) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.bloomCapacity = bloomCapacity;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.confirmedCacheSize = confirmedCacheSize;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @PostConstruct
+    void loadFromDatabase() {
+        int loaded = rebuild();
+        log.info("Revocation index built from {} non-expired revoked tokens", loaded);
+    }
+
+    /**
+     * Persists the revocation and makes it visible to {@link #isRevoked} on this
+     * node immediately.
+     *
+     * @param usableUntil last moment the token would otherwise be accepted,
+     *                    including for refresh; the revocation is kept until then
+     */
+    public void revoke(String jti, Date usableUntil) {
+        invalidatedTokenRepository.save(InvalidatedToken.builder().id(jti).expiryTime(usableUntil).build());
+        synchronized (rebuildLock) {
+            filter.put(jti);
+            confirmedNotRevoked.remove(jti);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (confirmedNotRevoked.containsKey(jti)) {
+            return false;
+        }
+
+        boolean revoked = invalidatedTokenRepository.existsById(jti);
+        if (!revoked) {
+            if (confirmedNotRevoked.size() >= confirmedCacheSize) {
+                confirmedNotRevoked.clear();
+            }
+            confirmedNotRevoked.put(jti, System.currentTimeMillis());
+        }
+        return revoked;
+    }
+
+    /**
+     * Rebuilds the filter from the revocations whose token can still be used
+     * (or refreshed) and swaps it in.
+     *
+     * @return number of revoked ids loaded
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-ms:30000}",
+            initialDelayString = "${jwt.revocation-sync-ms:30000}")
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            List<String> active = invalidatedTokenRepository.findIdsExpiringAfter(new Date());
+
+            BloomFilter rebuilt = new BloomFilter(
+                    Math.max(bloomCapacity, 2L * active.size()), bloomFalsePositiveRate);
+            active.forEach(rebuilt::put);
+
+            filter = rebuilt;
+            confirmedNotRevoked.clear();
+            return active.size();
+        }
+    }
+
+    /**
+     * Deletes revocation rows in batches once their token can no longer be
+     * used or refreshed, i.e. after the end of its refresh window; before
+     * that a revoked token could still be exchanged on refresh.
+     */
+    @Scheduled(cron = "${jwt.revocation-purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Date now = new Date();
+        long deleted = 0;
+        List<String> batch;
+        do {
+            batch = invalidatedTokenRepository.findIdsExpiredAt(now, PageRequest.of(0, purgeBatchSize));
+            if (!batch.isEmpty()) {
+                invalidatedTokenRepository.deleteAllByIdInBatch(batch);
+                deleted += batch.size();
+            }
+        } while (batch.size() == purgeBatchSize);
+
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+}
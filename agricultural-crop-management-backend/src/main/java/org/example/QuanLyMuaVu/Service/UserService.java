@@ -22,13 +22,15 @@ import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.FarmerMapper;
 import org.example.QuanLyMuaVu.Repository.RoleRepository;
 import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Repository.UserSpecifications;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
@@ -42,11 +44,11 @@ public class UserService {
 	UserRepository userRepository;
 	RoleRepository roleRepository;
 	FarmerMapper farmerMapper;
-	PasswordEncoder passwordEncoder;
+	PasswordHashingService passwordHashingService;
 
     public FarmerResponse createFarmer(FarmerCreationRequest request) {
         User user = farmerMapper.toUser(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
 
         HashSet<Role> roles = new HashSet<>();
         roleRepository.findByCode(PredefinedRole.FARMER_ROLE).ifPresent(roles::add);
@@ -69,7 +71,7 @@ public class UserService {
 
     public FarmerResponse createBuyer(FarmerCreationRequest request) {
         User user = farmerMapper.toUser(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
 
         HashSet<Role> roles = new HashSet<>();
         roleRepository.findByCode(PredefinedRole.BUYER_ROLE).ifPresent(roles::add);
@@ -97,7 +99,7 @@ public class UserService {
                 .build();
 
         User user = farmerMapper.toUser(creationRequest);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
 
         HashSet<Role> roles = new HashSet<>();
 
@@ -164,7 +166,7 @@ public class UserService {
             throw new AppException(ErrorCode.PASSWORD_INVALID);
         }
 
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         return farmerMapper.toFarmerResponse(userRepository.save(user));
     }
 
@@ -176,7 +178,7 @@ public class UserService {
             throw new AppException(ErrorCode.PASSWORD_INVALID);
         }
 
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         return farmerMapper.toFarmerResponse(userRepository.save(user));
     }
 
@@ -244,7 +246,7 @@ public class UserService {
             throw new AppException(ErrorCode.PASSWORD_INVALID);
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
     }
 
@@ -256,6 +258,21 @@ public class UserService {
         return searchUsersByRole(PredefinedRole.BUYER_ROLE, keyword, status, page, size);
     }
 
+    /**
+     * Cursor-mode variant of {@link #searchFarmers}: newest first, starting below
+     * the {@code after} user id.
+     */
+    public PageResponse<FarmerResponse> scrollFarmers(String keyword, String status, Long after, int limit) {
+        return scrollUsersByRole(PredefinedRole.FARMER_ROLE, keyword, status, after, limit);
+    }
+
+    /**
+     * Cursor-mode variant of {@link #searchBuyers}.
+     */
+    public PageResponse<FarmerResponse> scrollBuyers(String keyword, String status, Long after, int limit) {
+        return scrollUsersByRole(PredefinedRole.BUYER_ROLE, keyword, status, after, limit);
+    }
+
     public FarmerResponse adminUpdateUserProfile(Long userId, UserProfileUpdateRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
@@ -327,4 +344,28 @@ public class UserService {
 
         return PageResponse.of(pageData, items);
     }
+
+    private PageResponse<FarmerResponse> scrollUsersByRole(
+            String roleCode,
+            String keyword,
+            String status,
+            Long after,
+            int limit
+    ) {
+        UserStatus userStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                userStatus = UserStatus.fromCode(status);
+            } catch (IllegalArgumentException ex) {
+                throw new AppException(ErrorCode.BAD_REQUEST);
+            }
+        }
+
+        Specification<User> spec = Specification.allOf(
+                UserSpecifications.hasRole(roleCode),
+                UserSpecifications.hasStatus(userStatus),
+                UserSpecifications.usernameContains(keyword));
+
+        return PageQueryUtils.findSlice(userRepository, spec, after, limit, User::getId, farmerMapper::toFarmerResponse);
+    }
 }
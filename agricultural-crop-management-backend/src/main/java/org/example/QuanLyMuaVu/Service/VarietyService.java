@@ -3,6 +3,7 @@ package org.example.QuanLyMuaVu.Service;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.example.QuanLyMuaVu.Constant.CacheNames;
 import org.example.QuanLyMuaVu.DTO.Request.VarietyRequest;
 import org.example.QuanLyMuaVu.DTO.Response.VarietyResponse;
 import org.example.QuanLyMuaVu.Entity.Crop;
@@ -12,6 +13,9 @@ import org.example.QuanLyMuaVu.Exception.ErrorCode;
 import org.example.QuanLyMuaVu.Mapper.VarietyMapper;
 import org.example.QuanLyMuaVu.Repository.CropRepository;
 import org.example.QuanLyMuaVu.Repository.VarietyRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +31,7 @@ public class VarietyService {
     CropRepository cropRepository;
     VarietyMapper varietyMapper;
 
+    @CacheEvict(value = CacheNames.VARIETIES_BY_CROP, key = "#request.cropId")
     public VarietyResponse create(VarietyRequest request) {
         Crop crop = cropRepository.findById(request.getCropId())
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -36,6 +41,13 @@ public class VarietyService {
         return varietyMapper.toResponse(saved);
     }
 
+    /**
+     * The variety may move to another crop, so every per-crop list is dropped.
+     */
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.VARIETY, key = "#id"),
+            @CacheEvict(value = CacheNames.VARIETIES_BY_CROP, allEntries = true)
+    })
     public VarietyResponse update(Integer id, VarietyRequest request) {
         Variety variety = varietyRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -48,16 +60,24 @@ public class VarietyService {
         return varietyMapper.toResponse(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.VARIETY, key = "#id"),
+            @CacheEvict(value = CacheNames.VARIETIES_BY_CROP, allEntries = true)
+    })
     public void delete(Integer id) {
         varietyRepository.deleteById(id);
     }
 
+    @Cacheable(value = CacheNames.VARIETY, key = "#id")
+    @Transactional(readOnly = true)
     public VarietyResponse get(Integer id) {
         Variety variety = varietyRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.RESOURCE_NOT_FOUND));
         return varietyMapper.toResponse(variety);
     }
 
+    @Cacheable(value = CacheNames.VARIETIES_BY_CROP, key = "#cropId")
+    @Transactional(readOnly = true)
     public List<VarietyResponse> listByCrop(Integer cropId) {
         Crop crop = cropRepository.findById(cropId)
                 .orElseThrow(() -> new AppException(ErrorCode.CROP_NOT_FOUND));
@@ -0,0 +1,89 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal thread-safe Bloom filter for string keys.
+ * <p>
+ * {@link #mightContain} never returns false for a key that was added; it may
+ * return true for a key that was not (with roughly the configured false
+ * positive probability while the filter holds at most the expected number of
+ * keys). Keys cannot be removed; callers rebuild a fresh filter instead.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions number of keys the filter is sized for
+     * @param falsePositiveRate  target false positive probability, e.g. 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) >>> 6));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combined) {
+        // Flip negative values so every hash maps into [0, bitCount)
+        int positive = combined < 0 ? ~combined : combined;
+        return positive % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the splitmix64 mixer so
+     * both 32-bit halves are well distributed.
+     */
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
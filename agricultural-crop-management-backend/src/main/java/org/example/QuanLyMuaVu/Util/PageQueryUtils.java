@@ -0,0 +1,125 @@
+package org.example.QuanLyMuaVu.Util;
+
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers for list endpoints that filter with a {@link Specification} and page
+ * in the database.
+ */
+public final class PageQueryUtils {
+
+    /**
+     * Default ordering of every farmer listing: newest record first.
+     */
+    public static final Sort DEFAULT_SORT = Sort.by("id").descending();
+
+    /**
+     * Upper bound for {@code limit} in cursor mode.
+     */
+    public static final int MAX_CURSOR_LIMIT = 200;
+
+    private PageQueryUtils() {
+    }
+
+    /**
+     * Parses a {@code field[,asc|desc]} sort parameter. Only fields listed in
+     * {@code sortableFields} are accepted; {@code id} is appended as a tie-breaker
+     * so pages stay stable when the sort field has duplicates.
+     *
+     * @throws AppException {@link ErrorCode#BAD_REQUEST} for unknown fields or
+     *                      directions
+     */
+    public static Sort resolveSort(String sort, Set<String> sortableFields) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT_SORT;
+        }
+
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!sortableFields.contains(field) || parts.length > 2) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new AppException(ErrorCode.BAD_REQUEST));
+        }
+
+        Sort resolved = Sort.by(direction, field);
+        return "id".equals(field) ? resolved : resolved.and(DEFAULT_SORT);
+    }
+
+    /**
+     * Runs the specification as one paged select plus one count query and maps
+     * only the rows of the requested page.
+     */
+    public static <T, R> PageResponse<R> findPage(
+            JpaSpecificationExecutor<T> repository,
+            Specification<T> spec,
+            int page,
+            int size,
+            Sort sort,
+            Function<T, R> mapper) {
+        if (page < 0 || size < 1) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+        Page<T> pageData = repository.findAll(spec, PageRequest.of(page, size, sort));
+        List<R> items = pageData.getContent().stream()
+                .map(mapper)
+                .toList();
+        return PageResponse.of(pageData, items);
+    }
+
+    /**
+     * Keyset (cursor) variant of {@link #findPage}: returns up to {@code limit}
+     * rows with an id strictly below {@code after}, newest first. The database
+     * seeks directly to the cursor through the primary key, so the cost of a
+     * page does not grow with how deep the client has scrolled, and no count
+     * query is issued.
+     *
+     * @param after last id of the previous page, or null for the first page
+     */
+    public static <T, I extends Number & Comparable<? super I>, R> PageResponse<R> findSlice(
+            JpaSpecificationExecutor<T> repository,
+            Specification<T> spec,
+            I after,
+            int limit,
+            Function<T, I> idGetter,
+            Function<T, R> mapper) {
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new AppException(ErrorCode.BAD_REQUEST);
+        }
+
+        Specification<T> keyset = after == null ? spec : spec.and(idBefore(after));
+        // Fetch one extra row to learn whether another page exists
+        List<T> rows = repository.<T, List<T>>findBy(keyset, query -> query
+                .sortBy(DEFAULT_SORT)
+                .limit(limit + 1)
+                .all());
+
+        boolean hasMore = rows.size() > limit;
+        List<T> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? idGetter.apply(pageRows.get(limit - 1)).longValue() : null;
+
+        List<R> items = pageRows.stream()
+                .map(mapper)
+                .toList();
+        return PageResponse.ofCursor(items, limit, nextCursor);
+    }
+
+    private static <T, I extends Comparable<? super I>> Specification<T> idBefore(I after) {
+        return (root, query, cb) -> cb.lessThan(root.<I>get("id"), after);
+    }
+}
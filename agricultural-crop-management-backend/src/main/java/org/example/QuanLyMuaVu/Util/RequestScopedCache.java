@@ -0,0 +1,43 @@
+package org.example.QuanLyMuaVu.Util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Memoizes values for the lifetime of the current HTTP request, stored as
+ * request attributes. Outside a web request (scheduled jobs, startup) nothing
+ * is cached and the loader runs on every call.
+ */
+public final class RequestScopedCache {
+
+    private static final String ATTRIBUTE_PREFIX = RequestScopedCache.class.getName() + ".";
+
+    private RequestScopedCache() {
+    }
+
+    /**
+     * Returns the value cached under {@code key} for this request, loading and
+     * caching it on first use. Null results are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T computeIfAbsent(String key, Supplier<T> loader) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return loader.get();
+        }
+
+        String attribute = ATTRIBUTE_PREFIX + key;
+        Object cached = request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            request.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
+    }
+}
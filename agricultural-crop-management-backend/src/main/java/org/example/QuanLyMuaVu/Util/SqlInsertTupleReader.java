@@ -0,0 +1,207 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming reader for the value tuples of {@code INSERT INTO ... VALUES}
+ * statements in a MySQL dump.
+ * <p>
+ * The input is consumed one character at a time, so memory use is bounded by
+ * the longest single tuple rather than the size of the file. Other statements
+ * ({@code CREATE TABLE}, {@code LOCK TABLES}, comments) are skipped. Values
+ * are returned as strings with quotes removed and escapes resolved;
+ * {@code NULL} becomes {@code null}.
+ */
+public final class SqlInsertTupleReader {
+
+    /**
+     * Receives each tuple together with the (unquoted, lower-case) table name
+     * of the statement it belongs to.
+     */
+    @FunctionalInterface
+    public interface TupleHandler {
+        void onTuple(String table, List<String> values);
+    }
+
+    private static final int EOF = -1;
+    private static final String INSERT_INTO = "insert into";
+    private static final String VALUES = "values";
+
+    private final Reader reader;
+    private int peeked = Integer.MIN_VALUE;
+
+    public SqlInsertTupleReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the whole input, passing every INSERT tuple to {@code handler}.
+     */
+    public void forEachTuple(TupleHandler handler) throws IOException {
+        StringBuilder header = new StringBuilder();
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '`') {
+                // Keep identifiers so the table name can be read back
+                header.append((char) c);
+                readQuoted(c, header);
+                header.append((char) c);
+            } else if (c == '\'' || c == '"') {
+                skipQuoted(c);
+            } else if (c == '-' && peek() == '-') {
+                skipLine();
+            } else if (c == '/' && peek() == '*') {
+                read();
+                skipBlockComment();
+            } else if (c == ';') {
+                header.setLength(0);
+            } else {
+                header.append((char) c);
+                String table = insertTarget(header);
+                if (table != null) {
+                    readTuples(table, handler);
+                    header.setLength(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the table name once {@code header} ends with the VALUES keyword
+     * of an INSERT statement, otherwise null.
+     */
+    private static String insertTarget(StringBuilder header) {
+        int length = header.length();
+        if (length < VALUES.length()
+                || !header.substring(length - VALUES.length()).equalsIgnoreCase(VALUES)) {
+            return null;
+        }
+
+        String statement = header.toString().toLowerCase(Locale.ROOT);
+        int insert = statement.indexOf(INSERT_INTO);
+        if (insert < 0) {
+            return null;
+        }
+
+        String rest = statement.substring(insert + INSERT_INTO.length()).trim();
+        int end = 0;
+        while (end < rest.length()
+                && !Character.isWhitespace(rest.charAt(end))
+                && rest.charAt(end) != '(') {
+            end++;
+        }
+        return rest.substring(0, end).replace("`", "");
+    }
+
+    private void readTuples(String table, TupleHandler handler) throws IOException {
+        int c;
+        while ((c = read()) != EOF && c != ';') {
+            if (c == '(') {
+                handler.onTuple(table, readTuple());
+            }
+        }
+    }
+
+    private List<String> readTuple() throws IOException {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '\'' || c == '"') {
+                // Drop the whitespace between the separator and the opening quote
+                value.setLength(0);
+                readQuoted(c, value);
+                quoted = true;
+            } else if (c == ',' || c == ')') {
+                values.add(quoted ? value.toString() : unquotedValue(value));
+                value.setLength(0);
+                quoted = false;
+                if (c == ')') {
+                    return values;
+                }
+            } else if (!quoted) {
+                value.append((char) c);
+            }
+        }
+        throw new IOException("Unterminated value tuple");
+    }
+
+    private static String unquotedValue(StringBuilder value) {
+        String trimmed = value.toString().trim();
+        return trimmed.equalsIgnoreCase("null") ? null : trimmed;
+    }
+
+    private void readQuoted(int quote, StringBuilder target) throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '\\') {
+                int escaped = read();
+                if (escaped == EOF) {
+                    break;
+                }
+                target.append(unescape(escaped));
+            } else if (c == quote) {
+                if (peek() != quote) {
+                    return;
+                }
+                // Doubled quote inside a quoted value
+                target.append((char) read());
+            } else {
+                target.append((char) c);
+            }
+        }
+        throw new IOException("Unterminated quoted value");
+    }
+
+    private static char unescape(int c) {
+        return switch (c) {
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case '0' -> '\0';
+            default -> (char) c;
+        };
+    }
+
+    private void skipQuoted(int quote) throws IOException {
+        readQuoted(quote, new StringBuilder());
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != EOF && c != '\n') {
+            // skip
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '*' && peek() == '/') {
+                read();
+                return;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != Integer.MIN_VALUE) {
+            int c = peeked;
+            peeked = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == Integer.MIN_VALUE) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
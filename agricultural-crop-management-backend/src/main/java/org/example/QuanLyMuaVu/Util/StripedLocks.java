@@ -0,0 +1,61 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by key hash.
+ * <p>
+ * Work on the same key always maps to the same lock, while unrelated keys
+ * usually map to different ones, so contention stays limited to callers that
+ * really share data without keeping one lock object per key. Two keys can
+ * share a stripe; that only costs some waiting, never correctness.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes number of locks, rounded up to a power of two
+     */
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(Object key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * Distinct locks covering {@code keys}, in stripe order. Callers that take
+     * several locks must take them in this order so they cannot deadlock each
+     * other.
+     */
+    public List<ReentrantLock> getAll(Collection<?> keys) {
+        BitSet indexes = new BitSet(stripes.length);
+        keys.forEach(key -> indexes.set(indexOf(key)));
+        List<ReentrantLock> locks = new ArrayList<>(indexes.cardinality());
+        indexes.stream().forEach(i -> locks.add(stripes[i]));
+        return locks;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+
+    private int indexOf(Object key) {
+        int h = key.hashCode();
+        // Spread the high bits so keys differing only there do not collide
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
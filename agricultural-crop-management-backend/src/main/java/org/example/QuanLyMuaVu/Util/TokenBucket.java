@@ -0,0 +1,51 @@
+package org.example.QuanLyMuaVu.Util;
+
+import java.time.Duration;
+
+/**
+ * Token bucket rate limiter: holds up to {@code capacity} tokens and regains
+ * them evenly over {@code refillPeriod}, so callers get a burst of
+ * {@code capacity} and then {@code capacity} per period. Thread-safe.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, Duration refillPeriod) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) refillPeriod.toNanos();
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @return false if the bucket is empty
+     */
+    public synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Whether a token is available, without taking it.
+     */
+    public synchronized boolean hasToken() {
+        refill();
+        return tokens >= 1;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,31 @@
+-- Transactional outbox for domain events. Services insert the event in the same transaction
+-- as the change; DomainEventDispatcher publishes pending rows in the background, in id order
+-- per aggregate, and retries failures with backoff.
+
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id        VARCHAR(36) NOT NULL,
+    event_type      VARCHAR(50) NOT NULL,
+    aggregate_type  VARCHAR(50) NOT NULL,
+    aggregate_id    VARCHAR(64) NOT NULL,
+    payload         TEXT NOT NULL,
+    occurred_on     DATETIME(6) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    attempts        INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NULL,
+    last_error      VARCHAR(500) NULL,
+    dispatched_at   DATETIME(6) NULL,
+    CONSTRAINT uk_domain_event_outbox_event_id UNIQUE (event_id)
+);
+
+-- The dispatcher polls the oldest PENDING rows
+CREATE INDEX IF NOT EXISTS idx_domain_event_outbox_status_id ON domain_event_outbox(status, id);
+
+-- ...and skips aggregates whose earlier pending row is still waiting for its retry
+CREATE INDEX IF NOT EXISTS idx_domain_event_outbox_aggregate
+    ON domain_event_outbox(aggregate_type, aggregate_id, status, id);
+
+-- Notes:
+-- 1. Status is PENDING, DISPATCHED or DEAD. DEAD rows (retries exhausted or unreadable payload)
+--    are kept for inspection; set them back to PENDING with attempts = 0 to replay.
+-- 2. DISPATCHED rows older than outbox.retention are purged nightly.
@@ -0,0 +1,14 @@
+-- Compact audit snapshots. New entries store gzipped JSON in snapshot_blob: either the full
+-- entity state (FULL, a keyframe) or only the fields changed since base_audit_log_id (DIFF).
+-- The state at any audit_log_id is rebuilt from the nearest keyframe plus the diffs after it.
+
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS snapshot_format VARCHAR(10) NULL;
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS base_audit_log_id BIGINT NULL;
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS snapshot_blob MEDIUMBLOB NULL;
+
+-- Notes:
+-- 1. Rows written before this migration keep their JSON in snapshot_data and have no
+--    snapshot_format; they are read as they are.
+-- 2. A version of an entity is the audit_log_id of its entry. A keyframe is written at least
+--    every audit.keyframe-interval entries per entity, so a rebuild reads at most that many rows.
+-- 3. Never delete a FULL row while later DIFF rows of the same entity are kept.
@@ -0,0 +1,29 @@
+-- Monthly range partitions on audit_logs.performed_at, for the 2-year retention policy of V3.
+-- AuditLogArchiver adds the partitions for the coming months every night and moves partitions
+-- older than audit.retention-months to compressed segment files (AuditArchiveStore) before
+-- dropping them, so the live table and its indexes only ever cover the retention period.
+-- The schema is managed by Hibernate (ddl-auto=update), so this script is not run automatically:
+-- AuditLogArchiver.partitionIfNeeded applies the same DDL on startup when the table is not
+-- partitioned yet (audit.partition-on-startup, default true), with p_history ending at the
+-- current month. Run this script by hand only to partition ahead of deploying.
+
+-- MySQL requires the partitioning column in every unique key, including the primary key
+ALTER TABLE audit_logs DROP PRIMARY KEY, ADD PRIMARY KEY (audit_log_id, performed_at);
+
+ALTER TABLE audit_logs PARTITION BY RANGE (TO_DAYS(performed_at)) (
+    PARTITION p_history VALUES LESS THAN (TO_DAYS('2026-11-01')),
+    PARTITION p202611 VALUES LESS THAN (TO_DAYS('2026-12-01')),
+    PARTITION p202612 VALUES LESS THAN (TO_DAYS('2027-01-01')),
+    PARTITION p202701 VALUES LESS THAN (TO_DAYS('2027-02-01')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- Notes:
+-- 1. Partition names are pYYYYMM for the month they hold; p_future catches everything after the
+--    last month and is split by the nightly job. Do not rename them, the job relies on the names.
+-- 2. Rows from before November 2026 stay together in p_history and are archived as one segment
+--    once its newest month passes the retention period.
+-- 3. audit_log_id is still unique (AUTO_INCREMENT), it is just no longer enforced by the key.
+-- 4. Partitioned InnoDB tables cannot have foreign keys; audit_logs has none.
+-- 5. Archived segments live in audit.archive-dir. Back that directory up with the database:
+--    dropped partitions exist nowhere else.
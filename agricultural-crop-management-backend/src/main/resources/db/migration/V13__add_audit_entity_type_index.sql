@@ -0,0 +1,8 @@
+-- Audit entries now come from every entity marked @AuditedEntity (EntityAuditListener), not
+-- just farms. Supports listing the entries of one entity type, newest first.
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_type_performed ON audit_logs(entity_type, performed_at);
+
+-- Notes:
+-- 1. entity_type values: FARM, PLOT, SEASON, EXPENSE, HARVEST, STOCK_MOVEMENT.
+-- 2. Listener entries use the operations CREATE, UPDATE and DELETE and have no reason or IP address.
@@ -0,0 +1,15 @@
+-- Migration script for adding indexes used by the season child-record listings
+-- (tasks, expenses, field logs, harvests). Listings filter by season and order by id
+-- descending, so (season_id, <pk>) lets MySQL read a page straight from the index.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_season_id ON tasks(season_id, task_id);
+
+CREATE INDEX IF NOT EXISTS idx_expenses_season_id ON expenses(season_id, expense_id);
+
+CREATE INDEX IF NOT EXISTS idx_field_logs_season_id ON field_logs(season_id, field_log_id);
+
+CREATE INDEX IF NOT EXISTS idx_harvests_season_id ON harvests(season_id, harvest_id);
+
+-- Notes:
+-- 1. Date filters (expense_date, log_date, harvest_date, due_date) are applied on top of the
+--    season range; add (season_id, <date>) indexes only if date-sorted listings become hot
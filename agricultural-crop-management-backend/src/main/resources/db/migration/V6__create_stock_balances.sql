@@ -0,0 +1,19 @@
+-- Read model of the stock movement ledger: on-hand quantity per (lot, warehouse, location)
+-- Maintained by StockBalanceService in the same transaction as every stock_movements insert.
+-- location_key is the stock location id, or 0 for movements recorded without a location.
+
+CREATE TABLE IF NOT EXISTS stock_balances (
+    supply_lot_id INT NOT NULL,
+    warehouse_id  INT NOT NULL,
+    location_key  INT NOT NULL,
+    quantity      DECIMAL(18, 3) NOT NULL,
+    updated_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (supply_lot_id, warehouse_id, location_key)
+);
+
+-- Notes:
+-- 1. The table is filled from the ledger on the first startup that finds it empty, and
+--    on demand through POST /api/v1/admin/stock-balances/rebuild.
+-- 2. Reads for one location are a primary key lookup; warehouse-wide reads scan the
+--    (supply_lot_id, warehouse_id) prefix of the primary key, one row per location.
+-- 3. GET /api/v1/admin/stock-balances/verify reports any drift from the ledger.
@@ -0,0 +1,29 @@
+-- Point-in-time stock: per-warehouse checkpoints of on-hand per lot, written nightly by
+-- StockCheckpointService. An as-of query reads the nearest checkpoint and replays only the
+-- movements dated after it.
+
+CREATE TABLE IF NOT EXISTS stock_checkpoints (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    warehouse_id INT NOT NULL,
+    cutoff       DATETIME(6) NOT NULL,
+    lot_count    INT NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    CONSTRAINT uk_stock_checkpoints_warehouse_cutoff UNIQUE (warehouse_id, cutoff)
+);
+
+-- Lots with zero stock have no line
+CREATE TABLE IF NOT EXISTS stock_checkpoint_lines (
+    checkpoint_id BIGINT NOT NULL,
+    supply_lot_id INT NOT NULL,
+    quantity      DECIMAL(18, 3) NOT NULL,
+    PRIMARY KEY (checkpoint_id, supply_lot_id)
+);
+
+-- Replay reads one warehouse's movements in a date range
+CREATE INDEX IF NOT EXISTS idx_stock_movements_warehouse_date ON stock_movements(warehouse_id, movement_date);
+
+-- Notes:
+-- 1. cutoff is exclusive: a checkpoint holds the effect of movements dated before it.
+-- 2. Each checkpoint is built from the previous one plus the movements in between, so the
+--    nightly job only reads one day of ledger per warehouse.
+-- 3. Earlier checkpoints for past dates: POST /api/v1/admin/stock-balances/checkpoints?date=...
@@ -0,0 +1,11 @@
+-- Index for the season overlap check (SeasonOverlapService). The check asks whether any
+-- PLANNED or ACTIVE season on a plot overlaps a date range, so (plot_id, status, start_date)
+-- narrows it to the plot's open seasons, with the start-date bound read from the index.
+
+CREATE INDEX IF NOT EXISTS idx_seasons_plot_status_start ON seasons(plot_id, status, start_date);
+
+-- Notes:
+-- 1. Completed, cancelled and archived seasons are never read by the check, however many a
+--    plot accumulates.
+-- 2. At most a handful of seasons per plot are PLANNED or ACTIVE at once, since the check
+--    itself keeps them from overlapping.
@@ -0,0 +1,10 @@
+-- Optimistic lock version for seasons. Harvest writes add their quantity delta to
+-- seasons.actual_yield_kg and bump the version, so an edit made from a stale copy of the
+-- season fails with ERR_SEASON_CONCURRENT_UPDATE instead of overwriting the yield.
+
+ALTER TABLE seasons ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Notes:
+-- 1. Existing actual_yield_kg values are left as they are; SeasonYieldVerifier recomputes
+--    any season whose yield differs from the sum of its harvests shortly after startup.
+-- 2. The verifier groups harvests by season_id, served by idx_harvests_season_id (V5).
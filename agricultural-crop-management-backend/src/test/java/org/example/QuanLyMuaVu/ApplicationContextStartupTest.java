@@ -0,0 +1,19 @@
+package org.example.QuanLyMuaVu;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Loads the full application context against an in-memory H2 database, so a
+ * wiring error such as an ambiguous bean fails the build without a MySQL
+ * server.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ApplicationContextStartupTest {
+
+    @Test
+    void contextLoads() {
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.QuanLyMuaVu.service;
+
+import org.example.QuanLyMuaVu.Entity.Crop;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Entity.Plot;
+import org.example.QuanLyMuaVu.Entity.Province;
+import org.example.QuanLyMuaVu.Entity.Season;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Entity.Ward;
+import org.example.QuanLyMuaVu.Enums.SeasonStatus;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Service.CurrentUserService;
+import org.example.QuanLyMuaVu.Service.FarmAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * The set-based checks of {@link FarmAccessService} against the ownership
+ * queries running on H2.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(FarmAccessService.class)
+class FarmAccessServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private FarmAccessService farmAccessService;
+
+    @MockitoBean
+    private CurrentUserService currentUserService;
+
+    private Plot ownPlot;
+    private Plot otherPlot;
+    private Season ownSeason;
+    private Season otherSeason;
+
+    @BeforeEach
+    void setUp() {
+        Province province = em.persist(Province.builder()
+                .id(1).name("P").slug("p").type("tinh").nameWithType("Tinh P").build());
+        Ward ward = em.persist(Ward.builder()
+                .id(1).name("W").slug("w").type("xa").nameWithType("Xa W").province(province).build());
+        Crop crop = em.persist(Crop.builder().cropName("Rice").build());
+
+        User me = em.persist(User.builder().username("me").build());
+        User other = em.persist(User.builder().username("other").build());
+        ownPlot = em.persist(plot(farm(me, province, ward), me));
+        otherPlot = em.persist(plot(farm(other, province, ward), other));
+        ownSeason = em.persist(season(ownPlot, crop));
+        otherSeason = em.persist(season(otherPlot, crop));
+        em.flush();
+
+        when(currentUserService.getCurrentUser()).thenReturn(me);
+    }
+
+    @Test
+    void assertCurrentUserCanAccessPlots_ownPlots_passes() {
+        assertDoesNotThrow(() -> farmAccessService.assertCurrentUserCanAccessPlots(
+                Arrays.asList(ownPlot.getId(), ownPlot.getId(), null)));
+    }
+
+    @Test
+    void assertCurrentUserCanAccessPlots_anyForeignOrUnknownPlot_isForbidden() {
+        AppException foreign = assertThrows(AppException.class, () -> farmAccessService
+                .assertCurrentUserCanAccessPlots(List.of(ownPlot.getId(), otherPlot.getId())));
+        AppException unknown = assertThrows(AppException.class, () -> farmAccessService
+                .assertCurrentUserCanAccessPlots(List.of(ownPlot.getId(), -1)));
+
+        assertEquals(ErrorCode.FORBIDDEN, foreign.getErrorCode());
+        assertEquals(ErrorCode.FORBIDDEN, unknown.getErrorCode());
+    }
+
+    @Test
+    void filterAccessibleSeasonIds_keepsOwnSeasonsInRequestOrder() {
+        Set<Integer> accessible = farmAccessService.filterAccessibleSeasonIds(
+                List.of(otherSeason.getId(), ownSeason.getId(), -1));
+
+        assertEquals(List.of(ownSeason.getId()), List.copyOf(accessible));
+    }
+
+    @Test
+    void filterAccessibleSeasonIds_empty_returnsEmpty() {
+        assertEquals(Set.of(), farmAccessService.filterAccessibleSeasonIds(List.of()));
+    }
+
+    private Farm farm(User owner, Province province, Ward ward) {
+        return em.persist(Farm.builder()
+                .owner(owner).name(owner.getUsername() + "'s farm")
+                .province(province).ward(ward).active(true)
+                .build());
+    }
+
+    private static Plot plot(Farm farm, User user) {
+        return Plot.builder().farm(farm).user(user).plotName("Plot of " + user.getUsername()).build();
+    }
+
+    private static Season season(Plot plot, Crop crop) {
+        return Season.builder()
+                .seasonName("Spring")
+                .plot(plot)
+                .crop(crop)
+                .startDate(LocalDate.of(2025, 2, 1))
+                .status(SeasonStatus.PLANNED)
+                .initialPlantCount(100)
+                .build();
+    }
+}
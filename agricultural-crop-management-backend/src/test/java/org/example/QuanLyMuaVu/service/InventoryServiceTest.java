@@ -0,0 +1,186 @@
+package org.example.QuanLyMuaVu.service;
+
+import org.example.QuanLyMuaVu.DTO.Request.IssueStockRequest;
+import org.example.QuanLyMuaVu.DTO.Response.StockIssueResponse;
+import org.example.QuanLyMuaVu.DTO.Response.StockMovementResponse;
+import org.example.QuanLyMuaVu.Entity.Farm;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.example.QuanLyMuaVu.Entity.StockLocation;
+import org.example.QuanLyMuaVu.Entity.SupplyLot;
+import org.example.QuanLyMuaVu.Entity.Warehouse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.SeasonRepository;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockLedgerBatchRepository;
+import org.example.QuanLyMuaVu.Repository.StockLocationRepository;
+import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyItemRepository;
+import org.example.QuanLyMuaVu.Repository.SupplyLotRepository;
+import org.example.QuanLyMuaVu.Repository.TaskRepository;
+import org.example.QuanLyMuaVu.Repository.WarehouseRepository;
+import org.example.QuanLyMuaVu.Service.EntityAuditListener;
+import org.example.QuanLyMuaVu.Service.FarmAccessService;
+import org.example.QuanLyMuaVu.Service.InventoryService;
+import org.example.QuanLyMuaVu.Service.LotAllocationIndex;
+import org.example.QuanLyMuaVu.Service.StockBalanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InventoryService#issueStock} against mocked repositories: how the
+ * quantity is split over lots and locations, and where the candidate lots
+ * come from.
+ */
+class InventoryServiceTest {
+
+    private static final int FARM = 3;
+    private static final int WAREHOUSE = 1;
+    private static final int ITEM = 9;
+    private static final int LOT_A = 10;
+    private static final int LOT_B = 11;
+    private static final int SHELF = 7;
+
+    private WarehouseRepository warehouseRepository;
+    private StockLocationRepository stockLocationRepository;
+    private SupplyLotRepository supplyLotRepository;
+    private StockBalanceService stockBalanceService;
+    private StockBalanceRepository stockBalanceRepository;
+    private LotAllocationIndex lotAllocationIndex;
+    private InventoryService service;
+
+    // What lockBalances returns, per lot
+    private final Map<Integer, Map<StockBalanceId, BigDecimal>> lockedByLot = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        warehouseRepository = Mockito.mock(WarehouseRepository.class);
+        stockLocationRepository = Mockito.mock(StockLocationRepository.class);
+        supplyLotRepository = Mockito.mock(SupplyLotRepository.class);
+        stockBalanceService = Mockito.mock(StockBalanceService.class);
+        stockBalanceRepository = Mockito.mock(StockBalanceRepository.class);
+        lotAllocationIndex = Mockito.mock(LotAllocationIndex.class);
+        SupplyItemRepository supplyItemRepository = Mockito.mock(SupplyItemRepository.class);
+        FarmAccessService farmAccessService = Mockito.mock(FarmAccessService.class);
+        service = new InventoryService(
+                warehouseRepository,
+                stockLocationRepository,
+                supplyLotRepository,
+                Mockito.mock(StockMovementRepository.class),
+                Mockito.mock(SeasonRepository.class),
+                Mockito.mock(TaskRepository.class),
+                farmAccessService,
+                stockBalanceService,
+                Mockito.mock(StockLedgerBatchRepository.class),
+                stockBalanceRepository,
+                supplyItemRepository,
+                lotAllocationIndex,
+                Mockito.mock(EntityAuditListener.class));
+
+        Warehouse warehouse = Warehouse.builder().id(WAREHOUSE).farm(Farm.builder().id(FARM).build()).build();
+        when(warehouseRepository.findById(WAREHOUSE)).thenReturn(Optional.of(warehouse));
+        when(warehouseRepository.findAllById(any())).thenReturn(List.of(warehouse));
+        when(supplyLotRepository.findAllById(any())).thenReturn(List.of(
+                SupplyLot.builder().id(LOT_A).build(),
+                SupplyLot.builder().id(LOT_B).build()));
+        when(stockLocationRepository.findAllById(any())).thenReturn(List.of(
+                StockLocation.builder().id(SHELF).warehouse(warehouse).build()));
+        when(supplyItemRepository.existsById(ITEM)).thenReturn(true);
+        when(farmAccessService.getAccessibleFarmIdsForCurrentUser()).thenReturn(List.of(FARM));
+        when(stockBalanceService.lockBalances(anyCollection())).thenAnswer(invocation -> {
+            Map<StockBalanceId, BigDecimal> balances = new HashMap<>();
+            for (Object key : invocation.<List<?>>getArgument(0)) {
+                balances.putAll(lockedByLot.getOrDefault(((StockBalanceId) key).getSupplyLotId(), Map.of()));
+            }
+            return balances;
+        });
+    }
+
+    @Test
+    void issueStock_takesFromEachLocationRowOfALot() {
+        indexed(stock(LOT_A, "8"));
+        locked(LOT_A, null, "3");
+        locked(LOT_A, SHELF, "5");
+
+        StockIssueResponse response = service.issueStock(request("6"));
+
+        List<StockMovementResponse> movements = response.getMovements();
+        assertEquals(2, movements.size());
+        assertNull(movements.get(0).getLocationId());
+        assertEquals(0, new BigDecimal("3").compareTo(movements.get(0).getQuantity()));
+        assertEquals(SHELF, movements.get(1).getLocationId());
+        assertEquals(0, new BigDecimal("3").compareTo(movements.get(1).getQuantity()));
+        verify(stockBalanceService).applyDeltas(Map.of(
+                StockBalanceId.of(LOT_A, WAREHOUSE, null), new BigDecimal("-3"),
+                StockBalanceId.of(LOT_A, WAREHOUSE, SHELF), new BigDecimal("-3")));
+    }
+
+    @Test
+    void issueStock_staleIndex_fallsBackToBalances() {
+        // The index still shows lot A, which another node has emptied
+        indexed(stock(LOT_A, "5"));
+        locked(LOT_A, null, "0");
+        locked(LOT_B, SHELF, "5");
+        when(stockBalanceRepository.findLotIdsInStockFefo(eq(WAREHOUSE), eq(ITEM), any(LocalDate.class)))
+                .thenReturn(List.of(LOT_B));
+
+        StockIssueResponse response = service.issueStock(request("4"));
+
+        assertEquals(1, response.getMovements().size());
+        assertEquals(LOT_B, response.getMovements().get(0).getSupplyLotId());
+        assertEquals(SHELF, response.getMovements().get(0).getLocationId());
+    }
+
+    @Test
+    void issueStock_notEnoughInAnyLot_isRejected() {
+        indexed(stock(LOT_A, "5"));
+        locked(LOT_A, null, "2");
+        when(stockBalanceRepository.findLotIdsInStockFefo(eq(WAREHOUSE), eq(ITEM), any(LocalDate.class)))
+                .thenReturn(List.of(LOT_A));
+
+        AppException rejected = assertThrows(AppException.class, () -> service.issueStock(request("4")));
+
+        assertEquals(ErrorCode.BAD_REQUEST, rejected.getErrorCode());
+        verify(stockBalanceService, never()).applyDeltas(any());
+    }
+
+    private void indexed(LotAllocationIndex.LotStock... stocks) {
+        when(lotAllocationIndex.inStock(eq(WAREHOUSE), eq(ITEM), any(LocalDate.class))).thenReturn(List.of(stocks));
+    }
+
+    private void locked(int lotId, Integer locationId, String quantity) {
+        lockedByLot.computeIfAbsent(lotId, k -> new HashMap<>())
+                .put(StockBalanceId.of(lotId, WAREHOUSE, locationId), new BigDecimal(quantity));
+    }
+
+    private static LotAllocationIndex.LotStock stock(int lotId, String onHand) {
+        return new LotAllocationIndex.LotStock(
+                new LotAllocationIndex.LotInfo(lotId, ITEM, "B" + lotId, null), new BigDecimal(onHand));
+    }
+
+    private static IssueStockRequest request(String quantity) {
+        return IssueStockRequest.builder()
+                .supplyItemId(ITEM)
+                .warehouseId(WAREHOUSE)
+                .quantity(new BigDecimal(quantity))
+                .build();
+    }
+}
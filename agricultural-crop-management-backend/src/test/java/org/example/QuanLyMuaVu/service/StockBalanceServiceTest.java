@@ -0,0 +1,190 @@
+package org.example.QuanLyMuaVu.service;
+
+import org.example.QuanLyMuaVu.Entity.StockBalance;
+import org.example.QuanLyMuaVu.Entity.StockBalanceId;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Repository.StockBalanceRepository;
+import org.example.QuanLyMuaVu.Repository.StockLedgerBatchRepository;
+import org.example.QuanLyMuaVu.Repository.StockMovementRepository;
+import org.example.QuanLyMuaVu.Service.LotAllocationIndex;
+import org.example.QuanLyMuaVu.Service.StockBalanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link StockBalanceService#withdraw} against mocked repositories. The
+ * transaction is simulated with {@link TransactionSynchronizationManager}, so
+ * the stripe lock and its release on completion are the real ones.
+ */
+class StockBalanceServiceTest {
+
+    private static final int WAREHOUSE = 1;
+    private static final int LOT = 1;
+    // Maps to a different stripe than LOT with 1024 stripes
+    private static final int OTHER_LOT = 2;
+    private static final int LOCATION = 7;
+
+    private StockBalanceRepository stockBalanceRepository;
+    private LotAllocationIndex lotAllocationIndex;
+    private StockBalanceService service;
+
+    @BeforeEach
+    void setUp() {
+        stockBalanceRepository = Mockito.mock(StockBalanceRepository.class);
+        lotAllocationIndex = Mockito.mock(LotAllocationIndex.class);
+        service = new StockBalanceService(
+                stockBalanceRepository,
+                Mockito.mock(StockMovementRepository.class),
+                Mockito.mock(StockLedgerBatchRepository.class),
+                lotAllocationIndex,
+                1024,
+                Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    @Test
+    void withdraw_atLocation_usesConditionalUpdate() {
+        StockBalanceId id = StockBalanceId.of(LOT, WAREHOUSE, LOCATION);
+        when(stockBalanceRepository.withdrawIfAvailable(eq(id), eq(new BigDecimal("5")), any())).thenReturn(1);
+
+        begin();
+        assertTrue(service.withdraw(LOT, WAREHOUSE, LOCATION, new BigDecimal("5")));
+
+        verify(lotAllocationIndex).applyAfterCommit(Map.of(id, new BigDecimal("-5")));
+        verify(stockBalanceRepository, never()).lockAllLocations(any(), any());
+    }
+
+    @Test
+    void withdraw_atLocation_rejectsWhenNotEnoughOnHand() {
+        when(stockBalanceRepository.withdrawIfAvailable(any(), any(), any())).thenReturn(0);
+
+        begin();
+        assertFalse(service.withdraw(LOT, WAREHOUSE, LOCATION, new BigDecimal("5")));
+
+        verify(lotAllocationIndex, never()).applyAfterCommit(any());
+    }
+
+    @Test
+    void withdraw_withoutLocation_booksTotalOnNoLocationRow() {
+        when(stockBalanceRepository.lockAllLocations(LOT, WAREHOUSE)).thenReturn(List.of(
+                balance(LOCATION, "3"),
+                balance(StockBalanceId.NO_LOCATION, "4")));
+
+        begin();
+        assertTrue(service.withdraw(LOT, WAREHOUSE, null, new BigDecimal("6")));
+
+        verify(stockBalanceRepository).addToBalance(
+                eq(LOT), eq(WAREHOUSE), eq(StockBalanceId.NO_LOCATION), eq(new BigDecimal("-6")), any());
+        verify(stockBalanceRepository, never()).withdrawIfAvailable(any(), any(), any());
+        verify(lotAllocationIndex).applyAfterCommit(
+                Map.of(StockBalanceId.of(LOT, WAREHOUSE, null), new BigDecimal("-6")));
+    }
+
+    @Test
+    void withdraw_withoutLocation_rejectsWhenTotalTooLow() {
+        when(stockBalanceRepository.lockAllLocations(LOT, WAREHOUSE)).thenReturn(List.of(
+                balance(LOCATION, "3"),
+                balance(StockBalanceId.NO_LOCATION, "4")));
+
+        begin();
+        assertFalse(service.withdraw(LOT, WAREHOUSE, null, new BigDecimal("8")));
+
+        verify(stockBalanceRepository, never()).addToBalance(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void withdraw_holdsLotUntilTransactionCompletes() throws Exception {
+        when(stockBalanceRepository.withdrawIfAvailable(any(), any(), any())).thenReturn(1);
+
+        begin();
+        assertTrue(service.withdraw(LOT, WAREHOUSE, LOCATION, BigDecimal.ONE));
+
+        ExecutionException busy = assertThrows(ExecutionException.class,
+                () -> inOtherTransaction(() -> service.withdraw(LOT, WAREHOUSE, LOCATION, BigDecimal.ONE)));
+        AppException cause = assertInstanceOf(AppException.class, busy.getCause());
+        assertEquals(ErrorCode.STOCK_BUSY, cause.getErrorCode());
+
+        assertTrue(inOtherTransaction(() -> service.withdraw(OTHER_LOT, WAREHOUSE, LOCATION, BigDecimal.ONE)),
+                "another lot must not wait for the open transaction");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(inOtherTransaction(() -> service.withdraw(LOT, WAREHOUSE, LOCATION, BigDecimal.ONE)),
+                "the lot must be released once the transaction completed");
+    }
+
+    @Test
+    void withdraw_releasesLotAfterRollback() throws Exception {
+        when(stockBalanceRepository.withdrawIfAvailable(any(), any(), any())).thenReturn(0);
+
+        begin();
+        assertFalse(service.withdraw(LOT, WAREHOUSE, LOCATION, BigDecimal.ONE));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(inOtherTransaction(() -> service.withdraw(LOT, WAREHOUSE, LOCATION, BigDecimal.ONE)));
+    }
+
+    private static StockBalance balance(int locationKey, String quantity) {
+        return StockBalance.builder()
+                .id(new StockBalanceId(LOT, WAREHOUSE, locationKey))
+                .quantity(new BigDecimal(quantity))
+                .build();
+    }
+
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    /**
+     * Runs {@code work} in a transaction on another thread, which does not
+     * own the stripes locked by this one.
+     */
+    private static <T> T inOtherTransaction(Supplier<T> work) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            begin();
+            try {
+                return work.get();
+            } finally {
+                complete(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+}
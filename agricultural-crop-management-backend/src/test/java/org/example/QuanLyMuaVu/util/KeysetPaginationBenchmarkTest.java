@@ -0,0 +1,133 @@
+package org.example.QuanLyMuaVu.util;
+
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.Entity.User;
+import org.example.QuanLyMuaVu.Enums.UserStatus;
+import org.example.QuanLyMuaVu.Repository.UserRepository;
+import org.example.QuanLyMuaVu.Repository.UserSpecifications;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Page cost of {@link PageQueryUtils#findSlice} against
+ * {@link PageQueryUtils#findPage} on the first page and deep into
+ * {@value #ROWS} users in H2, counted as the rows the database examines:
+ * the select each helper issues is captured and run again under
+ * {@code EXPLAIN ANALYZE}, so the result does not depend on the machine.
+ * <p>
+ * The listing filters on status only. Through the role join or a foreign-key
+ * index H2 sorts instead of walking the id order, which MySQL does not need
+ * because its secondary indexes end with the primary key.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.QuanLyMuaVu.util.KeysetPaginationBenchmarkTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class KeysetPaginationBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int LIMIT = 20;
+    private static final int DEEP_PAGE = ROWS / LIMIT - 10;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private static final Specification<User> ACTIVE_USERS = Specification.allOf(
+            UserSpecifications.hasStatus(UserStatus.ACTIVE),
+            UserSpecifications.usernameContains(null));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("insert into users (user_name, status) "
+                + "select concat('farmer', \"X\"), 'ACTIVE' from system_range(1, ?)", ROWS);
+    }
+
+    @Test
+    void keysetPageCostStaysFlatWhileOffsetGrowsWithDepth() {
+        long lastId = jdbcTemplate.queryForObject("select max(user_id) from users", Long.class);
+        long deepOffset = (long) DEEP_PAGE * LIMIT;
+        // Ids are dense, so the cursor of the deep page is the id just above its first row
+        long deepCursor = lastId - deepOffset + 1;
+
+        assertEquals(offset(DEEP_PAGE).getItems(), keyset(deepCursor).getItems());
+
+        keyset(null);
+        long keysetFirst = rowsExamined("ACTIVE", LIMIT + 1);
+        keyset(deepCursor);
+        long keysetDeep = rowsExamined("ACTIVE", deepCursor, LIMIT + 1);
+        offset(0);
+        long offsetFirst = rowsExamined("ACTIVE", 0, LIMIT);
+        offset(DEEP_PAGE);
+        long offsetDeep = rowsExamined("ACTIVE", deepOffset, LIMIT);
+
+        String counts = "rows examined: keyset first=%d deep=%d, offset first=%d deep=%d"
+                .formatted(keysetFirst, keysetDeep, offsetFirst, offsetDeep);
+        // A page plus its look-ahead row, and the row the cursor seek lands on
+        assertTrue(keysetFirst <= LIMIT + 2, counts);
+        assertTrue(keysetDeep <= LIMIT + 2, "keyset page cost should not grow with depth; " + counts);
+        assertTrue(offsetFirst <= LIMIT + 2, counts);
+        assertTrue(offsetDeep >= deepOffset, "offset paging should walk every skipped row; " + counts);
+    }
+
+    private PageResponse<Long> offset(int page) {
+        CapturingInspector.STATEMENTS.clear();
+        return PageQueryUtils.findPage(userRepository, ACTIVE_USERS, page, LIMIT, PageQueryUtils.DEFAULT_SORT, User::getId);
+    }
+
+    private PageResponse<Long> keyset(Long after) {
+        CapturingInspector.STATEMENTS.clear();
+        return PageQueryUtils.findSlice(userRepository, ACTIVE_USERS, after, LIMIT, User::getId, User::getId);
+    }
+
+    /**
+     * Explains the ordered select of the last page read with {@code binds}
+     * and sums the rows its plan scanned.
+     */
+    private long rowsExamined(Object... binds) {
+        String select = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("order by"))
+                .findFirst()
+                .orElseThrow();
+        String plan = jdbcTemplate.queryForObject("explain analyze " + select, String.class, binds);
+        long scanned = 0;
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        while (matcher.find()) {
+            scanned += Long.parseLong(matcher.group(1));
+        }
+        return scanned;
+    }
+
+    /**
+     * Keeps the SQL Hibernate sends so it can be explained.
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
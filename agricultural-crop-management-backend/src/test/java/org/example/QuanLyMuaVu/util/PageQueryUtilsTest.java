@@ -0,0 +1,197 @@
+package org.example.QuanLyMuaVu.util;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.QuanLyMuaVu.DTO.Common.PageResponse;
+import org.example.QuanLyMuaVu.Exception.AppException;
+import org.example.QuanLyMuaVu.Exception.ErrorCode;
+import org.example.QuanLyMuaVu.Util.PageQueryUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PageQueryUtils#findSlice} against a repository that evaluates the
+ * keyset predicate, sort and limit it is given over an in-memory list.
+ */
+class PageQueryUtilsTest {
+
+    private static final Specification<Row> ALL = (root, query, cb) -> null;
+
+    @Test
+    void findSlice_firstPage_returnsNewestRowsAndCursorOfLastOne() {
+        JpaSpecificationExecutor<Row> repository = repositoryOf(rows(1, 10, "2025-01-01"));
+
+        PageResponse<Integer> page = PageQueryUtils.findSlice(repository, ALL, null, 3, Row::id, Row::id);
+
+        assertEquals(List.of(10, 9, 8), page.getItems());
+        assertEquals(8L, page.getNextCursor());
+        assertEquals(3, page.getSize());
+        assertEquals(-1, page.getTotalElements());
+    }
+
+    @Test
+    void findSlice_withCursor_continuesStrictlyBelowIt() {
+        JpaSpecificationExecutor<Row> repository = repositoryOf(rows(1, 10, "2025-01-01"));
+
+        PageResponse<Integer> page = PageQueryUtils.findSlice(repository, ALL, 8, 3, Row::id, Row::id);
+
+        assertEquals(List.of(7, 6, 5), page.getItems());
+        assertEquals(5L, page.getNextCursor());
+    }
+
+    @Test
+    void findSlice_equalSortKeys_pagesThroughEveryRowOnce() {
+        // Rows sharing every other column are told apart by their id alone
+        List<Row> rows = new ArrayList<>(rows(1, 7, "2025-01-01"));
+        rows.addAll(rows(8, 7, "2025-03-01"));
+        JpaSpecificationExecutor<Row> repository = repositoryOf(rows);
+
+        List<Integer> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            PageResponse<Integer> page = PageQueryUtils.findSlice(repository, ALL,
+                    cursor != null ? cursor.intValue() : null, 4, Row::id, Row::id);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(IntStream.rangeClosed(1, 14).map(i -> 15 - i).boxed().toList(), seen);
+    }
+
+    @Test
+    void findSlice_lastPageExactlyFull_hasNoCursor() {
+        JpaSpecificationExecutor<Row> repository = repositoryOf(rows(1, 6, "2025-01-01"));
+
+        PageResponse<Integer> page = PageQueryUtils.findSlice(repository, ALL, 4, 3, Row::id, Row::id);
+
+        assertEquals(List.of(3, 2, 1), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findSlice_pastTheEnd_returnsEmptyPage() {
+        JpaSpecificationExecutor<Row> repository = repositoryOf(rows(1, 6, "2025-01-01"));
+
+        PageResponse<Integer> page = PageQueryUtils.findSlice(repository, ALL, 1, 3, Row::id, Row::id);
+
+        assertEquals(List.of(), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findSlice_limitOutOfRange_isRejected() {
+        JpaSpecificationExecutor<Row> repository = repositoryOf(List.of());
+
+        AppException tooSmall = assertThrows(AppException.class,
+                () -> PageQueryUtils.findSlice(repository, ALL, null, 0, Row::id, Row::id));
+        AppException tooLarge = assertThrows(AppException.class, () -> PageQueryUtils.findSlice(
+                repository, ALL, null, PageQueryUtils.MAX_CURSOR_LIMIT + 1, Row::id, Row::id));
+
+        assertEquals(ErrorCode.BAD_REQUEST, tooSmall.getErrorCode());
+        assertEquals(ErrorCode.BAD_REQUEST, tooLarge.getErrorCode());
+    }
+
+    private record Row(Integer id, String logDate) {
+    }
+
+    private static List<Row> rows(int firstId, int count, String logDate) {
+        return IntStream.range(firstId, firstId + count)
+                .mapToObj(id -> new Row(id, logDate))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JpaSpecificationExecutor<Row> repositoryOf(List<Row> rows) {
+        JpaSpecificationExecutor<Row> repository = Mockito.mock(JpaSpecificationExecutor.class);
+        when(repository.findBy(any(Specification.class), any())).thenAnswer(invocation -> {
+            Integer bound = idBound(invocation.getArgument(0));
+            List<Row> matching = rows.stream()
+                    .filter(row -> bound == null || row.id() < bound)
+                    .toList();
+            SpecificationFluentQuery<Row> query =
+                    Mockito.mock(SpecificationFluentQuery.class, new InMemoryQuery(matching));
+            Function<SpecificationFluentQuery<Row>, ?> queryFunction = invocation.getArgument(1);
+            return queryFunction.apply(query);
+        });
+        return repository;
+    }
+
+    /**
+     * Upper bound the specification puts on {@code id}, or null when it has
+     * none.
+     */
+    @SuppressWarnings("unchecked")
+    private static Integer idBound(Specification<Row> spec) {
+        Root<Row> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+        Path<Object> idPath = Mockito.mock(Path.class);
+        Integer[] bound = new Integer[1];
+        when(root.get("id")).thenReturn(idPath);
+        when(cb.lessThan(any(Expression.class), any(Comparable.class))).thenAnswer(invocation -> {
+            bound[0] = invocation.getArgument(1);
+            return Mockito.mock(Predicate.class);
+        });
+        spec.toPredicate(root, query, cb);
+        return bound[0];
+    }
+
+    /**
+     * Fluent query over already filtered rows; only the id order that
+     * {@link PageQueryUtils#DEFAULT_SORT} asks for is supported.
+     */
+    private static final class InMemoryQuery implements Answer<Object> {
+
+        private final List<Row> rows;
+        private Sort sort = Sort.unsorted();
+        private int limit = Integer.MAX_VALUE;
+
+        private InMemoryQuery(List<Row> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Object answer(InvocationOnMock invocation) {
+            switch (invocation.getMethod().getName()) {
+                case "sortBy" -> {
+                    sort = invocation.getArgument(0);
+                    return invocation.getMock();
+                }
+                case "limit" -> {
+                    limit = invocation.getArgument(0);
+                    return invocation.getMock();
+                }
+                case "all" -> {
+                    assertEquals(PageQueryUtils.DEFAULT_SORT, sort);
+                    return rows.stream()
+                            .sorted(Comparator.comparing(Row::id).reversed())
+                            .limit(limit)
+                            .toList();
+                }
+                default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+        }
+    }
+}